@@ -13,6 +13,7 @@ interface InfiniteScrollableSelectProps<T> {
     sx?: object;
     getOptionLabel?: (option: T) => string;
     getOptionValue?: (option: T) => string;
+    onSearch?: (input: string) => void;
 }
 
 export default function InfiniteScrollableSelect<T = string>({
@@ -26,7 +27,8 @@ export default function InfiniteScrollableSelect<T = string>({
                                                                  autoFocus = false,
                                                                  sx,
                                                                  getOptionLabel,
-                                                                 getOptionValue
+                                                                 getOptionValue,
+                                                                 onSearch
                                                              }: InfiniteScrollableSelectProps<T>) {
 
     const handleScroll = useCallback((event: React.SyntheticEvent) => {
@@ -61,6 +63,10 @@ export default function InfiniteScrollableSelect<T = string>({
             value={selectedOption}
             onChange={(_e, newValue) => onChange(newValue ? getValue(newValue) : '')}
             getOptionLabel={getLabel}
+            filterOptions={onSearch ? (x) => x : undefined}
+            onInputChange={(_e, input, reason) => {
+                if (onSearch && reason === "input") onSearch(input);
+            }}
             loading={loading}
             slotProps={{
                 listbox: {
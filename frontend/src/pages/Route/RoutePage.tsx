@@ -21,8 +21,10 @@ export default function RoutePage() {
     const [locations, setLocations] = useState<Location[]>([]);
     const [locationLoading, setLocationLoading] = useState(false);
     const [locationHasMore, setLocationHasMore] = useState(true);
-    const locationPageRef = useRef(0);
+    const locationCursorRef = useRef<string | null>(null);
     const locationLoadingRef = useRef(false);
+    const [searchResults, setSearchResults] = useState<Location[] | null>(null);
+    const searchRequestRef = useRef(0);
 
     // Load locations
     const loadLocations = useCallback(async () => {
@@ -31,16 +33,15 @@ export default function RoutePage() {
         locationLoadingRef.current = true;
         setLocationLoading(true);
         try {
-            const response = await locationService.getAll({
-                page: locationPageRef.current,
-                size: 10,
-                sort: "name,asc"
+            const response = await locationService.scroll({
+                cursor: locationCursorRef.current ?? undefined,
+                size: 10
             });
             setLocations(prev =>
-                locationPageRef.current === 0 ? response.content : [...prev, ...response.content]
+                locationCursorRef.current === null ? response.content : [...prev, ...response.content]
             );
-            setLocationHasMore(!response.last);
-            locationPageRef.current++;
+            setLocationHasMore(response.nextCursor !== null);
+            locationCursorRef.current = response.nextCursor;
         } catch (error) {
             console.error("Failed to load locations:", error);
         } finally {
@@ -49,6 +50,34 @@ export default function RoutePage() {
         }
     }, [locationHasMore]);
 
+    // Server-side typeahead; an empty input falls back to the scrolled list
+    const searchLocations = useCallback(async (input: string) => {
+        const request = ++searchRequestRef.current;
+        if (!input.trim()) {
+            setSearchResults(null);
+            return;
+        }
+        try {
+            const results = await locationService.search(input);
+            if (request === searchRequestRef.current) {
+                setSearchResults(results);
+            }
+        } catch (error) {
+            console.error("Failed to search locations:", error);
+        }
+    }, []);
+
+    const selectLocation = (setCode: (code: string) => void) => (code: string) => {
+        const selected = searchResults?.find(location => location.locationCode === code);
+        if (selected && !locations.some(location => location.locationCode === code)) {
+            setLocations(prev => [...prev, selected]);
+        }
+        setSearchResults(null);
+        setCode(code);
+    };
+
+    const locationOptions = searchResults ?? locations;
+
     // Load initial data
     useEffect(() => {
         if (locations.length === 0) {
@@ -92,26 +121,28 @@ export default function RoutePage() {
                         <InfiniteScrollableSelect<Location>
                             sx={{minWidth: 200}}
                             value={originCode || null}
-                            onChange={setOriginCode}
+                            onChange={selectLocation(setOriginCode)}
                             label="Origin"
-                            options={locations}
+                            options={locationOptions}
                             loading={locationLoading}
                             onLoadMore={loadLocations}
                             hasMore={locationHasMore}
                             getOptionLabel={(location) => location.name}
                             getOptionValue={(location) => location.locationCode}
+                            onSearch={searchLocations}
                         />
                         <InfiniteScrollableSelect<Location>
                             sx={{minWidth: 200}}
                             value={destinationCode || null}
-                            onChange={setDestinationCode}
+                            onChange={selectLocation(setDestinationCode)}
                             label="Destination"
-                            options={locations}
+                            options={locationOptions}
                             loading={locationLoading}
                             onLoadMore={loadLocations}
                             hasMore={locationHasMore}
                             getOptionLabel={(location) => location.name}
                             getOptionValue={(location) => location.locationCode}
+                            onSearch={searchLocations}
                         />
                         <DatePicker label="Date" value={selectedDate} onChange={setSelectedDate}
                                     slotProps={{textField: {sx: {minWidth: 200}}}}/>
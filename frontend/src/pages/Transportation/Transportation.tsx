@@ -8,6 +8,7 @@ import {
     InputLabel,
     MenuItem,
     Select,
+    TextField,
     Typography
 } from "@mui/material";
 import {useCallback, useEffect, useRef, useState} from "react";
@@ -34,7 +35,7 @@ export default function TransportationPage() {
     const [locationCodes, setLocationCodes] = useState<string[]>([]);
     const [locationLoading, setLocationLoading] = useState(false);
     const [locationHasMore, setLocationHasMore] = useState(true);
-    const locationPageRef = useRef(0);
+    const locationCursorRef = useRef<string | null>(null);
     const locationLoadingRef = useRef(false);
 
     const loadLocationCodes = useCallback(async () => {
@@ -43,16 +44,15 @@ export default function TransportationPage() {
         locationLoadingRef.current = true;
         setLocationLoading(true);
         try {
-            const response = await locationService.getAllCodes({
-                page: locationPageRef.current,
-                size: 10,
-                sort: "locationCode,asc"
+            const response = await locationService.scrollCodes({
+                cursor: locationCursorRef.current ?? undefined,
+                size: 10
             });
             setLocationCodes(prev =>
-                locationPageRef.current === 0 ? response.content : [...prev, ...response.content]
+                locationCursorRef.current === null ? response.content : [...prev, ...response.content]
             );
-            setLocationHasMore(!response.last);
-            locationPageRef.current++;
+            setLocationHasMore(response.nextCursor !== null);
+            locationCursorRef.current = response.nextCursor;
         } catch (error) {
             console.error("Failed to load location codes:", error);
         } finally {
@@ -90,6 +90,12 @@ export default function TransportationPage() {
                 return [...days].sort((a, b) => a - b).map(d => DAYS_OF_WEEK_SHORT[d] || '').join(', ');
             },
         },
+        {
+            field: "schedule", headerName: "Schedule", width: 130,
+            valueGetter: (_v, row) => row.departureTime && row.arrivalTime
+                ? `${row.departureTime.slice(0, 5)} - ${row.arrivalTime.slice(0, 5)}`
+                : 'On demand',
+        },
         {
             field: "createdAt",
             headerName: "Created At",
@@ -167,19 +173,33 @@ export default function TransportationPage() {
                                                   label={day}/>
                             ))}
                         </FormGroup>
+                        <Box sx={{display: 'flex', gap: 1}}>
+                            <TextField type="time" label="Departure" margin="dense" fullWidth
+                                       slotProps={{inputLabel: {shrink: true}}}
+                                       value={formData.departureTime || ''}
+                                       onChange={(e) => onChange({...formData, departureTime: e.target.value || null})}/>
+                            <TextField type="time" label="Arrival" margin="dense" fullWidth
+                                       slotProps={{inputLabel: {shrink: true}}}
+                                       value={formData.arrivalTime || ''}
+                                       onChange={(e) => onChange({...formData, arrivalTime: e.target.value || null})}/>
+                        </Box>
                     </Box>
                 )}
                 getNewFormData={() => ({
                     originCode: '',
                     destinationCode: '',
                     transportationType: TransportationType.BUS,
-                    operatingDays: []
+                    operatingDays: [],
+                    departureTime: null,
+                    arrivalTime: null
                 })}
                 toFormData={(t) => ({
                     originCode: t.origin?.locationCode || '',
                     destinationCode: t.destination?.locationCode || '',
                     transportationType: t.transportationType,
                     operatingDays: t.operatingDays || [],
+                    departureTime: t.departureTime,
+                    arrivalTime: t.arrivalTime,
                 })}
                 entityName="Transportation"
             />
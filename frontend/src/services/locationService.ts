@@ -1,5 +1,5 @@
 import api from "../api/apiService";
-import {PaginatedRequest, PaginatedResponse} from "../types/api";
+import {CursorRequest, CursorResponse, PaginatedRequest, PaginatedResponse} from "../types/api";
 import {Location, LocationFormData} from "../types/location";
 
 export const locationService = {
@@ -13,6 +13,21 @@ export const locationService = {
         return response.data;
     },
 
+    scroll: async (params: CursorRequest): Promise<CursorResponse<Location>> => {
+        const response = await api.get("/v1/locations/scroll", {params});
+        return response.data;
+    },
+
+    scrollCodes: async (params: CursorRequest): Promise<CursorResponse<string>> => {
+        const response = await api.get("/v1/locations/codes/scroll", {params});
+        return response.data;
+    },
+
+    search: async (query: string, limit = 10): Promise<Location[]> => {
+        const response = await api.get("/v1/locations/search", {params: {query, limit}});
+        return response.data;
+    },
+
     create: async (data: LocationFormData): Promise<Location> => {
         const response = await api.post("/v1/locations", data);
         return response.data;
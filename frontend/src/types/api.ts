@@ -4,6 +4,16 @@ export interface PaginatedRequest {
     sort: string;
 }
 
+export interface CursorRequest {
+    cursor?: string;
+    size: number;
+}
+
+export interface CursorResponse<T> {
+    content: T[];
+    nextCursor: string | null;
+}
+
 export interface PaginatedResponse<T> {
     content: T[];
     totalElements: number;
@@ -13,6 +13,8 @@ export interface Transportation {
     destination: Location;
     transportationType: TransportationType;
     operatingDays: number[];
+    departureTime: string | null;
+    arrivalTime: string | null;
     createdAt: string;
     updatedAt: string;
 }
@@ -22,5 +24,7 @@ export interface TransportationFormData {
     destinationCode: string;
     transportationType: TransportationType;
     operatingDays: number[];
+    departureTime: string | null;
+    arrivalTime: string | null;
 }
 
@@ -0,0 +1,57 @@
+package com.enes.ttcase.config;
+
+import com.enes.ttcase.dataset.NetworkGenerator;
+import com.enes.ttcase.dataset.NetworkSpec;
+import com.enes.ttcase.transportation.TransportationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Redis value serializer of {@link CacheConfig} on a cached transportation list, the typical value of
+ * the candidate query caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"10", "100"})
+    public int entries;
+
+    private final RedisSerializer<Object> serializer = CacheConfig.cacheValueSerializer();
+    private List<TransportationDto> value;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        value = new ArrayList<>(NetworkGenerator.generate(NetworkSpec.ofSize(42, 1000, 4, 1)).transportations().subList(0, entries));
+        serialized = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+}
@@ -0,0 +1,94 @@
+package com.enes.ttcase.location;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LocationSearchIndex} over synthetic locations: 2-5 character prefix queries, a single rename applied
+ * copy-on-write, and building the whole index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationSearchBenchmark {
+
+    private static final String[] WORDS = {"Airport", "Central", "Station", "Square", "Terminal", "Port", "Bus", "North",
+            "South", "East", "West", "International", "Harbour", "Park", "Plaza", "Bridge", "Gate", "Market"};
+    private static final int QUERIES = 1_024;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private List<LocationDto> locations;
+    private LocationSearchIndex index;
+    private LocationDto renamed;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        locations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String city = syllables(random, 2 + random.nextInt(2));
+            String name = syllables(random, 2 + random.nextInt(3)) + " " + WORDS[random.nextInt(WORDS.length)];
+            locations.add(new LocationDto(i + 1, name, "Country" + random.nextInt(200), city, "L" + Integer.toString(i, 36).toUpperCase(), null, null));
+        }
+        index = LocationSearchIndex.build(locations);
+        renamed = new LocationDto(1, "Renamed Terminal", "Country0", "Somewhere", locations.getFirst().locationCode(), null, null);
+
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            LocationDto location = locations.get(random.nextInt(size));
+            String word = random.nextBoolean() ? location.name() : location.city();
+            queries[i] = word.substring(0, Math.min(word.length(), 2 + random.nextInt(4)));
+        }
+    }
+
+    @Benchmark
+    public List<LocationDto> search() {
+        next = (next + 1) % QUERIES;
+        return index.search(queries[next], 10);
+    }
+
+    @Benchmark
+    public LocationSearchIndex withLocation() {
+        return index.withLocation(locations.getFirst(), renamed);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LocationSearchIndex build() {
+        return LocationSearchIndex.build(locations);
+    }
+
+    private static String syllables(Random random, int count) {
+        String consonants = "bcdfghklmnprstvyz";
+        String vowels = "aeiou";
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            word.append(consonants.charAt(random.nextInt(consonants.length())));
+            word.append(vowels.charAt(random.nextInt(vowels.length())));
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
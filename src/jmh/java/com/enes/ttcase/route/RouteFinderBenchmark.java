@@ -0,0 +1,133 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.dataset.GeneratedNetwork;
+import com.enes.ttcase.dataset.NetworkGenerator;
+import com.enes.ttcase.dataset.NetworkSpec;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultRouteFinder} over the whole generated network and over the candidates the route graph selects
+ * for a search, plus the adjacency map the finder builds first. {@link BidirectionalRouteFinder} runs on the
+ * same searches for comparison, and {@link ScheduledRouteFinder} on the same candidates with a departure time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteFinderBenchmark {
+
+    private static final int SEARCHES = 64;
+
+    @Param({"1000", "10000"})
+    public int locations;
+
+    @Param({"4", "16"})
+    public int hubFanOut;
+
+    @Param({"1", "3"})
+    public int parallelEdges;
+
+    private final DefaultRouteFinder finder = new DefaultRouteFinder();
+    private final BidirectionalRouteFinder bidirectionalFinder = new BidirectionalRouteFinder();
+    private final ScheduledRouteFinder scheduledFinder = new ScheduledRouteFinder(Duration.ofMinutes(45),
+            Map.of(TransportationType.UBER, Duration.ofMinutes(20)));
+    private RouteFindContext[] networkContexts;
+    private RouteFindContext[] candidateContexts;
+    private RouteFindContext[] scheduledContexts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        GeneratedNetwork network = NetworkGenerator.generate(NetworkSpec.ofSize(42, locations, hubFanOut, parallelEdges));
+        RouteGraph graph = RouteGraph.build(1, network.locations(), network.transportations());
+        HashSet<TransportationDto> all = new HashSet<>(network.transportations());
+        Random random = new Random(7);
+
+        networkContexts = new RouteFindContext[SEARCHES];
+        candidateContexts = new RouteFindContext[SEARCHES];
+        scheduledContexts = new RouteFindContext[SEARCHES];
+        for (int i = 0; i < SEARCHES; i++) {
+            LocationDto[] pair = network.searchPair(random);
+            networkContexts[i] = new RouteFindContext(pair[0], pair[1], all);
+            candidateContexts[i] = new RouteFindContext(pair[0], pair[1],
+                    graph.findCandidateTransportations(pair[0], pair[1], DayOfWeek.MONDAY));
+            scheduledContexts[i] = new RouteFindContext(pair[0], pair[1], candidateContexts[i].transportations(),
+                    LocalTime.of(random.nextInt(12), 0));
+        }
+    }
+
+    @Benchmark
+    public void findRoutesOnNetwork(Blackhole blackhole) {
+        finder.findRoutes(networkContexts[next()], route -> {
+            blackhole.consume(route);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public void findRoutesOnCandidates(Blackhole blackhole) {
+        finder.findRoutes(candidateContexts[next()], route -> {
+            blackhole.consume(route);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public void findRoutesBidirectionalOnNetwork(Blackhole blackhole) {
+        bidirectionalFinder.findRoutes(networkContexts[next()], route -> {
+            blackhole.consume(route);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public void findRoutesBidirectionalOnCandidates(Blackhole blackhole) {
+        bidirectionalFinder.findRoutes(candidateContexts[next()], route -> {
+            blackhole.consume(route);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public void findRoutesScheduledOnCandidates(Blackhole blackhole) {
+        scheduledFinder.findRoutes(scheduledContexts[next()], route -> {
+            blackhole.consume(route);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public Map<LocationDto, List<TransportationDto>> buildGraph() {
+        return finder.buildGraph(networkContexts[next()]);
+    }
+
+    private int next() {
+        next = (next + 1) % SEARCHES;
+        return next;
+    }
+}
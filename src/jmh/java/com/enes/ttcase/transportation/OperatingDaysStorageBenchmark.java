@@ -0,0 +1,163 @@
+package com.enes.ttcase.transportation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The former join-table schedule against the bitmask column, on temporary tables of the database given by the
+ * {@code url}, {@code user} and {@code password} params (application.yaml's by default, so run
+ * {@code docker compose up -d postgres} first): writing every row, and looking up the transportations leaving
+ * one location on one day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperatingDaysStorageBenchmark {
+
+    private static final int LOCATIONS = 2_000;
+
+    private static final String JOIN_TABLE_QUERY = """
+            SELECT DISTINCT t.id
+            FROM bench_join_transportation t
+                     JOIN bench_join_operating_day od ON od.transportation_id = t.id
+            WHERE t.origin_id = ? AND od.operating_day = ?
+            """;
+
+    private static final String BITMASK_QUERY = """
+            SELECT t.id
+            FROM bench_mask_transportation t
+            WHERE t.origin_id = ? AND (t.operating_days & ?) <> 0
+            """;
+
+    @Param({"jdbc:postgresql://localhost:5433/case_db?reWriteBatchedInserts=true"})
+    public String url;
+
+    @Param({"case_user"})
+    public String user;
+
+    @Param({"case_pass"})
+    public String password;
+
+    @Param({"200000"})
+    public int transportations;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final List<long[]> rows = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(url, user, password, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE bench_join_transportation (id BIGINT PRIMARY KEY, origin_id BIGINT NOT NULL,
+                    destination_id BIGINT NOT NULL, transportation_type SMALLINT NOT NULL)
+                """);
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE bench_join_operating_day (transportation_id BIGINT NOT NULL, operating_day SMALLINT NOT NULL,
+                    PRIMARY KEY (transportation_id, operating_day))
+                """);
+        jdbcTemplate.execute("CREATE INDEX ON bench_join_transportation (origin_id)");
+        jdbcTemplate.execute("CREATE INDEX ON bench_join_operating_day (operating_day)");
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE bench_mask_transportation (id BIGINT PRIMARY KEY, origin_id BIGINT NOT NULL,
+                    destination_id BIGINT NOT NULL, transportation_type SMALLINT NOT NULL, operating_days SMALLINT NOT NULL)
+                """);
+        jdbcTemplate.execute("CREATE INDEX ON bench_mask_transportation (origin_id, destination_id) INCLUDE (transportation_type, operating_days)");
+
+        Random random = new Random(42);
+        for (int id = 0; id < transportations; id++) {
+            rows.add(new long[]{id, random.nextInt(LOCATIONS), random.nextInt(LOCATIONS), random.nextInt(4), 1 + random.nextInt(127)});
+        }
+        writeJoinTable();
+        writeBitmask();
+    }
+
+    @Setup(Level.Iteration)
+    public void analyze() {
+        jdbcTemplate.execute("ANALYZE bench_join_transportation");
+        jdbcTemplate.execute("ANALYZE bench_join_operating_day");
+        jdbcTemplate.execute("ANALYZE bench_mask_transportation");
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public List<Long> joinTableLookup() {
+        next++;
+        return jdbcTemplate.queryForList(JOIN_TABLE_QUERY, Long.class, (long) (next % LOCATIONS), next % 7);
+    }
+
+    @Benchmark
+    public List<Long> bitmaskLookup() {
+        next++;
+        return jdbcTemplate.queryForList(BITMASK_QUERY, Long.class, (long) (next % LOCATIONS), OperatingDays.bit(next % 7));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void joinTableWrite() {
+        jdbcTemplate.execute("TRUNCATE bench_join_transportation, bench_join_operating_day");
+        writeJoinTable();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void bitmaskWrite() {
+        jdbcTemplate.execute("TRUNCATE bench_mask_transportation");
+        writeBitmask();
+    }
+
+    private void writeJoinTable() {
+        jdbcTemplate.batchUpdate("INSERT INTO bench_join_transportation VALUES (?, ?, ?, ?)", rows, 1_000, (ps, row) -> {
+            for (int i = 0; i < 4; i++) {
+                ps.setLong(i + 1, row[i]);
+            }
+        });
+        List<long[]> days = new ArrayList<>();
+        for (long[] row : rows) {
+            for (int day : OperatingDays.fromMask((int) row[4])) {
+                days.add(new long[]{row[0], day});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bench_join_operating_day VALUES (?, ?)", days, 1_000, (ps, day) -> {
+            ps.setLong(1, day[0]);
+            ps.setLong(2, day[1]);
+        });
+    }
+
+    private void writeBitmask() {
+        jdbcTemplate.batchUpdate("INSERT INTO bench_mask_transportation VALUES (?, ?, ?, ?, ?)", rows, 1_000, (ps, row) -> {
+            for (int i = 0; i < 5; i++) {
+                ps.setLong(i + 1, row[i]);
+            }
+        });
+    }
+}
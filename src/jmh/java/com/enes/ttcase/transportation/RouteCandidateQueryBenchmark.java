@@ -0,0 +1,253 @@
+package com.enes.ttcase.transportation;
+
+import com.enes.ttcase.location.LocationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The candidate transportations of one search, read with {@code findRouteCandidates} against the three entity
+ * queries it replaced ({@code findTransportationsBetweenCountries}, then
+ * {@code findTransportationsBetweenLocationCodesAndOperatingDay} for each feeder leg), on the network of the
+ * database given by the {@code url}, {@code user} and {@code password} params (application.yaml's by default, so
+ * run {@code docker compose up -d postgres} first). Both read the same location pairs in different countries and
+ * days, in the same order, and map every row to a {@link TransportationDto}. The entity queries are run as the SQL
+ * Hibernate renders for them, so the comparison leaves out the entity hydration they also pay for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteCandidateQueryBenchmark {
+
+    private static final String COLUMNS = """
+            SELECT t.id                  AS id,
+                   t.transportation_type AS transportationType,
+                   t.operating_days      AS operatingDays,
+                   t.departure_time      AS departureTime,
+                   t.arrival_time        AS arrivalTime,
+                   t.created_at          AS createdAt,
+                   t.updated_at          AS updatedAt,
+                   o.id                  AS originId,
+                   o.name                AS originName,
+                   o.country             AS originCountry,
+                   o.city                AS originCity,
+                   o.location_code       AS originCode,
+                   o.created_at          AS originCreatedAt,
+                   o.updated_at          AS originUpdatedAt,
+                   d.id                  AS destinationId,
+                   d.name                AS destinationName,
+                   d.country             AS destinationCountry,
+                   d.city                AS destinationCity,
+                   d.location_code       AS destinationCode,
+                   d.created_at          AS destinationCreatedAt,
+                   d.updated_at          AS destinationUpdatedAt
+            """;
+
+    private static final String FLIGHTS_QUERY = COLUMNS + """
+            FROM transportation t
+            JOIN location o ON o.id = t.origin_id
+            JOIN location d ON d.id = t.destination_id
+            WHERE (t.operating_days & :operatingDayBit) <> 0
+            AND o.country = :originCountry
+            AND d.country = :destinationCountry
+            AND t.transportation_type = :flightType
+            """;
+
+    private static final String FEEDERS_QUERY = COLUMNS + """
+            FROM transportation t
+            JOIN location o ON o.id = t.origin_id
+            JOIN location d ON d.id = t.destination_id
+            WHERE (t.operating_days & :operatingDayBit) <> 0
+            AND o.location_code IN (:originCodes)
+            AND d.location_code IN (:destinationCodes)
+            """;
+
+    private static final String SINGLE_QUERY = """
+            WITH flights AS (
+                SELECT t.id, t.origin_id, t.destination_id
+                FROM transportation t
+                JOIN location o ON o.id = t.origin_id
+                JOIN location d ON d.id = t.destination_id
+                WHERE t.transportation_type = :flightType
+                AND (t.operating_days & :operatingDayBit) <> 0
+                AND o.country = :originCountry
+                AND d.country = :destinationCountry
+            ),
+            candidates AS (
+                SELECT f.id
+                FROM flights f
+                UNION
+                SELECT t.id
+                FROM transportation t
+                WHERE (t.operating_days & :operatingDayBit) <> 0
+                AND t.origin_id IN (:originIds)
+                AND t.destination_id IN (SELECT f.origin_id FROM flights f)
+                UNION
+                SELECT t.id
+                FROM transportation t
+                WHERE (t.operating_days & :operatingDayBit) <> 0
+                AND t.destination_id IN (:destinationIds)
+                AND t.origin_id IN (SELECT f.destination_id FROM flights f)
+            )
+            """ + COLUMNS + """
+            FROM candidates c
+            JOIN transportation t ON t.id = c.id
+            JOIN location o ON o.id = t.origin_id
+            JOIN location d ON d.id = t.destination_id
+            """;
+
+    private static final RowMapper<TransportationDto> ROW_MAPPER = (rs, rowNum) -> new TransportationDto(
+            rs.getLong("id"),
+            location(rs, "origin"),
+            location(rs, "destination"),
+            TransportationType.values()[rs.getInt("transportationType")],
+            OperatingDays.fromMask(rs.getInt("operatingDays")),
+            rs.getTime("departureTime") == null ? null : rs.getTime("departureTime").toLocalTime(),
+            rs.getTime("arrivalTime") == null ? null : rs.getTime("arrivalTime").toLocalTime(),
+            instant(rs.getTimestamp("createdAt")),
+            instant(rs.getTimestamp("updatedAt")));
+
+    @Param({"jdbc:postgresql://localhost:5433/case_db"})
+    public String url;
+
+    @Param({"case_user"})
+    public String user;
+
+    @Param({"case_pass"})
+    public String password;
+
+    @Param({"1000"})
+    public int searches;
+
+    private SingleConnectionDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private final List<Search> pairs = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(url, user, password, true);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        List<Search> all = new ArrayList<>();
+        List<Endpoint> locations = jdbcTemplate.getJdbcTemplate().query("SELECT id, country, location_code FROM location",
+                (rs, rowNum) -> new Endpoint(rs.getLong(1), rs.getString(2), rs.getString(3)));
+        for (Endpoint origin : locations) {
+            for (Endpoint destination : locations) {
+                if (!origin.country().equals(destination.country())) {
+                    all.add(new Search(origin, destination));
+                }
+            }
+        }
+        if (all.isEmpty()) {
+            throw new IllegalStateException("No locations in different countries at " + url);
+        }
+        Collections.shuffle(all, new Random(42));
+        pairs.addAll(all.subList(0, Math.min(searches, all.size())));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public List<TransportationDto> singleQuery() {
+        Search search = nextSearch();
+        return jdbcTemplate.query(SINGLE_QUERY, new MapSqlParameterSource()
+                .addValue("originCountry", search.origin().country())
+                .addValue("destinationCountry", search.destination().country())
+                .addValue("originIds", Set.of(search.origin().id()))
+                .addValue("destinationIds", Set.of(search.destination().id()))
+                .addValue("flightType", TransportationType.FLIGHT.ordinal())
+                .addValue("operatingDayBit", OperatingDays.bit(next % 7)), ROW_MAPPER);
+    }
+
+    @Benchmark
+    public Set<TransportationDto> threeQueries() {
+        Search search = nextSearch();
+        int operatingDayBit = OperatingDays.bit(next % 7);
+        List<TransportationDto> flights = jdbcTemplate.query(FLIGHTS_QUERY, new MapSqlParameterSource()
+                .addValue("originCountry", search.origin().country())
+                .addValue("destinationCountry", search.destination().country())
+                .addValue("flightType", TransportationType.FLIGHT.ordinal())
+                .addValue("operatingDayBit", operatingDayBit), ROW_MAPPER);
+        Set<String> originAirports = new HashSet<>();
+        Set<String> destinationAirports = new HashSet<>();
+        for (TransportationDto flight : flights) {
+            originAirports.add(flight.origin().locationCode());
+            destinationAirports.add(flight.destination().locationCode());
+        }
+
+        Set<TransportationDto> candidates = new HashSet<>(flights);
+        candidates.addAll(feeders(Set.of(search.origin().code()), originAirports, operatingDayBit));
+        candidates.addAll(feeders(destinationAirports, Set.of(search.destination().code()), operatingDayBit));
+        return candidates;
+    }
+
+    /**
+     * Hibernate renders an empty {@code IN} list as a predicate matching nothing, so the query is skipped.
+     */
+    private List<TransportationDto> feeders(Set<String> originCodes, Set<String> destinationCodes, int operatingDayBit) {
+        if (originCodes.isEmpty() || destinationCodes.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FEEDERS_QUERY, new MapSqlParameterSource()
+                .addValue("originCodes", originCodes)
+                .addValue("destinationCodes", destinationCodes)
+                .addValue("operatingDayBit", operatingDayBit), ROW_MAPPER);
+    }
+
+    private Search nextSearch() {
+        next++;
+        return pairs.get(next % pairs.size());
+    }
+
+    private static LocationDto location(ResultSet rs, String prefix) throws SQLException {
+        return new LocationDto(
+                rs.getLong(prefix + "Id"),
+                rs.getString(prefix + "Name"),
+                rs.getString(prefix + "Country"),
+                rs.getString(prefix + "City"),
+                rs.getString(prefix + "Code"),
+                instant(rs.getTimestamp(prefix + "CreatedAt")),
+                instant(rs.getTimestamp(prefix + "UpdatedAt")));
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    private record Endpoint(long id, String country, String code) {
+    }
+
+    private record Search(Endpoint origin, Endpoint destination) {
+    }
+}
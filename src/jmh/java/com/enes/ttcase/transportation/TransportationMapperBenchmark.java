@@ -0,0 +1,118 @@
+package com.enes.ttcase.transportation;
+
+import com.enes.ttcase.dataset.GeneratedNetwork;
+import com.enes.ttcase.dataset.NetworkGenerator;
+import com.enes.ttcase.dataset.NetworkSpec;
+import com.enes.ttcase.location.Location;
+import com.enes.ttcase.location.LocationDto;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransportationMapper} on entities, as repository queries return them, and on the flat rows of the
+ * single-query candidate path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportationMapperBenchmark {
+
+    @Param({"1000"})
+    public int locations;
+
+    @Param({"4", "16"})
+    public int hubFanOut;
+
+    @Param({"1", "3"})
+    public int parallelEdges;
+
+    private final TransportationMapper mapper = Mappers.getMapper(TransportationMapper.class);
+    private List<Transportation> entities;
+    private List<RouteCandidateRow> rows;
+
+    @Setup
+    public void setUp() {
+        GeneratedNetwork network = NetworkGenerator.generate(NetworkSpec.ofSize(42, locations, hubFanOut, parallelEdges));
+        entities = toEntities(network);
+        rows = network.transportations().stream()
+                .<RouteCandidateRow>map(t -> new Row(t.id(), t.transportationType().ordinal(), t.operatingDayMask(),
+                        t.departureTime(), t.arrivalTime(), t.createdAt(), t.updatedAt(),
+                        t.origin().id(), t.origin().name(), t.origin().country(), t.origin().city(), t.origin().locationCode(),
+                        t.origin().createdAt(), t.origin().updatedAt(),
+                        t.destination().id(), t.destination().name(), t.destination().country(), t.destination().city(),
+                        t.destination().locationCode(), t.destination().createdAt(), t.destination().updatedAt()))
+                .toList();
+    }
+
+    @Benchmark
+    public void toDtoFromEntity(Blackhole blackhole) {
+        for (Transportation entity : entities) {
+            blackhole.consume(mapper.toDto(entity));
+        }
+    }
+
+    @Benchmark
+    public void toDtoFromRow(Blackhole blackhole) {
+        for (RouteCandidateRow row : rows) {
+            blackhole.consume(mapper.toDto(row));
+        }
+    }
+
+    private static List<Transportation> toEntities(GeneratedNetwork network) {
+        List<Location> locationEntities = new ArrayList<>(network.locations().size());
+        for (LocationDto dto : network.locations()) {
+            Location location = new Location();
+            location.setId(dto.id());
+            location.setName(dto.name());
+            location.setCountry(dto.country());
+            location.setCity(dto.city());
+            location.setLocationCode(dto.locationCode());
+            location.setCreatedAt(dto.createdAt());
+            locationEntities.add(location);
+        }
+
+        List<Transportation> entities = new ArrayList<>(network.transportations().size());
+        for (TransportationDto dto : network.transportations()) {
+            Transportation transportation = new Transportation();
+            transportation.setId(dto.id());
+            transportation.setOrigin(locationEntities.get((int) dto.origin().id() - 1));
+            transportation.setDestination(locationEntities.get((int) dto.destination().id() - 1));
+            transportation.setTransportationType(dto.transportationType());
+            transportation.setOperatingDays(dto.operatingDays());
+            transportation.setDepartureTime(dto.departureTime());
+            transportation.setArrivalTime(dto.arrivalTime());
+            transportation.setCreatedAt(dto.createdAt());
+            entities.add(transportation);
+        }
+        return entities;
+    }
+
+    private record Row(Long getId, Integer getTransportationType, Integer getOperatingDays,
+                       LocalTime getDepartureTime, LocalTime getArrivalTime, Instant getCreatedAt, Instant getUpdatedAt,
+                       Long getOriginId, String getOriginName, String getOriginCountry, String getOriginCity,
+                       String getOriginCode, Instant getOriginCreatedAt, Instant getOriginUpdatedAt,
+                       Long getDestinationId, String getDestinationName, String getDestinationCountry,
+                       String getDestinationCity, String getDestinationCode, Instant getDestinationCreatedAt,
+                       Instant getDestinationUpdatedAt) implements RouteCandidateRow {
+    }
+}
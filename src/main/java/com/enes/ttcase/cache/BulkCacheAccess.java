@@ -0,0 +1,39 @@
+package com.enes.ttcase.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Multi-key reads and writes against the remote tier of a cache. Keys without a value are absent from the
+ * result of {@link #getAll}.
+ */
+public interface BulkCacheAccess {
+
+    Map<String, Object> getAll(Cache cache, Collection<String> keys);
+
+    void putAll(Cache cache, Map<String, ?> entries);
+
+    static BulkCacheAccess perKey() {
+        return new BulkCacheAccess() {
+            @Override
+            public Map<String, Object> getAll(Cache cache, Collection<String> keys) {
+                Map<String, Object> values = new HashMap<>();
+                for (String key : keys) {
+                    Cache.ValueWrapper value = cache.get(key);
+                    if (value != null && value.get() != null) {
+                        values.put(key, value.get());
+                    }
+                }
+                return values;
+            }
+
+            @Override
+            public void putAll(Cache cache, Map<String, ?> entries) {
+                entries.forEach(cache::put);
+            }
+        };
+    }
+}
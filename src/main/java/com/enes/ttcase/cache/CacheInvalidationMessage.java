@@ -0,0 +1,26 @@
+package com.enes.ttcase.cache;
+
+import org.jspecify.annotations.Nullable;
+
+public record CacheInvalidationMessage(
+        String instanceId,
+        String cacheName,
+        @Nullable String key
+) {
+
+    private static final String SEPARATOR = "\n";
+
+    public static CacheInvalidationMessage decode(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Invalid cache invalidation message: " + payload);
+        }
+        return new CacheInvalidationMessage(parts[0], parts[1], parts.length == 3 ? parts[2] : null);
+    }
+
+    public String encode() {
+        return key == null
+                ? instanceId + SEPARATOR + cacheName
+                : instanceId + SEPARATOR + cacheName + SEPARATOR + key;
+    }
+}
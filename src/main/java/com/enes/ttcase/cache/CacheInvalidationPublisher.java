@@ -0,0 +1,7 @@
+package com.enes.ttcase.cache;
+
+@FunctionalInterface
+public interface CacheInvalidationPublisher {
+
+    void publish(CacheInvalidationMessage message);
+}
@@ -0,0 +1,10 @@
+package com.enes.ttcase.cache;
+
+public record CacheTierStatistics(
+        String cacheName,
+        String tier,
+        long hits,
+        long misses,
+        long evictions
+) {
+}
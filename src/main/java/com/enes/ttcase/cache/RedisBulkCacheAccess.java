@@ -0,0 +1,90 @@
+package com.enes.ttcase.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads with one {@code MGET} and writes with one pipelined batch of {@code SET ... EX}, using the same key
+ * prefix and serializers as the {@code RedisCache} built from {@code configuration}.
+ */
+public class RedisBulkCacheAccess implements BulkCacheAccess {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCacheConfiguration configuration;
+
+    public RedisBulkCacheAccess(RedisConnectionFactory connectionFactory, RedisCacheConfiguration configuration) {
+        this.connectionFactory = connectionFactory;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Map<String, Object> getAll(Cache cache, Collection<String> keys) {
+        Map<String, Object> values = new HashMap<>();
+        if (keys.isEmpty()) {
+            return values;
+        }
+
+        List<String> orderedKeys = new ArrayList<>(keys);
+        byte[][] redisKeys = orderedKeys.stream()
+                .map(key -> redisKey(cache, key))
+                .toArray(byte[][]::new);
+
+        List<byte[]> redisValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            redisValues = connection.stringCommands().mGet(redisKeys);
+        }
+        if (redisValues == null) {
+            return values;
+        }
+
+        for (int i = 0; i < orderedKeys.size(); i++) {
+            byte[] value = redisValues.get(i);
+            if (value != null) {
+                values.put(orderedKeys.get(i), configuration.getValueSerializationPair().read(ByteBuffer.wrap(value)));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Cache cache, Map<String, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                if (value != null) {
+                    connection.stringCommands().set(redisKey(cache, key),
+                            bytes(configuration.getValueSerializationPair().write(value)),
+                            Expiration.from(configuration.getTtlFunction().getTimeToLive(key, value)),
+                            RedisStringCommands.SetOption.upsert());
+                }
+            });
+            connection.closePipeline();
+        }
+    }
+
+    private byte[] redisKey(Cache cache, String key) {
+        String cacheKey = configuration.usePrefix() ? configuration.getKeyPrefixFor(cache.getName()) + key : key;
+        return bytes(configuration.getKeySerializationPair().write(cacheKey));
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,213 @@
+package com.enes.ttcase.cache;
+
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Cache} that answers from a bounded in-process tier and falls back to the shared remote tier.
+ * Evictions are applied to both tiers and broadcast, so other instances drop their local copies too.
+ * Remote reads are timed, deserialization included, since that is where a slow remote tier shows.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache remoteCache;
+    private final BulkCacheAccess remoteBulkAccess;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final String instanceId;
+    private final Timer remoteReads;
+
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder remoteEvictions = new LongAdder();
+
+    TwoLevelCache(String name,
+                  com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                  Cache remoteCache,
+                  BulkCacheAccess remoteBulkAccess,
+                  CacheInvalidationPublisher invalidationPublisher,
+                  String instanceId,
+                  Timer remoteReads) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.remoteBulkAccess = remoteBulkAccess;
+        this.invalidationPublisher = invalidationPublisher;
+        this.instanceId = instanceId;
+        this.remoteReads = remoteReads;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        ValueWrapper remoteValue = remoteReads.record(() -> remoteCache.get(key));
+        if (remoteValue == null) {
+            remoteMisses.increment();
+            return null;
+        }
+
+        remoteHits.increment();
+        if (remoteValue.get() != null) {
+            localCache.put(localKey, remoteValue.get());
+        }
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Answers what it can from the local tier and reads the rest from the remote tier in one round trip.
+     * Keys without a value in either tier are absent from the result.
+     */
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> values = new HashMap<>(localCache.getAllPresent(keys));
+        List<String> missing = keys.stream()
+                .filter(key -> !values.containsKey(key))
+                .distinct()
+                .toList();
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        Map<String, Object> remoteValues = remoteReads.record(() -> remoteBulkAccess.getAll(remoteCache, missing));
+        remoteHits.add(remoteValues.size());
+        remoteMisses.add(missing.size() - remoteValues.size());
+        localCache.putAll(remoteValues);
+        values.putAll(remoteValues);
+        return values;
+    }
+
+    public void putAll(Map<String, ?> entries) {
+        remoteBulkAccess.putAll(remoteCache, entries);
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                localCache.put(key, value);
+            }
+        });
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        remoteCache.put(key, value);
+        if (value != null) {
+            localCache.put(localKey(key), value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        remoteEvictions.increment();
+        invalidate(localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remoteCache.evictIfPresent(key);
+        if (evicted) {
+            remoteEvictions.increment();
+        }
+        invalidate(localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        remoteEvictions.increment();
+        invalidate(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remoteCache.invalidate();
+        remoteEvictions.increment();
+        invalidate(null);
+        return invalidated;
+    }
+
+    public CacheTierStatistics localStatistics() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = localCache.stats();
+        return new CacheTierStatistics(name, "local", stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    public CacheTierStatistics remoteStatistics() {
+        return new CacheTierStatistics(name, "remote", remoteHits.sum(), remoteMisses.sum(), remoteEvictions.sum());
+    }
+
+    long localSize() {
+        localCache.cleanUp();
+        return localCache.estimatedSize();
+    }
+
+    void evictLocal(@Nullable String key) {
+        if (key == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(key);
+        }
+    }
+
+    private void invalidate(@Nullable String key) {
+        evictLocal(key);
+        invalidationPublisher.publish(new CacheInvalidationMessage(instanceId, name, key));
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,136 @@
+package com.enes.ttcase.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final BulkCacheAccess remoteBulkAccess;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    private final long localMaximumSize;
+    private final Duration localTimeToLive;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                CacheInvalidationPublisher invalidationPublisher,
+                                MeterRegistry meterRegistry,
+                                long localMaximumSize,
+                                Duration localTimeToLive) {
+        this(remoteCacheManager, BulkCacheAccess.perKey(), invalidationPublisher, meterRegistry, localMaximumSize, localTimeToLive);
+    }
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                BulkCacheAccess remoteBulkAccess,
+                                CacheInvalidationPublisher invalidationPublisher,
+                                MeterRegistry meterRegistry,
+                                long localMaximumSize,
+                                Duration localTimeToLive) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.remoteBulkAccess = remoteBulkAccess;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+        this.localMaximumSize = localMaximumSize;
+        this.localTimeToLive = localTimeToLive;
+    }
+
+    @Override
+    public @Nullable Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> createCache(key, remoteCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public List<CacheTierStatistics> getStatistics() {
+        List<CacheTierStatistics> statistics = new ArrayList<>();
+        caches.values().forEach(cache -> {
+            statistics.add(cache.localStatistics());
+            statistics.add(cache.remoteStatistics());
+        });
+        return statistics;
+    }
+
+    public void onInvalidation(CacheInvalidationMessage message) {
+        if (instanceId.equals(message.instanceId())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(message.cacheName());
+        if (cache != null) {
+            cache.evictLocal(message.key());
+        }
+    }
+
+    private TwoLevelCache createCache(String name, Cache remoteCache) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTimeToLive)
+                .recordStats()
+                .build();
+        Timer remoteReads = Timer.builder("cache.tier.reads")
+                .tags("cache", name, "tier", "remote")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        TwoLevelCache cache = new TwoLevelCache(name, localCache, remoteCache, remoteBulkAccess, invalidationPublisher, instanceId,
+                remoteReads);
+        bindMetrics(cache);
+        return cache;
+    }
+
+    private void bindMetrics(TwoLevelCache cache) {
+        String name = cache.getName();
+        FunctionCounter.builder("cache.tier.gets", cache, c -> c.localStatistics().hits())
+                .tags("cache", name, "tier", "local", "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.tier.gets", cache, c -> c.localStatistics().misses())
+                .tags("cache", name, "tier", "local", "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.tier.gets", cache, c -> c.remoteStatistics().hits())
+                .tags("cache", name, "tier", "remote", "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.tier.gets", cache, c -> c.remoteStatistics().misses())
+                .tags("cache", name, "tier", "remote", "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.tier.evictions", cache, c -> c.localStatistics().evictions())
+                .tags("cache", name, "tier", "local")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.tier.evictions", cache, c -> c.remoteStatistics().evictions())
+                .tags("cache", name, "tier", "remote")
+                .register(meterRegistry);
+        Gauge.builder("cache.tier.size", cache, TwoLevelCache::localSize)
+                .tags("cache", name, "tier", "local")
+                .register(meterRegistry);
+    }
+}
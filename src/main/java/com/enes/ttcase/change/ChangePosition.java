@@ -0,0 +1,13 @@
+package com.enes.ttcase.change;
+
+/**
+ * Where a consistent read of the network stands in the change log.
+ *
+ * @param sequence the latest change the read could see
+ * @param snapshot the read's {@code pg_snapshot}, which tells changes it saw from ones still in flight
+ */
+public record ChangePosition(
+        long sequence,
+        String snapshot
+) {
+}
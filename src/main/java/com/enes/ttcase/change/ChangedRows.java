@@ -0,0 +1,16 @@
+package com.enes.ttcase.change;
+
+import java.util.Set;
+
+/**
+ * Ids of the locations and transportations inserted, updated or deleted after a {@link ChangePosition}.
+ */
+public record ChangedRows(
+        Set<Long> locationIds,
+        Set<Long> transportationIds
+) {
+
+    public boolean isEmpty() {
+        return locationIds.isEmpty() && transportationIds.isEmpty();
+    }
+}
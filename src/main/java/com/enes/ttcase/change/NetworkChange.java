@@ -0,0 +1,42 @@
+package com.enes.ttcase.change;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One row of the {@code network_change} log, written by a trigger for every insert, update and delete of a
+ * location or transportation.
+ *
+ * @param sequence  position in the log, allocated on write and therefore not visible in commit order
+ * @param rowId     id of the changed location or transportation
+ * @param previous  the row before the change as JSON, {@code null} for inserts
+ * @param source    {@code application_name} of the connection that made the change
+ */
+record NetworkChange(
+        long sequence,
+        Entity entity,
+        Operation operation,
+        long rowId,
+        @Nullable String previous,
+        @Nullable String source
+) {
+
+    enum Entity {
+        LOCATION,
+        TRANSPORTATION
+    }
+
+    enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE;
+
+        static Operation of(String code) {
+            return switch (code) {
+                case "I" -> INSERT;
+                case "U" -> UPDATE;
+                case "D" -> DELETE;
+                default -> throw new IllegalArgumentException("Unknown network change operation: " + code);
+            };
+        }
+    }
+}
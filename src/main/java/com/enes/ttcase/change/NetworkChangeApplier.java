@@ -0,0 +1,225 @@
+package com.enes.ttcase.change;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.ImportTarget;
+import com.enes.ttcase.location.LocationChangedEvent;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.location.LocationService;
+import com.enes.ttcase.transportation.OperatingDays;
+import com.enes.ttcase.transportation.TransportationChangedEvent;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationService;
+import com.enes.ttcase.transportation.TransportationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns changes made by other nodes into the same events a local write publishes, so caches, the route graph,
+ * the route index and the location search index follow them through their existing listeners. A batch with
+ * more than {@code bulk-threshold} changes to one entity is applied like an import instead: one
+ * {@link ImportCompletedEvent} and a single refresh, rather than one rebuild per row.
+ */
+@Component
+class NetworkChangeApplier {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkChangeApplier.class);
+
+    private final LocationService locationService;
+    private final TransportationService transportationService;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final int bulkThreshold;
+
+    NetworkChangeApplier(LocationService locationService,
+                         TransportationService transportationService,
+                         JsonMapper jsonMapper,
+                         ApplicationEventPublisher eventPublisher,
+                         MeterRegistry meterRegistry,
+                         @Value("${network-changes.bulk-threshold:100}") int bulkThreshold) {
+        this.locationService = locationService;
+        this.transportationService = transportationService;
+        this.jsonMapper = jsonMapper;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.bulkThreshold = bulkThreshold;
+    }
+
+    /**
+     * Applies changes in log order, after collapsing the changes to each row into one: the row as it was before
+     * its first change, and its state now unless the last change deleted it. Locations are refreshed before
+     * transportations so a transportation event never refers to a location this node has not seen yet.
+     */
+    void apply(List<NetworkChange> changes) {
+        Collection<NetworkChange> rows = collapse(changes);
+        Map<NetworkChange.Entity, Integer> counts = new EnumMap<>(NetworkChange.Entity.class);
+        for (NetworkChange row : rows) {
+            counts.merge(row.entity(), 1, Integer::sum);
+        }
+        boolean refreshLocations = counts.getOrDefault(NetworkChange.Entity.LOCATION, 0) > bulkThreshold;
+        boolean refreshTransportations = counts.getOrDefault(NetworkChange.Entity.TRANSPORTATION, 0) > bulkThreshold;
+
+        if (refreshLocations) {
+            refresh(ImportTarget.LOCATIONS, counts.get(NetworkChange.Entity.LOCATION));
+        }
+        Map<Long, LocationDto> locations = new HashMap<>();
+        Map<Long, TransportationDto> transportations = refreshTransportations ? Map.of() : currentTransportations(rows);
+        for (NetworkChange row : rows) {
+            if (row.entity() == NetworkChange.Entity.LOCATION && !refreshLocations) {
+                applyLocation(row);
+            } else if (row.entity() == NetworkChange.Entity.TRANSPORTATION && !refreshTransportations) {
+                refreshTransportations = !applyTransportation(row, locations, transportations);
+            }
+        }
+        if (refreshTransportations) {
+            refresh(ImportTarget.TRANSPORTATIONS, counts.get(NetworkChange.Entity.TRANSPORTATION));
+        }
+    }
+
+    /**
+     * Refreshes everything, for when this node can no longer tell which changes it missed.
+     */
+    void resync() {
+        refresh(ImportTarget.LOCATIONS, 0);
+        refresh(ImportTarget.TRANSPORTATIONS, 0);
+    }
+
+    private static Collection<NetworkChange> collapse(List<NetworkChange> changes) {
+        Map<RowKey, NetworkChange> rows = new LinkedHashMap<>();
+        for (NetworkChange change : changes) {
+            rows.merge(new RowKey(change.entity(), change.rowId()), change, (first, last) -> new NetworkChange(
+                    last.sequence(), last.entity(), last.operation(), last.rowId(), first.previous(), last.source()));
+        }
+        return rows.values();
+    }
+
+    /**
+     * Reads the current state of every changed transportation with one query that fetches its locations too;
+     * the applier runs outside any transaction, so lazy locations could not be loaded afterwards.
+     */
+    private Map<Long, TransportationDto> currentTransportations(Collection<NetworkChange> rows) {
+        List<Long> ids = rows.stream()
+                .filter(row -> row.entity() == NetworkChange.Entity.TRANSPORTATION
+                        && row.operation() != NetworkChange.Operation.DELETE)
+                .map(NetworkChange::rowId)
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, TransportationDto> transportations = HashMap.newHashMap(ids.size());
+        transportationService.getTransportationsByIds(ids)
+                .forEach(transportation -> transportations.put(transportation.id(), transportation));
+        return transportations;
+    }
+
+    private void applyLocation(NetworkChange change) {
+        LocationDto previous = change.previous() == null ? null : location(read(change.previous()));
+        LocationDto current = change.operation() == NetworkChange.Operation.DELETE
+                ? null
+                : locationService.getById(change.rowId());
+        if (previous != null || current != null) {
+            eventPublisher.publishEvent(new LocationChangedEvent(previous, current));
+        }
+        count("location", "event", 1);
+    }
+
+    /**
+     * @return {@code false} if the previous row refers to a location that no longer exists, in which case
+     * only a refresh can remove it
+     */
+    private boolean applyTransportation(NetworkChange change,
+                                        Map<Long, LocationDto> locations,
+                                        Map<Long, TransportationDto> transportations) {
+        TransportationDto previous = null;
+        if (change.previous() != null) {
+            previous = transportation(read(change.previous()), locations);
+            if (previous == null) {
+                log.debug("Locations of transportation {} are gone, refreshing transportations", change.rowId());
+                return false;
+            }
+        }
+        TransportationDto current = change.operation() == NetworkChange.Operation.DELETE
+                ? null
+                : transportations.get(change.rowId());
+        if (previous != null || current != null) {
+            eventPublisher.publishEvent(new TransportationChangedEvent(previous, current));
+        }
+        count("transportation", "event", 1);
+        return true;
+    }
+
+    private void refresh(ImportTarget target, long changes) {
+        eventPublisher.publishEvent(new ImportCompletedEvent(target, changes));
+        count(target == ImportTarget.LOCATIONS ? "location" : "transportation", "refresh", changes);
+    }
+
+    private void count(String entity, String mode, long changes) {
+        Counter.builder("network.changes.applied")
+                .tag("entity", entity)
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .increment(changes);
+    }
+
+    private JsonNode read(String json) {
+        return jsonMapper.readTree(json);
+    }
+
+    private static LocationDto location(JsonNode row) {
+        return new LocationDto(row.get("id").asLong(),
+                row.get("name").asString(),
+                row.get("country").asString(),
+                row.get("city").asString(),
+                row.get("location_code").asString(),
+                instant(row.get("created_at")),
+                instant(row.get("updated_at")));
+    }
+
+    private @Nullable TransportationDto transportation(JsonNode row, Map<Long, LocationDto> locations) {
+        LocationDto origin = locations.computeIfAbsent(row.get("origin_id").asLong(), locationService::getById);
+        LocationDto destination = locations.computeIfAbsent(row.get("destination_id").asLong(), locationService::getById);
+        if (origin == null || destination == null) {
+            return null;
+        }
+        return new TransportationDto(row.get("id").asLong(),
+                origin,
+                destination,
+                TransportationType.values()[row.get("transportation_type").asInt()],
+                OperatingDays.fromMask(row.get("operating_days").asInt()),
+                time(row.get("departure_time")),
+                time(row.get("arrival_time")),
+                instant(row.get("created_at")),
+                instant(row.get("updated_at")));
+    }
+
+    // created_at and updated_at are written by Postgres in the session time zone; the trigger logs them as
+    // timestamptz in that zone, so the offset comes with the value.
+    private static @Nullable Instant instant(@Nullable JsonNode value) {
+        return value == null || value.isNull() ? null : OffsetDateTime.parse(value.asString()).toInstant();
+    }
+
+    private record RowKey(NetworkChange.Entity entity, long rowId) {
+    }
+
+    private static @Nullable LocalTime time(@Nullable JsonNode value) {
+        return value == null || value.isNull() ? null : LocalTime.parse(value.asString());
+    }
+}
@@ -0,0 +1,227 @@
+package com.enes.ttcase.change;
+
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps this node's caches and in-memory structures in step with writes made by other nodes. Triggers on
+ * {@code location} and {@code transportation} append every change to the {@code network_change} log and
+ * {@code NOTIFY} the {@value #CHANNEL} channel; this listener holds one connection that {@code LISTEN}s on
+ * it and reads the log whenever it is woken, and every {@code poll-interval} in case a notification was lost. Notifications carry only the table name, so Postgres folds a burst
+ * written in one transaction into one notification per table, and the listener waits {@code batch-delay}
+ * before reading so that bursts spread over several transactions are applied as one batch.
+ * <p>
+ * Sequences are allocated when a row is written but become visible when its transaction commits, so a
+ * change can show up after a later one, however long its transaction runs. The listener therefore keeps the
+ * {@link ChangePosition} of its last read rather than a sequence, and each read takes the changes of exactly
+ * the transactions that committed since: visible in a new {@code pg_snapshot} and not in the previous one.
+ * <p>
+ * Every connection of a node shares one {@code application_name}, so changes the node made itself, which it
+ * has already applied through its own events, are skipped. After a reconnect, if the log was pruned past
+ * the last read position, the node can no longer tell what it missed and refreshes everything.
+ */
+@Component
+@ConditionalOnProperty(name = "network-changes.enabled", havingValue = "true")
+class NetworkChangeListener implements SmartLifecycle {
+
+    static final String CHANNEL = "network_change";
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkChangeListener.class);
+
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    private final DataSource dataSource;
+    private final NetworkChangeRepository repository;
+    private final NetworkChangeApplier applier;
+    private final Duration pollInterval;
+    private final Duration batchDelay;
+    private final int batchSize;
+    private final Duration retention;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private @Nullable Thread thread;
+    private @Nullable ChangePosition position;
+    private @Nullable String applicationName;
+    private Instant lastPruned = Instant.EPOCH;
+
+    NetworkChangeListener(DataSource dataSource,
+                          NetworkChangeRepository repository,
+                          NetworkChangeApplier applier,
+                          @Value("${network-changes.poll-interval:10s}") Duration pollInterval,
+                          @Value("${network-changes.batch-delay:200ms}") Duration batchDelay,
+                          @Value("${network-changes.batch-size:1000}") int batchSize,
+                          @Value("${network-changes.retention:1h}") Duration retention,
+                          @Value("${network-changes.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.repository = repository;
+        this.applier = applier;
+        this.pollInterval = pollInterval;
+        this.batchDelay = batchDelay;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Takes the starting position before the caches and the route graph are loaded, so whatever they load
+     * already includes every change it sees, and every transaction it does not see, even one still in flight,
+     * is applied once it commits.
+     */
+    @Override
+    public synchronized void start() {
+        position = repository.position();
+        running = true;
+        thread = Thread.ofVirtual().name("network-change-listener").start(this::listen);
+        log.info("Listening for network changes after sequence {}", position.sequence());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(pollInterval.plusSeconds(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                    applicationName = applicationName(statement);
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                catchUp();
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications((int) pollInterval.toMillis());
+                    if (received != null && received.length > 0 && !batchDelay.isZero()) {
+                        Thread.sleep(batchDelay);
+                    }
+                    drain();
+                    prune();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Network change listener failed, reconnecting in {}", reconnectDelay, e);
+                if (!sleep(reconnectDelay)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the log from the last position after (re)connecting, when notifications may have been missed. The
+     * position of a refresh is taken before it reads, like the starting one.
+     */
+    private void catchUp() {
+        ChangePosition current = Objects.requireNonNull(position);
+        if (repository.oldestSequence() > current.sequence() + 1) {
+            log.warn("Network changes after sequence {} were pruned before they were applied, refreshing",
+                    current.sequence());
+            position = repository.position();
+            applier.resync();
+            return;
+        }
+        drain();
+    }
+
+    private void drain() {
+        ChangePosition since = Objects.requireNonNull(position);
+        ChangePosition until = repository.position();
+        long after = 0;
+        List<NetworkChange> read;
+        do {
+            read = repository.findCommittedBetween(since.snapshot(), until.snapshot(), after, batchSize);
+            List<NetworkChange> remote = new ArrayList<>();
+            for (NetworkChange change : read) {
+                if (!isOwn(change)) {
+                    remote.add(change);
+                }
+                after = change.sequence();
+            }
+            if (!remote.isEmpty()) {
+                apply(remote);
+            }
+        } while (read.size() == batchSize);
+        position = until;
+    }
+
+    private void apply(List<NetworkChange> changes) {
+        try {
+            applier.apply(changes);
+            log.debug("Applied {} network changes up to sequence {}", changes.size(), changes.getLast().sequence());
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply {} network changes, refreshing", changes.size(), e);
+            applier.resync();
+        }
+    }
+
+    private void prune() {
+        Instant now = Instant.now();
+        if (now.isBefore(lastPruned.plus(PRUNE_INTERVAL))) {
+            return;
+        }
+        lastPruned = now;
+        int deleted = repository.deleteOlderThan(retention);
+        if (deleted > 0) {
+            log.debug("Pruned {} network changes older than {}", deleted, retention);
+        }
+    }
+
+    private boolean isOwn(NetworkChange change) {
+        return applicationName != null && applicationName.equals(change.source());
+    }
+
+    private static @Nullable String applicationName(Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT current_setting('application_name')")) {
+            String name = resultSet.next() ? resultSet.getString(1) : null;
+            return name == null || name.isBlank() ? null : name;
+        }
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
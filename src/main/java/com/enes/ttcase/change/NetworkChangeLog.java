@@ -0,0 +1,50 @@
+package com.enes.ttcase.change;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lets a copy of the network kept outside the database, such as the route graph snapshot, catch up with
+ * exactly the changes it has not seen. A copy records the {@link ChangePosition} of the read it was built
+ * from; the changes it is missing are the ones made by transactions that read could not see, including
+ * transactions that were still open and committed later with a lower sequence.
+ */
+@Component
+public class NetworkChangeLog {
+
+    private final NetworkChangeRepository repository;
+
+    NetworkChangeLog(NetworkChangeRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Call inside the transaction that reads the network, so the position describes the same snapshot.
+     */
+    public ChangePosition position() {
+        return repository.position();
+    }
+
+    /**
+     * @return the rows changed by transactions {@code position} did not see, or empty if the log was
+     * pruned past it and the changes can no longer be told
+     */
+    public Optional<ChangedRows> changedSince(ChangePosition position) {
+        if (repository.oldestSequence() > position.sequence() + 1) {
+            return Optional.empty();
+        }
+        Set<Long> locationIds = new HashSet<>();
+        Set<Long> transportationIds = new HashSet<>();
+        repository.forEachRowInvisibleTo(position.snapshot(), (entity, rowId) -> {
+            if (entity == NetworkChange.Entity.LOCATION) {
+                locationIds.add(rowId);
+            } else {
+                transportationIds.add(rowId);
+            }
+        });
+        return Optional.of(new ChangedRows(locationIds, transportationIds));
+    }
+}
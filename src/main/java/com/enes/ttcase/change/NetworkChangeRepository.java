@@ -0,0 +1,99 @@
+package com.enes.ttcase.change;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+@Repository
+class NetworkChangeRepository {
+
+    private static final RowMapper<NetworkChange> ROW_MAPPER = (rs, rowNum) -> new NetworkChange(
+            rs.getLong("id"),
+            entity(rs.getString("entity")),
+            NetworkChange.Operation.of(rs.getString("operation")),
+            rs.getLong("row_id"),
+            rs.getString("previous"),
+            rs.getString("source"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    NetworkChangeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Changes made by transactions that {@code snapshot} sees and {@code since} did not, in sequence order from
+     * {@code after}. Both snapshots come from {@link #position()}, so every transaction is read exactly once
+     * across consecutive calls, whatever order sequences commit in; rolled back ones are never visible.
+     */
+    List<NetworkChange> findCommittedBetween(String since, String snapshot, long after, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT id, entity, operation, row_id, previous::text AS previous, source
+                        FROM network_change
+                        WHERE transaction_id >= pg_snapshot_xmin(CAST(? AS pg_snapshot))
+                          AND NOT pg_visible_in_snapshot(transaction_id, CAST(? AS pg_snapshot))
+                          AND pg_visible_in_snapshot(transaction_id, CAST(? AS pg_snapshot))
+                          AND id > ?
+                        ORDER BY id
+                        LIMIT ?
+                        """,
+                ROW_MAPPER,
+                since,
+                since,
+                snapshot,
+                after,
+                limit);
+    }
+
+    ChangePosition position() {
+        return jdbcTemplate.queryForObject("""
+                        SELECT COALESCE(MAX(id), 0) AS sequence, CAST(pg_current_snapshot() AS TEXT) AS snapshot
+                        FROM network_change
+                        """,
+                (rs, rowNum) -> new ChangePosition(rs.getLong("sequence"), rs.getString("snapshot")));
+    }
+
+    /**
+     * Every changed row whose transaction is not visible in {@code snapshot}: committed after it was taken,
+     * or still in flight at the time.
+     */
+    void forEachRowInvisibleTo(String snapshot, BiConsumer<NetworkChange.Entity, Long> consumer) {
+        jdbcTemplate.query("""
+                        SELECT DISTINCT entity, row_id
+                        FROM network_change
+                        WHERE transaction_id >= pg_snapshot_xmin(CAST(? AS pg_snapshot))
+                          AND NOT pg_visible_in_snapshot(transaction_id, CAST(? AS pg_snapshot))
+                        """,
+                (RowCallbackHandler) rs -> consumer.accept(entity(rs.getString("entity")), rs.getLong("row_id")),
+                snapshot,
+                snapshot);
+    }
+
+    long oldestSequence() {
+        Long oldest = jdbcTemplate.queryForObject("SELECT COALESCE(MIN(id), 0) FROM network_change", Long.class);
+        return oldest == null ? 0 : oldest;
+    }
+
+    /**
+     * Deletes changes older than {@code retention}, always keeping the latest one so {@link #position()}
+     * never falls back behind sequences already handed out.
+     */
+    int deleteOlderThan(Duration retention) {
+        return jdbcTemplate.update("""
+                        DELETE FROM network_change
+                        WHERE changed_at < CURRENT_TIMESTAMP - make_interval(secs => ?)
+                          AND id < (SELECT MAX(id) FROM network_change)
+                        """,
+                retention.toSeconds());
+    }
+
+    private static NetworkChange.Entity entity(String table) {
+        return NetworkChange.Entity.valueOf(table.toUpperCase(Locale.ROOT));
+    }
+}
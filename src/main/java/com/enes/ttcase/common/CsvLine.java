@@ -0,0 +1,46 @@
+package com.enes.ttcase.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comma separated fields of a single line. Fields may be quoted with {@code "} and escape quotes by
+ * doubling them; quoted line breaks are not supported.
+ */
+final class CsvLine {
+
+    private CsvLine() {
+    }
+
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString().strip());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().strip());
+        return fields;
+    }
+}
@@ -0,0 +1,25 @@
+package com.enes.ttcase.common;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A keyset page. {@code nextCursor} is {@code null} on the last page.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        @Nullable String nextCursor
+) {
+
+    /**
+     * @param rows     up to {@code size + 1} rows in key order; the extra row only signals that more follow
+     * @param cursorOf encodes the key of a row so the next page can seek past it
+     */
+    public static <T, R> CursorPage<R> of(List<T> rows, int size, Function<T, R> mapper, Function<T, String> cursorOf) {
+        List<T> page = rows.size() > size ? rows.subList(0, size) : rows;
+        String nextCursor = rows.size() > size ? cursorOf.apply(page.getLast()) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+}
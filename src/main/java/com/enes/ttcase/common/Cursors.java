@@ -0,0 +1,66 @@
+package com.enes.ttcase.common;
+
+import org.jspecify.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque URL-safe cursors over one or more key columns.
+ */
+public final class Cursors {
+
+    private static final String SEPARATOR = "\u001F";
+
+    private Cursors() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder joined = new StringBuilder();
+        for (Object key : keys) {
+            if (!joined.isEmpty()) {
+                joined.append(SEPARATOR);
+            }
+            joined.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the {@code keys} values of the cursor, or {@code null} for the first page
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode(Object...)} with as many keys
+     */
+    public static @Nullable List<String> decode(@Nullable String cursor, int keys) {
+        if (cursor == null) {
+            return null;
+        }
+        String joined;
+        try {
+            joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        List<String> decoded = List.of(joined.split(SEPARATOR, -1));
+        if (decoded.size() != keys) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return decoded;
+    }
+
+    /**
+     * @return the id of a single-key cursor, or {@code 0} for the first page
+     */
+    public static long decodeId(@Nullable String cursor) {
+        List<String> keys = decode(cursor, 1);
+        return keys == null ? 0 : longKey(keys.getFirst());
+    }
+
+    public static long longKey(String key) {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.enes.ttcase.common;
+
+/**
+ * Published once after a bulk import instead of one change event per row, so listeners refresh their
+ * derived state a single time.
+ */
+public record ImportCompletedEvent(
+        ImportTarget target,
+        long imported
+) {
+}
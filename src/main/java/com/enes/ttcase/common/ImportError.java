@@ -0,0 +1,10 @@
+package com.enes.ttcase.common;
+
+/**
+ * @param row 1-based line of the rejected record in the uploaded body
+ */
+public record ImportError(
+        long row,
+        String message
+) {
+}
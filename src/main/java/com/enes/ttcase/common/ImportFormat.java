@@ -0,0 +1,25 @@
+package com.enes.ttcase.common;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final MediaType mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public static ImportFormat of(String contentType) {
+        MediaType requested = MediaType.parseMediaType(contentType);
+        for (ImportFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(requested)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type " + contentType);
+    }
+}
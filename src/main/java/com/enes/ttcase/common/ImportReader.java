@@ -0,0 +1,139 @@
+package com.enes.ttcase.common;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an uploaded CSV or NDJSON body as chunks of parsed and bean-validated records. Malformed or
+ * invalid lines are rejected into the {@link ImportReport} and never reach the caller, so a chunk only
+ * comes back empty once the body is exhausted.
+ * <p>
+ * CSV bodies start with a header naming the record components; empty fields are read as {@code null}.
+ */
+public final class ImportReader<T> implements AutoCloseable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final Class<T> type;
+    private final Function<Map<String, String>, T> csvMapper;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final ImportReport report;
+
+    private @Nullable List<String> header;
+    private long line;
+
+    private ImportReader(InputStream input,
+                         ImportFormat format,
+                         Class<T> type,
+                         Function<Map<String, String>, T> csvMapper,
+                         JsonMapper jsonMapper,
+                         Validator validator,
+                         ImportReport report) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.type = type;
+        this.csvMapper = csvMapper;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.report = report;
+    }
+
+    public static <T> ImportReader<T> open(InputStream input,
+                                           ImportFormat format,
+                                           Class<T> type,
+                                           Function<Map<String, String>, T> csvMapper,
+                                           JsonMapper jsonMapper,
+                                           Validator validator,
+                                           ImportReport report) {
+        return new ImportReader<>(input, format, type, csvMapper, jsonMapper, validator, report);
+    }
+
+    public List<ImportRecord<T>> nextChunk(int size) {
+        List<ImportRecord<T>> chunk = new ArrayList<>(size);
+        String text;
+        while (chunk.size() < size && (text = readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.CSV && header == null) {
+                header = CsvLine.parse(text);
+                continue;
+            }
+
+            report.received();
+            T value;
+            try {
+                value = parse(text);
+            } catch (JacksonException e) {
+                report.reject(line, "Malformed record: " + e.getOriginalMessage());
+                continue;
+            } catch (RuntimeException e) {
+                report.reject(line, "Malformed record: " + e.getMessage());
+                continue;
+            }
+
+            Set<ConstraintViolation<T>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                report.reject(line, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            chunk.add(new ImportRecord<>(line, value));
+        }
+        return chunk;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private T parse(String text) {
+        if (format == ImportFormat.NDJSON) {
+            return jsonMapper.readValue(text, type);
+        }
+
+        List<String> fields = CsvLine.parse(text);
+        if (fields.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " fields but found " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(header.get(i), fields.get(i).isEmpty() ? null : fields.get(i));
+        }
+        return csvMapper.apply(values);
+    }
+
+    private @Nullable String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.enes.ttcase.common;
+
+public record ImportRecord<T>(
+        long row,
+        T value
+) {
+}
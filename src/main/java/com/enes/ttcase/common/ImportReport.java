@@ -0,0 +1,46 @@
+package com.enes.ttcase.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running tally of a single import. Not thread-safe; an import is processed chunk by chunk on one thread.
+ */
+public final class ImportReport {
+
+    private final int maxReportedErrors;
+    private final long startNanos = System.nanoTime();
+    private final List<ImportError> errors = new ArrayList<>();
+    private long received;
+    private long imported;
+    private long rejected;
+
+    public ImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void received() {
+        received++;
+    }
+
+    public void imported(long count) {
+        imported += count;
+    }
+
+    public void reject(long row, String message) {
+        rejected++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ImportError(row, message));
+        }
+    }
+
+    public ImportResult finish() {
+        long durationNanos = Math.max(System.nanoTime() - startNanos, 1);
+        return new ImportResult(received,
+                imported,
+                rejected,
+                durationNanos / 1_000_000,
+                received * 1_000_000_000d / durationNanos,
+                List.copyOf(errors));
+    }
+}
@@ -0,0 +1,16 @@
+package com.enes.ttcase.common;
+
+import java.util.List;
+
+/**
+ * @param errors the first rejected rows, capped by {@code import.max-reported-errors}; {@code rejected} counts all
+ */
+public record ImportResult(
+        long received,
+        long imported,
+        long rejected,
+        long durationMillis,
+        double rowsPerSecond,
+        List<ImportError> errors
+) {
+}
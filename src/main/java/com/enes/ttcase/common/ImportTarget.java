@@ -0,0 +1,6 @@
+package com.enes.ttcase.common;
+
+public enum ImportTarget {
+    LOCATIONS,
+    TRANSPORTATIONS
+}
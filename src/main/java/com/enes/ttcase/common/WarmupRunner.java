@@ -0,0 +1,100 @@
+package com.enes.ttcase.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs every {@link WarmupTask} before the application reports ready: Spring Boot switches readiness to
+ * {@code ACCEPTING_TRAFFIC} only after all runners have returned. Each step runs on its own virtual thread,
+ * so a step that exceeds the remaining {@code warmup.time-budget} is interrupted and the steps after it
+ * are skipped instead of holding up startup.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final List<WarmupTask> tasks;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration timeBudget;
+
+    WarmupRunner(List<WarmupTask> tasks,
+                 MeterRegistry meterRegistry,
+                 @Value("${warmup.enabled:true}") boolean enabled,
+                 @Value("${warmup.time-budget:60s}") Duration timeBudget) {
+        this.tasks = tasks;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled || tasks.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeBudget.toNanos();
+        log.info("Warming up {} steps within {} ms", tasks.size(), timeBudget.toMillis());
+        for (int i = 0; i < tasks.size(); i++) {
+            WarmupTask task = tasks.get(i);
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                log.warn("Warm-up budget exhausted, skipping {}", tasks.subList(i, tasks.size()).stream().map(WarmupTask::name).toList());
+                tasks.subList(i, tasks.size()).forEach(skipped -> record(skipped, "skipped", 0));
+                break;
+            }
+
+            long stepStart = System.nanoTime();
+            String outcome = run(task, remaining);
+            long stepNanos = System.nanoTime() - stepStart;
+            record(task, outcome, stepNanos);
+            log.info("Warm-up step {}/{} {} {} in {} ms", i + 1, tasks.size(), task.name(), outcome, stepNanos / 1_000_000);
+        }
+        log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static String run(WarmupTask task, long timeoutNanos) throws InterruptedException {
+        FutureTask<Void> future = new FutureTask<>(task::warmUp, null);
+        Thread.ofVirtual().name("warmup-" + task.name()).start(future);
+        try {
+            future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            return "completed";
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Warm-up step {} exceeded the time budget and was interrupted", task.name());
+            return "timed-out";
+        } catch (ExecutionException e) {
+            log.warn("Warm-up step {} failed", task.name(), e.getCause());
+            return "failed";
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    private void record(WarmupTask task, String outcome, long nanos) {
+        Timer.builder("startup.warmup")
+                .tags("step", task.name(), "outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,19 @@
+package com.enes.ttcase.common;
+
+/**
+ * Startup work that fills caches or builds in-memory structures before the instance reports ready.
+ * Tasks run one after another within {@code warmup.time-budget}; a task that overruns is interrupted, and
+ * whatever it did not load is loaded on first use instead.
+ */
+public interface WarmupTask {
+
+    /**
+     * Short, stable name used in logs and as the {@code step} tag of the {@code startup.warmup} timer.
+     */
+    String name();
+
+    /**
+     * Should stop early once the current thread is interrupted.
+     */
+    void warmUp();
+}
@@ -1,5 +1,10 @@
 package com.enes.ttcase.config;
 
+import com.enes.ttcase.cache.CacheInvalidationMessage;
+import com.enes.ttcase.cache.CacheInvalidationPublisher;
+import com.enes.ttcase.cache.RedisBulkCacheAccess;
+import com.enes.ttcase.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -7,32 +12,71 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
-                                          @Value("${spring.cache.redis.time-to-live:600}") long timeToLive) {
-        RedisSerializer<Object> serializer = RedisSerializer.json();
+    private static final String INVALIDATION_CHANNEL = "cache-invalidation";
 
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                             CacheInvalidationPublisher cacheInvalidationPublisher,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${spring.cache.redis.time-to-live:600}") long timeToLive,
+                                             @Value("${cache.local.maximum-size:10000}") long localMaximumSize,
+                                             @Value("${cache.local.time-to-live:60}") long localTimeToLive) {
         RedisSerializationContext.SerializationPair<Object> pair =
-                RedisSerializationContext.SerializationPair.fromSerializer(serializer);
+                RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer());
 
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeValuesWith(pair)
                 .disableCachingNullValues()
                 .entryTtl(Duration.ofSeconds(timeToLive));
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(config)
                 .build();
+        redisCacheManager.initializeCaches();
+
+        return new TwoLevelCacheManager(redisCacheManager,
+                new RedisBulkCacheAccess(redisConnectionFactory, config),
+                cacheInvalidationPublisher,
+                meterRegistry,
+                localMaximumSize,
+                Duration.ofSeconds(localTimeToLive));
     }
 
-}
+    /**
+     * Serializer of every Redis cache value; also used by the JMH benchmarks.
+     */
+    public static RedisSerializer<Object> cacheValueSerializer() {
+        return RedisSerializer.json();
+    }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+        return message -> stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, message.encode());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.onInvalidation(
+                        CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(INVALIDATION_CHANNEL));
+        return container;
+    }
 
+}
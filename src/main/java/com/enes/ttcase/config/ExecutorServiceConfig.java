@@ -1,5 +1,7 @@
 package com.enes.ttcase.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,7 +12,19 @@ import java.util.concurrent.Executors;
 class ExecutorServiceConfig {
 
     @Bean("transportationExecutorService")
-    ExecutorService transportationExecutorService() {
-        return Executors.newFixedThreadPool(3);
+    ExecutorService transportationExecutorService(MeterRegistry meterRegistry) {
+        return virtualThreadExecutor(meterRegistry, "route-fetch-");
+    }
+
+    @Bean("routeSearchExecutorService")
+    ExecutorService routeSearchExecutorService(MeterRegistry meterRegistry) {
+        return virtualThreadExecutor(meterRegistry, "route-search-");
+    }
+
+    // A virtual thread per task starts at once, so executor.idle stays near zero and shows no saturation. The
+    // bound is the Hikari pool: hikaricp.connections.pending and hikaricp.connections.acquire show back-pressure.
+    private static ExecutorService virtualThreadExecutor(MeterRegistry meterRegistry, String prefix) {
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, prefix.substring(0, prefix.length() - 1));
     }
 }
@@ -0,0 +1,23 @@
+package com.enes.ttcase.config;
+
+import com.enes.ttcase.route.RouteRules;
+import com.enes.ttcase.transportation.TransportationType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+class RouteRulesConfig {
+
+    @Bean
+    RouteRules routeRules(@Value("${route.rules.max-legs:3}") int maxLegs,
+                          @Value("${route.rules.min-flights:1}") int minFlights,
+                          @Value("${route.rules.max-flights:3}") int maxFlights,
+                          @Value("${route.rules.max-legs-before-flight:3}") int maxLegsBeforeFlight,
+                          @Value("${route.rules.max-legs-after-flight:3}") int maxLegsAfterFlight,
+                          @Value("${route.rules.excluded-before-flight:}") Set<TransportationType> excludedBeforeFlight) {
+        return new RouteRules(maxLegs, minFlights, maxFlights, maxLegsBeforeFlight, maxLegsAfterFlight, excludedBeforeFlight);
+    }
+}
@@ -0,0 +1,33 @@
+package com.enes.ttcase.dataset;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * In-memory network with dense ids starting at 1; {@code airports} and {@code groundLocations} partition
+ * {@code locations}.
+ */
+public record GeneratedNetwork(
+        NetworkSpec spec,
+        List<LocationDto> locations,
+        List<LocationDto> airports,
+        List<LocationDto> groundLocations,
+        List<TransportationDto> transportations
+) {
+
+    /**
+     * @return two ground locations in different countries, so that a route between them needs a flight
+     */
+    public LocationDto[] searchPair(Random random) {
+        while (true) {
+            LocationDto origin = groundLocations.get(random.nextInt(groundLocations.size()));
+            LocationDto destination = groundLocations.get(random.nextInt(groundLocations.size()));
+            if (!origin.country().equals(destination.country())) {
+                return new LocationDto[]{origin, destination};
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.enes.ttcase.dataset;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads a generated network at startup, e.g.
+ * {@code java -jar app.jar --dataset.generate=true --dataset.seed=42 --dataset.exit=true}.
+ * Runs before the warm-up so it warms up the generated network.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "dataset.generate", havingValue = "true")
+class NetworkDatasetRunner implements ApplicationRunner {
+
+    private final NetworkLoader loader;
+    private final ConfigurableApplicationContext context;
+    private final NetworkSpec spec;
+    private final boolean exit;
+
+    NetworkDatasetRunner(NetworkLoader loader,
+                         ConfigurableApplicationContext context,
+                         @Value("${dataset.seed:42}") long seed,
+                         @Value("${dataset.countries:100}") int countries,
+                         @Value("${dataset.locations-per-country:50}") int locationsPerCountry,
+                         @Value("${dataset.airports-per-country:5}") int airportsPerCountry,
+                         @Value("${dataset.hub-fan-out:60}") int hubFanOut,
+                         @Value("${dataset.parallel-edges:2}") int parallelEdges,
+                         @Value("${dataset.exit:false}") boolean exit) {
+        this.loader = loader;
+        this.context = context;
+        this.spec = new NetworkSpec(seed, countries, locationsPerCountry, airportsPerCountry, hubFanOut, parallelEdges);
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        loader.load(NetworkGenerator.generate(spec));
+        if (exit) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
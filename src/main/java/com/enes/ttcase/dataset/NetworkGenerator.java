@@ -0,0 +1,192 @@
+package com.enes.ttcase.dataset;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.OperatingDays;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates airline-like networks from a {@link NetworkSpec}. Each country has a hub airport with
+ * {@code hubFanOut} outbound flights, mostly to other hubs, and regional airports that feed their own hub
+ * and a few foreign hubs. Every flight has a return flight. Ground locations connect to two airports and to
+ * a neighbour in their city, by bus, subway and Uber.
+ * <p>
+ * Flights and scheduled ground legs run on a mix of weekly patterns. Uber is unscheduled and runs daily.
+ * All randomness comes from one {@link Random} seeded by the spec, so a spec always yields the same network.
+ */
+public final class NetworkGenerator {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int LOCATIONS_PER_CITY = 10;
+    private static final String CONSONANTS = "bcdfghklmnprstvz";
+    private static final String VOWELS = "aeiou";
+    private static final String[] GROUND_NAMES = {"Central Station", "Bus Terminal", "Square", "Harbour", "Old Town",
+            "Stadium", "University", "Business District", "Market", "Park"};
+    private static final TransportationType[] GROUND_TYPES = {TransportationType.BUS, TransportationType.SUBWAY, TransportationType.UBER};
+
+    private static final OperatingDays DAILY = OperatingDays.of(Set.of(0, 1, 2, 3, 4, 5, 6));
+    private static final OperatingDays WEEKDAYS = OperatingDays.of(Set.of(0, 1, 2, 3, 4));
+    private static final OperatingDays WEEKENDS = OperatingDays.of(Set.of(5, 6));
+    private static final OperatingDays ALTERNATE_DAYS = OperatingDays.of(Set.of(0, 2, 4, 6));
+
+    private final NetworkSpec spec;
+    private final Random random;
+    private final List<LocationDto> locations = new ArrayList<>();
+    private final List<LocationDto> airports = new ArrayList<>();
+    private final List<LocationDto> groundLocations = new ArrayList<>();
+    private final List<TransportationDto> transportations = new ArrayList<>();
+
+    private NetworkGenerator(NetworkSpec spec) {
+        this.spec = spec;
+        this.random = new Random(spec.seed());
+    }
+
+    public static GeneratedNetwork generate(NetworkSpec spec) {
+        return new NetworkGenerator(spec).generate();
+    }
+
+    private GeneratedNetwork generate() {
+        List<List<LocationDto>> airportsByCountry = new ArrayList<>(spec.countries());
+        List<List<List<LocationDto>>> citiesByCountry = new ArrayList<>(spec.countries());
+        Set<String> countryNames = new HashSet<>();
+        for (int country = 0; country < spec.countries(); country++) {
+            String countryName = name(3);
+            while (!countryNames.add(countryName)) {
+                countryName = name(3);
+            }
+            List<LocationDto> countryAirports = new ArrayList<>(spec.airportsPerCountry());
+            List<List<LocationDto>> cities = new ArrayList<>();
+            for (int i = 0; i < spec.locationsPerCountry(); i++) {
+                if (i % LOCATIONS_PER_CITY == 0) {
+                    cities.add(new ArrayList<>());
+                }
+                List<LocationDto> city = cities.getLast();
+                String cityName = city.isEmpty() ? name(2 + random.nextInt(2)) : city.getFirst().city();
+                boolean airport = i < spec.airportsPerCountry();
+                String name = airport
+                        ? cityName + (i == 0 ? " International Airport" : " Airport")
+                        : cityName + " " + GROUND_NAMES[random.nextInt(GROUND_NAMES.length)];
+                LocationDto location = new LocationDto(locations.size() + 1, name, countryName, cityName,
+                        "G" + Integer.toString(locations.size(), 36).toUpperCase(Locale.ROOT), CREATED_AT, null);
+                locations.add(location);
+                city.add(location);
+                (airport ? countryAirports : groundLocations).add(location);
+            }
+            airports.addAll(countryAirports);
+            airportsByCountry.add(countryAirports);
+            citiesByCountry.add(cities);
+        }
+
+        for (int country = 0; country < spec.countries(); country++) {
+            List<LocationDto> countryAirports = airportsByCountry.get(country);
+            LocationDto hub = countryAirports.getFirst();
+            for (int i = 0; i < spec.hubFanOut(); i++) {
+                List<LocationDto> destinationAirports = airportsByCountry.get(otherCountry(country));
+                addFlights(hub, random.nextInt(10) < 7 ? destinationAirports.getFirst() : pick(destinationAirports));
+            }
+            for (LocationDto airport : countryAirports.subList(1, countryAirports.size())) {
+                addFlights(airport, hub);
+                for (int i = 0; i < Math.max(1, spec.hubFanOut() / 8); i++) {
+                    addFlights(airport, airportsByCountry.get(otherCountry(country)).getFirst());
+                }
+            }
+
+            for (List<LocationDto> city : citiesByCountry.get(country)) {
+                for (LocationDto location : city) {
+                    if (countryAirports.contains(location)) {
+                        continue;
+                    }
+                    addGround(location, hub);
+                    addGround(location, pick(countryAirports));
+                    LocationDto neighbour = pick(city);
+                    if (!neighbour.equals(location)) {
+                        addGround(location, neighbour);
+                    }
+                }
+            }
+        }
+
+        return new GeneratedNetwork(spec, List.copyOf(locations), List.copyOf(airports), List.copyOf(groundLocations),
+                List.copyOf(transportations));
+    }
+
+    private void addFlights(LocationDto origin, LocationDto destination) {
+        OperatingDays days = flightDays();
+        LocalTime departure = LocalTime.of(5 + random.nextInt(19), random.nextInt(12) * 5);
+        int minutes = 60 + random.nextInt(133) * 5;
+        add(origin, destination, TransportationType.FLIGHT, days, departure, departure.plusMinutes(minutes));
+        LocalTime returnDeparture = departure.plusMinutes(minutes + 60 + random.nextInt(24) * 5);
+        add(destination, origin, TransportationType.FLIGHT, days, returnDeparture, returnDeparture.plusMinutes(minutes));
+    }
+
+    private void addGround(LocationDto a, LocationDto b) {
+        int offset = random.nextInt(GROUND_TYPES.length);
+        for (int copy = 0; copy < spec.parallelEdges(); copy++) {
+            TransportationType type = GROUND_TYPES[(offset + copy) % GROUND_TYPES.length];
+            for (LocationDto[] direction : new LocationDto[][]{{a, b}, {b, a}}) {
+                if (type == TransportationType.UBER) {
+                    add(direction[0], direction[1], type, DAILY, null, null);
+                } else {
+                    LocalTime departure = LocalTime.of(5 + random.nextInt(18), random.nextInt(4) * 15);
+                    add(direction[0], direction[1], type, random.nextInt(10) < 8 ? DAILY : WEEKDAYS,
+                            departure, departure.plusMinutes(15 + random.nextInt(16) * 5));
+                }
+            }
+        }
+    }
+
+    private void add(LocationDto origin, LocationDto destination, TransportationType type, OperatingDays days,
+                     LocalTime departure, LocalTime arrival) {
+        transportations.add(new TransportationDto(transportations.size() + 1, origin, destination, type, days,
+                departure, arrival, CREATED_AT, null));
+    }
+
+    private OperatingDays flightDays() {
+        int pattern = random.nextInt(10);
+        if (pattern < 5) {
+            return DAILY;
+        }
+        if (pattern < 7) {
+            return WEEKDAYS;
+        }
+        if (pattern < 8) {
+            return WEEKENDS;
+        }
+        if (pattern < 9) {
+            return ALTERNATE_DAYS;
+        }
+        int mask = 0;
+        while (Integer.bitCount(mask) < 3) {
+            mask |= OperatingDays.bit(random.nextInt(7));
+        }
+        return OperatingDays.fromMask(mask);
+    }
+
+    private int otherCountry(int country) {
+        int other = random.nextInt(spec.countries() - 1);
+        return other < country ? other : other + 1;
+    }
+
+    private LocationDto pick(List<LocationDto> from) {
+        return from.get(random.nextInt(from.size()));
+    }
+
+    private String name(int syllables) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            name.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())));
+            name.append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+}
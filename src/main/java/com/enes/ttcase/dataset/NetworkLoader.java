@@ -0,0 +1,93 @@
+package com.enes.ttcase.dataset;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.ImportTarget;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Writes a {@link GeneratedNetwork} to PostgreSQL in one transaction with JDBC batches, so a dataset is
+ * either fully loaded or not at all. Generated ids are remapped to ids drawn from the location sequence.
+ */
+@Service
+class NetworkLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkLoader.class);
+
+    private static final String ALLOCATE_LOCATION_IDS = "SELECT nextval('location_id_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_LOCATION = """
+            INSERT INTO location (id, name, country, city, location_code)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_TRANSPORTATION = """
+            INSERT INTO transportation (origin_id, destination_id, transportation_type, operating_days, departure_time, arrival_time)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    NetworkLoader(JdbcTemplate jdbcTemplate,
+                  PlatformTransactionManager transactionManager,
+                  ApplicationEventPublisher eventPublisher,
+                  @Value("${import.chunk-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @throws IllegalStateException if a network with the same location codes is already loaded
+     */
+    void load(GeneratedNetwork network) {
+        List<LocationDto> locations = network.locations();
+        Boolean loaded = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM location WHERE location_code = ?)",
+                Boolean.class, locations.getFirst().locationCode());
+        if (Boolean.TRUE.equals(loaded)) {
+            throw new IllegalStateException("A generated network is already loaded; location code "
+                    + locations.getFirst().locationCode() + " exists");
+        }
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_LOCATION_IDS, Long.class, locations.size());
+            jdbcTemplate.batchUpdate(INSERT_LOCATION, locations, batchSize, (ps, location) -> {
+                ps.setLong(1, ids.get((int) location.id() - 1));
+                ps.setString(2, location.name());
+                ps.setString(3, location.country());
+                ps.setString(4, location.city());
+                ps.setString(5, location.locationCode());
+            });
+            jdbcTemplate.batchUpdate(INSERT_TRANSPORTATION, network.transportations(), batchSize, (ps, transportation) -> {
+                ps.setLong(1, ids.get((int) transportation.origin().id() - 1));
+                ps.setLong(2, ids.get((int) transportation.destination().id() - 1));
+                ps.setInt(3, transportation.transportationType().ordinal());
+                ps.setInt(4, transportation.operatingDayMask());
+                ps.setObject(5, transportation.departureTime(), Types.TIME);
+                ps.setObject(6, transportation.arrivalTime(), Types.TIME);
+            });
+        });
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Loaded network {} with {} locations and {} transportations in {} ms",
+                network.spec(), locations.size(), network.transportations().size(), millis);
+        eventPublisher.publishEvent(new ImportCompletedEvent(ImportTarget.LOCATIONS, locations.size()));
+        eventPublisher.publishEvent(new ImportCompletedEvent(ImportTarget.TRANSPORTATIONS, network.transportations().size()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.enes.ttcase.dataset;
+
+/**
+ * Shape of a generated network. The same spec always yields the same network.
+ *
+ * @param hubFanOut     flights out of each country's hub airport; other airports get an eighth of it
+ * @param parallelEdges ground transportations per connected location pair and direction, of mixed types
+ */
+public record NetworkSpec(
+        long seed,
+        int countries,
+        int locationsPerCountry,
+        int airportsPerCountry,
+        int hubFanOut,
+        int parallelEdges
+) {
+
+    public NetworkSpec {
+        if (countries < 2) {
+            throw new IllegalArgumentException("A network needs at least 2 countries");
+        }
+        if (airportsPerCountry < 1 || airportsPerCountry >= locationsPerCountry) {
+            throw new IllegalArgumentException("Airports per country must be between 1 and the locations per country");
+        }
+        if (hubFanOut < 1 || parallelEdges < 1) {
+            throw new IllegalArgumentException("Hub fan-out and parallel edges must be positive");
+        }
+    }
+
+    /**
+     * @return a network of roughly {@code locations} locations in countries of 50, five airports each
+     */
+    public static NetworkSpec ofSize(long seed, int locations, int hubFanOut, int parallelEdges) {
+        return new NetworkSpec(seed, Math.max(2, locations / 50), 50, 5, hubFanOut, parallelEdges);
+    }
+}
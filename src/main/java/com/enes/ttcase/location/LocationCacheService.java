@@ -1,34 +1,132 @@
 package com.enes.ttcase.location;
 
+import com.enes.ttcase.cache.TwoLevelCache;
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.ImportTarget;
+import com.enes.ttcase.common.WarmupTask;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-class LocationCacheService {
+class LocationCacheService implements WarmupTask {
 
     private static final Logger log = LoggerFactory.getLogger(LocationCacheService.class);
 
+    private static final String CACHE_NAME = "locations";
+
     private final LocationRepository repository;
     private final LocationMapper mapper;
+    private final CacheManager cacheManager;
 
     LocationCacheService(LocationRepository repository,
-                         LocationMapper mapper) {
+                         LocationMapper mapper,
+                         CacheManager cacheManager) {
         this.repository = repository;
         this.mapper = mapper;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Resolves codes with one multi-key cache read, one {@code IN} query for the misses and one pipelined
+     * cache write for the loaded locations. Unknown codes are absent from the result.
+     */
+    public Map<String, LocationDto> getLocationsByCodes(Collection<String> locationCodes) {
+        Set<String> codes = new LinkedHashSet<>(locationCodes);
+        Map<String, LocationDto> locations = new HashMap<>();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.getAll(codes).forEach((code, location) -> locations.put(code, (LocationDto) location));
+        } else if (cache != null) {
+            for (String code : codes) {
+                LocationDto location = cache.get(code, LocationDto.class);
+                if (location != null) {
+                    locations.put(code, location);
+                }
+            }
+        }
+
+        Set<String> missing = codes.stream()
+                .filter(code -> !locations.containsKey(code))
+                .collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return locations;
+        }
+
+        Map<String, LocationDto> loaded = repository.findByLocationCodeIn(missing)
+                .stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toMap(LocationDto::locationCode, Function.identity()));
+        put(cache, loaded);
+        locations.putAll(loaded);
+        return locations;
+    }
+
+    @Override
+    public String name() {
+        return "locations-cache";
+    }
+
+    /**
+     * Loads every location with one query and writes them to both cache tiers in one pipelined write.
+     */
+    @Override
+    public void warmUp() {
+        Map<String, LocationDto> locations = repository.findAll()
+                .stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toMap(LocationDto::locationCode, Function.identity()));
+        put(cacheManager.getCache(CACHE_NAME), locations);
+        log.info("Warmed up {} locations", locations.size());
+    }
+
+    /**
+     * Evicts both the previous and the current code, so renaming a code does not leave the old one cached.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(LocationChangedEvent event) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        if (event.previous() != null) {
+            cache.evict(event.previous().locationCode());
+        }
+        if (event.current() != null) {
+            cache.evict(event.current().locationCode());
+        }
     }
 
-    @Nullable
-    @Cacheable(value = "locations", key = "#locationCode", unless = "#result == null")
-    public LocationDto getLocationByCode(String locationCode) {
-        return mapper.toDto(repository.findByLocationCode(locationCode));
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImportCompleted(ImportCompletedEvent event) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (event.target() == ImportTarget.LOCATIONS && cache != null) {
+            cache.clear();
+        }
     }
 
-    @CacheEvict(value = "locations", key = "#locationCode")
-    public void evictLocation(String locationCode) {
-        log.info("Evicted location with code: {}", locationCode);
+    private static void put(@Nullable Cache cache, Map<String, LocationDto> locations) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.putAll(locations);
+        } else if (cache != null) {
+            locations.forEach(cache::put);
+        }
     }
 }
@@ -0,0 +1,9 @@
+package com.enes.ttcase.location;
+
+import org.jspecify.annotations.Nullable;
+
+public record LocationChangedEvent(
+        @Nullable LocationDto previous,
+        @Nullable LocationDto current
+) {
+}
@@ -1,8 +1,16 @@
 package com.enes.ttcase.location;
 
+import com.enes.ttcase.common.CursorPage;
+import com.enes.ttcase.common.ImportFormat;
+import com.enes.ttcase.common.ImportResult;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,18 +19,29 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping(value = "/api/v1/locations")
 class LocationController {
 
     private final LocationService locationService;
+    private final LocationImportService locationImportService;
+    private final LocationSearchService locationSearchService;
 
-    LocationController(LocationService locationService) {
+    LocationController(LocationService locationService,
+                       LocationImportService locationImportService,
+                       LocationSearchService locationSearchService) {
         this.locationService = locationService;
+        this.locationImportService = locationImportService;
+        this.locationSearchService = locationSearchService;
     }
 
     @PostMapping
@@ -30,11 +49,28 @@ class LocationController {
         return new ResponseEntity<>(locationService.createLocation(request), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ImportResult importLocations(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        return locationImportService.importLocations(body, ImportFormat.of(contentType));
+    }
+
     @GetMapping
     public Page<LocationDto> findAll(Pageable pageable) {
         return locationService.getAllLocations(pageable);
     }
 
+    @GetMapping("/scroll")
+    public CursorPage<LocationDto> scrollLocations(@RequestParam(required = false) @Nullable String cursor,
+                                                   @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return locationService.scrollLocations(cursor, size);
+    }
+
+    @GetMapping("/search")
+    public List<LocationDto> searchLocations(@RequestParam @NotBlank String query,
+                                             @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+        return locationSearchService.search(query, limit);
+    }
+
     @GetMapping("/{id}")
     public LocationDto getLocationById(@PathVariable long id) {
         return locationService.getById(id);
@@ -56,4 +92,10 @@ class LocationController {
         return locationService.getAllLocationCodes(pageable);
     }
 
+    @GetMapping("/codes/scroll")
+    public CursorPage<String> scrollLocationCodes(@RequestParam(required = false) @Nullable String cursor,
+                                                  @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return locationService.scrollLocationCodes(cursor, size);
+    }
+
 }
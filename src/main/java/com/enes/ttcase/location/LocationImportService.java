@@ -0,0 +1,157 @@
+package com.enes.ttcase.location;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.ImportFormat;
+import com.enes.ttcase.common.ImportReader;
+import com.enes.ttcase.common.ImportRecord;
+import com.enes.ttcase.common.ImportReport;
+import com.enes.ttcase.common.ImportResult;
+import com.enes.ttcase.common.ImportTarget;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk location import through JDBC batches, one transaction per chunk. Codes that already exist, in the
+ * table or earlier in the same upload, are rejected per row, and a chunk the database refuses is split until the
+ * failing rows are isolated.
+ */
+@Service
+class LocationImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationImportService.class);
+
+    private static final String INSERT_LOCATION = """
+            INSERT INTO location (name, country, city, location_code)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (location_code) DO NOTHING
+            """;
+
+    private final LocationRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    LocationImportService(LocationRepository repository,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          JsonMapper jsonMapper,
+                          Validator validator,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${import.chunk-size:1000}") int chunkSize,
+                          @Value("${import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportResult importLocations(InputStream input, ImportFormat format) {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        Set<String> seenCodes = new HashSet<>();
+        try (ImportReader<LocationSaveRequest> reader = ImportReader.open(input,
+                format,
+                LocationSaveRequest.class,
+                LocationImportService::fromCsv,
+                jsonMapper,
+                validator,
+                report)) {
+            for (List<ImportRecord<LocationSaveRequest>> chunk = reader.nextChunk(chunkSize);
+                 !chunk.isEmpty();
+                 chunk = reader.nextChunk(chunkSize)) {
+                importChunk(chunk, seenCodes, report);
+            }
+        }
+
+        ImportResult result = report.finish();
+        log.info("Imported {} of {} locations in {} ms ({} rows/s)",
+                result.imported(), result.received(), result.durationMillis(), Math.round(result.rowsPerSecond()));
+        if (result.imported() > 0) {
+            eventPublisher.publishEvent(new ImportCompletedEvent(ImportTarget.LOCATIONS, result.imported()));
+        }
+        return result;
+    }
+
+    private void importChunk(List<ImportRecord<LocationSaveRequest>> chunk, Set<String> seenCodes, ImportReport report) {
+        Set<String> existingCodes = new HashSet<>();
+        repository.findByLocationCodeIn(chunk.stream().map(r -> r.value().locationCode()).toList())
+                .forEach(location -> existingCodes.add(location.getLocationCode()));
+
+        List<ImportRecord<LocationSaveRequest>> accepted = new ArrayList<>(chunk.size());
+        for (ImportRecord<LocationSaveRequest> record : chunk) {
+            String locationCode = record.value().locationCode();
+            if (existingCodes.contains(locationCode) || !seenCodes.add(locationCode)) {
+                report.reject(record.row(), "Location with code " + locationCode + " already exists");
+            } else {
+                accepted.add(record);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        insertOrSplit(accepted, report);
+    }
+
+    /**
+     * Inserts the records in one transaction. When the database refuses the batch, each half is retried on its
+     * own, down to single records, so only the offending rows are rejected and the rest of the chunk is still
+     * imported.
+     */
+    private void insertOrSplit(List<ImportRecord<LocationSaveRequest>> records, ImportReport report) {
+        try {
+            int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_LOCATION, records, records.size(), (ps, record) -> {
+                LocationSaveRequest location = record.value();
+                ps.setString(1, location.name());
+                ps.setString(2, location.country());
+                ps.setString(3, location.city());
+                ps.setString(4, location.locationCode());
+            })[0]);
+            for (int i = 0; i < records.size(); i++) {
+                if (counts[i] == 0) {
+                    report.reject(records.get(i).row(), "Location with code " + records.get(i).value().locationCode() + " already exists");
+                } else {
+                    report.imported(1);
+                }
+            }
+        } catch (DataAccessException e) {
+            if (records.size() == 1) {
+                report.reject(records.getFirst().row(), e.getMostSpecificCause().getMessage());
+                return;
+            }
+            int middle = records.size() / 2;
+            insertOrSplit(records.subList(0, middle), report);
+            insertOrSplit(records.subList(middle, records.size()), report);
+        }
+    }
+
+    private static LocationSaveRequest fromCsv(Map<String, String> fields) {
+        return new LocationSaveRequest(fields.get("name"),
+                fields.get("country"),
+                fields.get("city"),
+                fields.get("locationCode"));
+    }
+}
@@ -1,10 +1,43 @@
 package com.enes.ttcase.location;
 
 import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 interface LocationRepository extends JpaRepository<Location, Long> {
 
     @Nullable
     Location findByLocationCode(String locationCode);
+
+    List<Location> findByLocationCodeIn(Collection<String> locationCodes);
+
+    @Query(value = "SELECT l.locationCode FROM Location l", countQuery = "SELECT COUNT(l) FROM Location l")
+    Page<String> findAllLocationCodes(Pageable pageable);
+
+    /**
+     * Seeks on {@code idx_location_name_id}; the first page starts after {@code ('', 0)}.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT *
+            FROM location
+            WHERE (name, id) > (:name, :id)
+            ORDER BY name, id
+            LIMIT :limit
+            """)
+    List<Location> findPageAfter(@Param("name") String name, @Param("id") long id, @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = """
+            SELECT location_code
+            FROM location
+            WHERE location_code > :locationCode
+            ORDER BY location_code
+            LIMIT :limit
+            """)
+    List<String> findLocationCodesAfter(@Param("locationCode") String locationCode, @Param("limit") int limit);
 }
@@ -0,0 +1,342 @@
+package com.enes.ttcase.location;
+
+import org.jspecify.annotations.Nullable;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable typeahead index. Every word of a location's code, name and city is a term; distinct terms are
+ * kept sorted with their postings in one flat array, like a CSR adjacency list, so a prefix query is two
+ * binary searches plus a scan of the matching slice.
+ * <p>
+ * A location matches when every query token is a prefix of one of its terms. Lower scores rank first:
+ * code matches beat the first word of the name, which beats later words and then the city, and an exact
+ * term beats a longer one. Ties go to the shorter name. Postings of a term are stored in that order, so
+ * once the top {@code N} is full the rest of a term's postings can be skipped.
+ */
+final class LocationSearchIndex {
+
+    private static final byte CODE = 0;
+    private static final byte FIRST_NAME_WORD = 1;
+    private static final byte NAME_WORD = 2;
+    private static final byte CITY_WORD = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final String[] terms;
+    private final int[] termOffsets;
+    private final LocationDto[] owners;
+    private final byte[] ranks;
+    private final int locationCount;
+
+    private LocationSearchIndex(String[] terms, int[] termOffsets, LocationDto[] owners, byte[] ranks, int locationCount) {
+        this.terms = terms;
+        this.termOffsets = termOffsets;
+        this.owners = owners;
+        this.ranks = ranks;
+        this.locationCount = locationCount;
+    }
+
+    static LocationSearchIndex build(Collection<LocationDto> locations) {
+        List<Entry> entries = new ArrayList<>(locations.size() * 5);
+        for (LocationDto location : locations) {
+            addEntries(location, entries);
+        }
+        entries.sort(null);
+
+        Builder builder = new Builder(entries.size());
+        for (Entry entry : entries) {
+            builder.add(entry.term(), entry.owner(), entry.rank());
+        }
+        return builder.build(locations.size());
+    }
+
+    int locationCount() {
+        return locationCount;
+    }
+
+    int termCount() {
+        return terms.length;
+    }
+
+    int postingCount() {
+        return owners.length;
+    }
+
+    /**
+     * @return a copy without the postings of {@code previous} and with those of {@code current}
+     */
+    LocationSearchIndex withLocation(@Nullable LocationDto previous, @Nullable LocationDto current) {
+        List<Entry> added = new ArrayList<>();
+        if (current != null) {
+            addEntries(current, added);
+        }
+        added.sort(null);
+
+        Builder builder = new Builder(owners.length + added.size());
+        Set<Long> removed = new HashSet<>();
+        int next = 0;
+        for (int term = 0; term < terms.length; term++) {
+            while (next < added.size() && added.get(next).term().compareTo(terms[term]) < 0) {
+                Entry entry = added.get(next++);
+                builder.add(entry.term(), entry.owner(), entry.rank());
+            }
+            for (int i = termOffsets[term]; i < termOffsets[term + 1]; i++) {
+                long owner = owners[i].id();
+                if ((previous != null && owner == previous.id()) || (current != null && owner == current.id())) {
+                    removed.add(owner);
+                    continue;
+                }
+                while (next < added.size()
+                        && added.get(next).term().equals(terms[term])
+                        && comparePostings(added.get(next).rank(), added.get(next).owner(), ranks[i], owners[i]) < 0) {
+                    Entry entry = added.get(next++);
+                    builder.add(entry.term(), entry.owner(), entry.rank());
+                }
+                builder.add(terms[term], owners[i], ranks[i]);
+            }
+        }
+        for (Entry entry : added.subList(next, added.size())) {
+            builder.add(entry.term(), entry.owner(), entry.rank());
+        }
+        return builder.build(locationCount - removed.size() + (current == null ? 0 : 1));
+    }
+
+    List<LocationDto> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        String narrowest = null;
+        int from = 0;
+        int to = 0;
+        for (String token : tokens) {
+            int start = lowerBound(token);
+            int end = lowerBound(token + Character.MAX_VALUE);
+            if (narrowest == null || termOffsets[end] - termOffsets[start] < termOffsets[to] - termOffsets[from]) {
+                narrowest = token;
+                from = start;
+                to = end;
+            }
+        }
+
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, (a, b) -> compareCandidates(b, a));
+        for (int term = from; term < to; term++) {
+            boolean exact = terms[term].length() == narrowest.length();
+            for (int i = termOffsets[term]; i < termOffsets[term + 1]; i++) {
+                int score = score(ranks[i], exact);
+                if (top.size() == limit && score > top.peek().score()) {
+                    break;
+                }
+                if (tokens.size() > 1) {
+                    score = score(owners[i], tokens, narrowest, score);
+                    if (score < 0) {
+                        continue;
+                    }
+                }
+
+                Candidate candidate = new Candidate(owners[i], score);
+                if (top.size() == limit && compareCandidates(candidate, top.peek()) >= 0) {
+                    if (tokens.size() > 1) {
+                        continue;
+                    }
+                    break;
+                }
+                Candidate existing = find(top, owners[i].id());
+                if (existing != null) {
+                    if (compareCandidates(candidate, existing) >= 0) {
+                        continue;
+                    }
+                    top.remove(existing);
+                }
+                top.add(candidate);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(LocationSearchIndex::compareCandidates);
+        return ranked.stream().map(Candidate::location).toList();
+    }
+
+    static List<String> tokenize(String text) {
+        String folded = isAscii(text) ? text : MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(folded.substring(start, i).toLowerCase(Locale.ROOT).replace('ı', 'i'));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // A location whose weaker posting was evicted can only come back with a better score, so checking the
+    // few kept candidates is enough to never return it twice.
+    private static @Nullable Candidate find(PriorityQueue<Candidate> top, long id) {
+        for (Candidate candidate : top) {
+            if (candidate.location().id() == id) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the summed score of all tokens, or {@code -1} if one of them matches no term of the location
+     */
+    private static int score(LocationDto location, List<String> tokens, String scored, int scoredScore) {
+        List<Entry> entries = new ArrayList<>();
+        addEntries(location, entries);
+        int total = scoredScore;
+        boolean skipped = false;
+        for (String token : tokens) {
+            if (!skipped && token.equals(scored)) {
+                skipped = true;
+                continue;
+            }
+            int best = -1;
+            for (Entry entry : entries) {
+                if (entry.term().startsWith(token)) {
+                    int score = score(entry.rank(), entry.term().length() == token.length());
+                    best = best < 0 ? score : Math.min(best, score);
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static int score(byte rank, boolean exact) {
+        return rank * 2 + (exact ? 0 : 1);
+    }
+
+    private static void addEntries(LocationDto location, List<Entry> entries) {
+        for (String term : tokenize(location.locationCode())) {
+            entries.add(new Entry(term, location, CODE));
+        }
+        List<String> nameWords = tokenize(location.name());
+        for (int i = 0; i < nameWords.size(); i++) {
+            entries.add(new Entry(nameWords.get(i), location, i == 0 ? FIRST_NAME_WORD : NAME_WORD));
+        }
+        for (String term : tokenize(location.city())) {
+            entries.add(new Entry(term, location, CITY_WORD));
+        }
+    }
+
+    private static int compareCandidates(Candidate a, Candidate b) {
+        int compared = Integer.compare(a.score(), b.score());
+        return compared != 0 ? compared : compareLocations(a.location(), b.location());
+    }
+
+    private static int comparePostings(byte rankA, LocationDto a, byte rankB, LocationDto b) {
+        int compared = Byte.compare(rankA, rankB);
+        return compared != 0 ? compared : compareLocations(a, b);
+    }
+
+    private static int compareLocations(LocationDto a, LocationDto b) {
+        int compared = Integer.compare(a.name().length(), b.name().length());
+        if (compared == 0) {
+            compared = a.name().compareTo(b.name());
+        }
+        if (compared == 0) {
+            compared = a.locationCode().compareTo(b.locationCode());
+        }
+        return compared != 0 ? compared : Long.compare(a.id(), b.id());
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entry(String term, LocationDto owner, byte rank) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int compared = term.compareTo(other.term);
+            return compared != 0 ? compared : comparePostings(rank, owner, other.rank, other.owner);
+        }
+    }
+
+    private record Candidate(LocationDto location, int score) {
+    }
+
+    /**
+     * Appends postings in index order; a posting whose term equals the previous one joins its slice.
+     */
+    private static final class Builder {
+
+        private final List<String> terms = new ArrayList<>();
+        private int[] termOffsets;
+        private final LocationDto[] owners;
+        private final byte[] ranks;
+        private int size;
+
+        Builder(int capacity) {
+            this.termOffsets = new int[16];
+            this.owners = new LocationDto[capacity];
+            this.ranks = new byte[capacity];
+        }
+
+        void add(String term, LocationDto owner, byte rank) {
+            if (terms.isEmpty() || !terms.getLast().equals(term)) {
+                if (terms.size() + 1 >= termOffsets.length) {
+                    termOffsets = Arrays.copyOf(termOffsets, termOffsets.length * 2);
+                }
+                termOffsets[terms.size()] = size;
+                terms.add(term);
+            }
+            owners[size] = owner;
+            ranks[size] = rank;
+            size++;
+        }
+
+        LocationSearchIndex build(int locationCount) {
+            int[] offsets = Arrays.copyOf(termOffsets, terms.size() + 1);
+            offsets[terms.size()] = size;
+            return new LocationSearchIndex(terms.toArray(String[]::new),
+                    offsets,
+                    Arrays.copyOf(owners, size),
+                    Arrays.copyOf(ranks, size),
+                    locationCount);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.enes.ttcase.location;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.ImportTarget;
+import com.enes.ttcase.common.WarmupTask;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Service
+class LocationSearchService implements WarmupTask {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationSearchService.class);
+
+    private final LocationService locationService;
+
+    private volatile @Nullable LocationSearchIndex index;
+
+    LocationSearchService(LocationService locationService) {
+        this.locationService = locationService;
+    }
+
+    public List<LocationDto> search(String query, int limit) {
+        return current().search(query, limit);
+    }
+
+    LocationSearchIndex current() {
+        LocationSearchIndex current = index;
+        return current != null ? current : refresh();
+    }
+
+    @Override
+    public String name() {
+        return "location-search";
+    }
+
+    @Override
+    public void warmUp() {
+        current();
+    }
+
+    /**
+     * Builds the index unless the warm-up already did.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        current();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLocationChanged(LocationChangedEvent event) {
+        LocationSearchIndex current = index;
+        if (current == null) {
+            refresh();
+            return;
+        }
+        index = current.withLocation(event.previous(), event.current());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImportCompleted(ImportCompletedEvent event) {
+        if (event.target() == ImportTarget.LOCATIONS) {
+            refresh();
+        }
+    }
+
+    synchronized LocationSearchIndex refresh() {
+        long start = System.nanoTime();
+        LocationSearchIndex refreshed = LocationSearchIndex.build(locationService.getAllLocations());
+        index = refreshed;
+        log.info("Location search index loaded with {} locations and {} terms in {} ms",
+                refreshed.locationCount(),
+                refreshed.termCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        return refreshed;
+    }
+}
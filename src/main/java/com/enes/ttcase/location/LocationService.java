@@ -1,27 +1,37 @@
 package com.enes.ttcase.location;
 
+import com.enes.ttcase.common.CursorPage;
+import com.enes.ttcase.common.Cursors;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.jspecify.annotations.Nullable;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class LocationService {
 
     private final LocationCacheService locationCacheService;
     private final LocationRepository repository;
     private final LocationMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     LocationService(LocationCacheService locationCacheService,
                     LocationRepository repository,
-                    LocationMapper mapper) {
+                    LocationMapper mapper,
+                    ApplicationEventPublisher eventPublisher) {
         this.locationCacheService = locationCacheService;
         this.repository = repository;
         this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
     }
 
     public Page<LocationDto> getAllLocations(Pageable pageable) {
@@ -29,9 +39,39 @@ public class LocationService {
                 .map(mapper::toDto);
     }
 
+    public List<LocationDto> getAllLocations() {
+        return repository.findAll()
+                .stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Locations with the given ids; ids of deleted locations are absent from the result.
+     */
+    public List<LocationDto> getLocationsByIds(Collection<Long> ids) {
+        return repository.findAllById(ids)
+                .stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+
     public Page<String> getAllLocationCodes(Pageable pageable) {
-        return repository.findAll(pageable)
-                .map(Location::getLocationCode);
+        return repository.findAllLocationCodes(pageable);
+    }
+
+    public CursorPage<LocationDto> scrollLocations(@Nullable String cursor, int size) {
+        List<String> after = Cursors.decode(cursor, 2);
+        List<Location> rows = after == null
+                ? repository.findPageAfter("", 0, size + 1)
+                : repository.findPageAfter(after.get(0), Cursors.longKey(after.get(1)), size + 1);
+        return CursorPage.of(rows, size, mapper::toDto, location -> Cursors.encode(location.getName(), location.getId()));
+    }
+
+    public CursorPage<String> scrollLocationCodes(@Nullable String cursor, int size) {
+        List<String> after = Cursors.decode(cursor, 1);
+        List<String> rows = repository.findLocationCodesAfter(after == null ? "" : after.getFirst(), size + 1);
+        return CursorPage.of(rows, size, code -> code, Cursors::encode);
     }
 
     @Nullable
@@ -45,38 +85,54 @@ public class LocationService {
         location.setCity(request.city());
         location.setCountry(request.country());
         location.setLocationCode(request.locationCode());
-        return mapper.toDto(repository.save(location));
+        LocationDto created = mapper.toDto(repository.save(location));
+        eventPublisher.publishEvent(new LocationChangedEvent(null, created));
+        return created;
     }
 
     @Transactional
-    @CacheEvict(value = "locations", key = "#result.locationCode()")
     public @Nullable LocationDto updateLocation(long id, @Valid LocationSaveRequest request) {
         Location location = repository.findById(id).orElseThrow(EntityNotFoundException::new);
+        LocationDto previous = mapper.toDto(location);
         location.setName(request.name());
         location.setCity(request.city());
         location.setCountry(request.country());
         location.setLocationCode(request.locationCode());
-        return mapper.toDto(repository.save(location));
+        LocationDto updated = mapper.toDto(repository.save(location));
+        eventPublisher.publishEvent(new LocationChangedEvent(previous, updated));
+        return updated;
     }
 
     public void deleteLocation(long id) {
         Location location = repository.findById(id).orElseThrow(EntityNotFoundException::new);
-        locationCacheService.evictLocation(location.getLocationCode());
         repository.deleteById(id);
+        eventPublisher.publishEvent(new LocationChangedEvent(mapper.toDto(location), null));
     }
 
     @Nullable
     public LocationDto getByLocationCode(String locationCode) {
-        return locationCacheService.getLocationByCode(locationCode);
+        return locationCacheService.getLocationsByCodes(List.of(locationCode)).get(locationCode);
+    }
+
+    public Map<String, LocationDto> getByLocationCodes(Collection<String> locationCodes) {
+        return locationCacheService.getLocationsByCodes(locationCodes);
     }
 
-    @Nullable
     public Location getReferenceByLocationCode(String locationCode) {
-        LocationDto location = locationCacheService.getLocationByCode(locationCode);
-        if (location == null) {
-            throw new EntityNotFoundException("Location with code " + locationCode + " not found");
+        return getReferencesByLocationCodes(List.of(locationCode)).get(locationCode);
+    }
+
+    public Map<String, Location> getReferencesByLocationCodes(Collection<String> locationCodes) {
+        Map<String, LocationDto> locations = locationCacheService.getLocationsByCodes(locationCodes);
+        Map<String, Location> references = new HashMap<>();
+        for (String locationCode : locationCodes) {
+            LocationDto location = locations.get(locationCode);
+            if (location == null) {
+                throw new EntityNotFoundException("Location with code " + locationCode + " not found");
+            }
+            references.put(locationCode, repository.getReferenceById(location.id()));
         }
-        return repository.getReferenceById(location.id());
+        return references;
     }
 
 }
@@ -0,0 +1,13 @@
+package com.enes.ttcase.route;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchSearchRouteRequest(
+        @NotEmpty @Size(max = 100) List<@Valid @NotNull SearchRouteRequest> searches
+) {
+}
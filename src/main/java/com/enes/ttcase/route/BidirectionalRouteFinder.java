@@ -0,0 +1,185 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the same routes as {@link DefaultRouteFinder} without walking paths. A route has at most three legs,
+ * so its first leg leaves the origin and its last leg enters the destination: one pass over the candidates
+ * buckets the legs out of the origin by where they arrive and the legs into the destination by where they
+ * leave. Two-leg routes join both buckets on the same location, and three-leg routes join them through every
+ * middle leg whose ends have a bucket on each side. The work grows with the two frontiers and the routes
+ * returned rather than with the paths explored.
+ * <p>
+ * Intermediate stops must differ from each other and from the destination. When the {@link RouteRules}
+ * require a flight, a pair of buckets without one is skipped for a ground middle leg, and every joined route
+ * is checked against the rules leg by leg. Costs are checked per prefix, as the depth-first search does,
+ * which keeps ranked searches pruning the same way.
+ */
+@Component
+@ConditionalOnProperty(name = "route.finder", havingValue = "bidirectional")
+class BidirectionalRouteFinder implements RouteFinder {
+
+    @Override
+    public void findRoutes(RouteFindContext context, RouteSink sink) {
+        if (context.transportations().isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Frontiers frontiers = Frontiers.build(context);
+        long built = System.nanoTime();
+        int expanded = frontiers.size();
+        if (!context.origin().equals(context.destination())) {
+            expanded += join(context, frontiers, sink);
+        }
+        sink.completed(new RouteSearchStatistics(built - start, System.nanoTime() - built, expanded));
+    }
+
+    /**
+     * @return the number of middle legs joined
+     */
+    private int join(RouteFindContext context, Frontiers frontiers, RouteSink sink) {
+        CompiledRouteRules rules = context.rules().compile();
+        int joined = 0;
+        for (TransportationDto direct : frontiers.direct) {
+            int state = rules.extend(rules.start(), direct.transportationType());
+            if (state != CompiledRouteRules.REJECTED && rules.isComplete(state) && sink.canAccept(sink.cost(direct))
+                    && !sink.accept(new Route(List.of(direct)))) {
+                return joined;
+            }
+        }
+        if (rules.maxLegs() < 2) {
+            return joined;
+        }
+
+        for (Map.Entry<LocationDto, Bucket> entry : frontiers.forward.entrySet()) {
+            Bucket first = entry.getValue();
+            Bucket last = frontiers.backward.get(entry.getKey());
+            if (last != null && (!rules.requiresFlight() || first.hasFlight() || last.hasFlight())
+                    && !emit(first, null, last, rules, sink)) {
+                return joined;
+            }
+        }
+        if (rules.maxLegs() < 3) {
+            return joined;
+        }
+
+        for (TransportationDto middle : context.transportations()) {
+            if (middle.origin().equals(middle.destination())) {
+                continue;
+            }
+            Bucket first = frontiers.forward.get(middle.origin());
+            Bucket last = first == null ? null : frontiers.backward.get(middle.destination());
+            if (last == null || (rules.requiresFlight() && !isFlight(middle) && !first.hasFlight() && !last.hasFlight())) {
+                continue;
+            }
+            joined++;
+            if (!emit(first, middle, last, rules, sink)) {
+                return joined;
+            }
+        }
+        return joined;
+    }
+
+    /**
+     * @return {@code false} once the sink asked to stop
+     */
+    private boolean emit(Bucket first, @Nullable TransportationDto middle, Bucket last, CompiledRouteRules rules, RouteSink sink) {
+        int middleCost = middle == null ? 0 : sink.cost(middle);
+        for (TransportationDto head : first.legs) {
+            int headState = rules.extend(rules.start(), head.transportationType());
+            int state = middle == null || headState == CompiledRouteRules.REJECTED
+                    ? headState
+                    : rules.extend(headState, middle.transportationType());
+            int headCost = sink.cost(head);
+            if (state == CompiledRouteRules.REJECTED || !sink.canAccept(headCost)
+                    || (middle != null && !sink.canAccept(headCost + middleCost))) {
+                continue;
+            }
+            for (TransportationDto tail : last.legs) {
+                int tailState = rules.extend(state, tail.transportationType());
+                if (tailState == CompiledRouteRules.REJECTED || !rules.isComplete(tailState)
+                        || !sink.canAccept(headCost + middleCost + sink.cost(tail))) {
+                    continue;
+                }
+                Route route = new Route(middle == null ? List.of(head, tail) : List.of(head, middle, tail));
+                if (!sink.accept(route)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFlight(TransportationDto transportation) {
+        return transportation.transportationType() == TransportationType.FLIGHT;
+    }
+
+    /**
+     * Legs out of the origin keyed by the location they reach, legs into the destination keyed by the location
+     * they leave, and the direct legs between the two. Neither side is keyed by the destination, since a route
+     * ends as soon as it reaches it.
+     */
+    private record Frontiers(List<TransportationDto> direct, Map<LocationDto, Bucket> forward,
+                             Map<LocationDto, Bucket> backward) {
+
+        static Frontiers build(RouteFindContext context) {
+            LocationDto origin = context.origin();
+            LocationDto destination = context.destination();
+            Frontiers frontiers = new Frontiers(new ArrayList<>(), new HashMap<>(), new HashMap<>());
+            for (TransportationDto transportation : context.transportations()) {
+                LocationDto from = transportation.origin();
+                LocationDto to = transportation.destination();
+                if (from.equals(origin)) {
+                    if (to.equals(destination)) {
+                        frontiers.direct.add(transportation);
+                    } else {
+                        frontiers.forward.computeIfAbsent(to, location -> new Bucket()).add(transportation);
+                    }
+                }
+                if (to.equals(destination) && !from.equals(destination)) {
+                    frontiers.backward.computeIfAbsent(from, location -> new Bucket()).add(transportation);
+                }
+            }
+            return frontiers;
+        }
+
+        int size() {
+            int size = direct.size();
+            for (Bucket bucket : forward.values()) {
+                size += bucket.legs.size();
+            }
+            for (Bucket bucket : backward.values()) {
+                size += bucket.legs.size();
+            }
+            return size;
+        }
+    }
+
+    private static final class Bucket {
+
+        private final List<TransportationDto> legs = new ArrayList<>(2);
+        private int flights;
+
+        void add(TransportationDto leg) {
+            legs.add(leg);
+            if (isFlight(leg)) {
+                flights++;
+            }
+        }
+
+        boolean hasFlight() {
+            return flights > 0;
+        }
+    }
+}
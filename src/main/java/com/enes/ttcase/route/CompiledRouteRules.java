@@ -0,0 +1,93 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.transportation.TransportationType;
+
+/**
+ * {@link RouteRules} turned into integer arithmetic for the search loop. A partial route is summarised by
+ * one int holding its leg count, flight count and the ground legs since its last flight (or since the
+ * origin), so finders carry it next to the path instead of rescanning the path. Each rule is checked on the
+ * leg that could break it, and a branch is cut as soon as it can no longer reach the minimum flights in the
+ * legs left.
+ */
+final class CompiledRouteRules {
+
+    static final int REJECTED = -1;
+
+    private static final int FLIGHT = 1;
+    private static final int EXCLUDED_BEFORE_FLIGHT = 2;
+    private static final int COUNT_MASK = 0xFF;
+
+    private final int maxLegs;
+    private final int minFlights;
+    private final int maxFlights;
+    private final int maxLegsBeforeFlight;
+    private final int maxLegsAfterFlight;
+    private final int[] flags = new int[TransportationType.values().length];
+
+    CompiledRouteRules(RouteRules rules) {
+        this.maxLegs = rules.maxLegs();
+        this.minFlights = rules.minFlights();
+        this.maxFlights = rules.maxFlights();
+        this.maxLegsBeforeFlight = rules.maxLegsBeforeFlight();
+        this.maxLegsAfterFlight = rules.maxLegsAfterFlight();
+        for (TransportationType type : TransportationType.values()) {
+            if (type == TransportationType.FLIGHT) {
+                flags[type.ordinal()] |= FLIGHT;
+            } else if (rules.excludedBeforeFlight().contains(type)) {
+                flags[type.ordinal()] |= EXCLUDED_BEFORE_FLIGHT;
+            }
+        }
+    }
+
+    int start() {
+        return 0;
+    }
+
+    /**
+     * @return the state after taking a leg of the given type, or {@link #REJECTED} if no route can follow
+     */
+    int extend(int state, TransportationType type) {
+        int legs = (state & COUNT_MASK) + 1;
+        int flights = (state >>> 8) & COUNT_MASK;
+        int ground = state >>> 16;
+        int flag = flags[type.ordinal()];
+
+        if ((flag & FLIGHT) != 0) {
+            flights++;
+            ground = 0;
+            if (flights > maxFlights) {
+                return REJECTED;
+            }
+        } else if (flights == 0) {
+            if ((flag & EXCLUDED_BEFORE_FLIGHT) != 0 || ++ground > maxLegsBeforeFlight) {
+                return REJECTED;
+            }
+        } else if (++ground > maxLegsAfterFlight) {
+            return REJECTED;
+        }
+
+        if (legs > maxLegs || flights + maxLegs - legs < minFlights) {
+            return REJECTED;
+        }
+        return legs | flights << 8 | ground << 16;
+    }
+
+    boolean canExtend(int state) {
+        return (state & COUNT_MASK) < maxLegs;
+    }
+
+    /**
+     * @return {@code true} if a partial route in this state is a route once it reaches the destination
+     */
+    boolean isComplete(int state) {
+        return (state & COUNT_MASK) > 0 && ((state >>> 8) & COUNT_MASK) >= minFlights;
+    }
+
+    boolean requiresFlight() {
+        return minFlights > 0;
+    }
+
+    int maxLegs() {
+        return maxLegs;
+    }
+}
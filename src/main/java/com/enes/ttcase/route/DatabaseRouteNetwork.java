@@ -0,0 +1,215 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.location.LocationService;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationService;
+import com.enes.ttcase.transportation.TransportationType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "route.graph.enabled", havingValue = "false")
+class DatabaseRouteNetwork implements RouteNetwork {
+
+    private final TransportationService transportationService;
+    private final LocationService locationService;
+    private final RouteSearchMetrics metrics;
+    private final ExecutorService executor;
+    private final boolean singleQuery;
+
+    DatabaseRouteNetwork(TransportationService transportationService,
+                         LocationService locationService,
+                         RouteSearchMetrics metrics,
+                         @Qualifier("transportationExecutorService") ExecutorService executor,
+                         @Value("${route.candidates.single-query:true}") boolean singleQuery) {
+        this.transportationService = transportationService;
+        this.locationService = locationService;
+        this.metrics = metrics;
+        this.executor = executor;
+        this.singleQuery = singleQuery;
+    }
+
+    @Override
+    public RouteFindContext loadContext(String originCode,
+                                        String destinationCode,
+                                        DayOfWeek operatingDay) throws InterruptedException {
+        Map<String, LocationDto> locations = metrics.time(RouteSearchMetrics.PHASE_LOCATIONS,
+                () -> locationService.getByLocationCodes(List.of(originCode, destinationCode)));
+        LocationDto origin = locations.get(originCode);
+        LocationDto destination = locations.get(destinationCode);
+
+        if (origin == null || destination == null) {
+            throw new IllegalArgumentException("Invalid origin or destination location code");
+        }
+
+        return await(loadContextsAsync(List.of(new RouteEndpoints(origin, destination)), operatingDay)).getFirst();
+    }
+
+    @Override
+    public Map<String, LocationDto> findLocations(Set<String> locationCodes) {
+        return metrics.time(RouteSearchMetrics.PHASE_LOCATIONS, () -> locationService.getByLocationCodes(locationCodes));
+    }
+
+    @Override
+    public List<RouteFindContext> loadContexts(List<RouteEndpoints> endpoints, DayOfWeek operatingDay) {
+        try {
+            return await(loadContextsAsync(endpoints, operatingDay));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while loading route candidates");
+        }
+    }
+
+    /**
+     * Loads the flights first; both feeder queries start as soon as the flight set is known and run
+     * concurrently. A failing feeder query cancels the other one.
+     */
+    private CompletableFuture<List<RouteFindContext>> loadContextsAsync(List<RouteEndpoints> endpoints, DayOfWeek operatingDay) {
+        if (singleQuery) {
+            return CompletableFuture.supplyAsync(() -> loadContextsInSingleQuery(endpoints, operatingDay), executor);
+        }
+
+        RouteEndpoints first = endpoints.getFirst();
+        return CompletableFuture.supplyAsync(
+                        () -> metrics.time(RouteSearchMetrics.PHASE_FLIGHTS,
+                                () -> transportationService.findTransportationsBetweenCountries(first.origin().country(),
+                                        first.destination().country(),
+                                        TransportationType.FLIGHT,
+                                        operatingDay)),
+                        executor)
+                .thenCompose(flights -> {
+                    Set<String> originAirports = flights.stream()
+                            .map(t -> t.origin().locationCode())
+                            .collect(Collectors.toSet());
+                    Set<String> destinationAirports = flights.stream()
+                            .map(t -> t.destination().locationCode())
+                            .collect(Collectors.toSet());
+                    Set<String> originCodes = endpoints.stream()
+                            .map(e -> e.origin().locationCode())
+                            .collect(Collectors.toSet());
+                    Set<String> destinationCodes = endpoints.stream()
+                            .map(e -> e.destination().locationCode())
+                            .collect(Collectors.toSet());
+
+                    CompletableFuture<Set<TransportationDto>> originTransportations = CompletableFuture.supplyAsync(
+                            () -> metrics.time(RouteSearchMetrics.PHASE_ORIGIN_TRANSFERS,
+                                    () -> transportationService.findTransportationsBetweenLocationCodesAndOperatingDay(originCodes,
+                                            originAirports,
+                                            operatingDay)),
+                            executor);
+                    CompletableFuture<Set<TransportationDto>> destinationTransportations = CompletableFuture.supplyAsync(
+                            () -> metrics.time(RouteSearchMetrics.PHASE_DESTINATION_TRANSFERS,
+                                    () -> transportationService.findTransportationsBetweenLocationCodesAndOperatingDay(destinationAirports,
+                                            destinationCodes,
+                                            operatingDay)),
+                            executor);
+                    cancelOnFailure(originTransportations, destinationTransportations);
+                    cancelOnFailure(destinationTransportations, originTransportations);
+
+                    return originTransportations.thenCombine(destinationTransportations,
+                            (origins, destinations) -> assemble(endpoints, flights, origins, destinations));
+                });
+    }
+
+    private List<RouteFindContext> loadContextsInSingleQuery(List<RouteEndpoints> endpoints, DayOfWeek operatingDay) {
+        String originCountry = endpoints.getFirst().origin().country();
+        String destinationCountry = endpoints.getFirst().destination().country();
+        Set<TransportationDto> candidates = metrics.time(RouteSearchMetrics.PHASE_CANDIDATES,
+                () -> transportationService.findRouteCandidates(originCountry,
+                        destinationCountry,
+                        endpoints.stream().map(e -> e.origin().id()).collect(Collectors.toSet()),
+                        endpoints.stream().map(e -> e.destination().id()).collect(Collectors.toSet()),
+                        operatingDay));
+
+        Set<TransportationDto> flights = candidates.stream()
+                .filter(t -> t.transportationType() == TransportationType.FLIGHT
+                        && t.origin().country().equals(originCountry)
+                        && t.destination().country().equals(destinationCountry))
+                .collect(Collectors.toSet());
+        Set<String> originAirports = flights.stream()
+                .map(t -> t.origin().locationCode())
+                .collect(Collectors.toSet());
+        Set<String> destinationAirports = flights.stream()
+                .map(t -> t.destination().locationCode())
+                .collect(Collectors.toSet());
+
+        return assemble(endpoints,
+                flights,
+                candidates.stream()
+                        .filter(t -> originAirports.contains(t.destination().locationCode()))
+                        .collect(Collectors.toSet()),
+                candidates.stream()
+                        .filter(t -> destinationAirports.contains(t.origin().locationCode()))
+                        .collect(Collectors.toSet()));
+    }
+
+    private static List<RouteFindContext> assemble(List<RouteEndpoints> endpoints,
+                                                   Set<TransportationDto> flights,
+                                                   Set<TransportationDto> originTransportations,
+                                                   Set<TransportationDto> destinationTransportations) {
+        List<RouteFindContext> contexts = new ArrayList<>(endpoints.size());
+        for (RouteEndpoints endpoint : endpoints) {
+            Set<TransportationDto> allTransportations = new HashSet<>(flights);
+            for (TransportationDto transportation : originTransportations) {
+                if (transportation.origin().locationCode().equals(endpoint.origin().locationCode())) {
+                    allTransportations.add(transportation);
+                }
+            }
+            for (TransportationDto transportation : destinationTransportations) {
+                if (transportation.destination().locationCode().equals(endpoint.destination().locationCode())) {
+                    allTransportations.add(transportation);
+                }
+            }
+            contexts.add(new RouteFindContext(endpoint.origin(), endpoint.destination(), allTransportations));
+        }
+        return contexts;
+    }
+
+    private static void cancelOnFailure(CompletableFuture<?> future, CompletableFuture<?> sibling) {
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                sibling.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Waits for the result and rethrows the original failure. When the waiting thread is interrupted the
+     * pending work is cancelled before the interrupt propagates.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause()
+                    : e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.enes.ttcase.route;
 
 import com.enes.ttcase.location.LocationDto;
 import com.enes.ttcase.transportation.TransportationDto;
-import com.enes.ttcase.transportation.TransportationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayDeque;
@@ -13,36 +13,46 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
+@ConditionalOnProperty(name = "route.finder", havingValue = "default", matchIfMissing = true)
 class DefaultRouteFinder implements RouteFinder {
 
-    private static final int MAX_STEPS = 3;
-
     @Override
-    public List<Route> findRoutes(RouteFindContext context) {
-        List<Route> validRoutes = new ArrayList<>();
-
+    public void findRoutes(RouteFindContext context, RouteSink sink) {
         if (context.transportations().isEmpty()) {
-            return validRoutes;
+            return;
         }
 
+        long start = System.nanoTime();
         Map<LocationDto, List<TransportationDto>> graph = buildGraph(context);
+        long built = System.nanoTime();
+        int expanded = search(context, graph, sink);
+        sink.completed(new RouteSearchStatistics(built - start, System.nanoTime() - built, expanded));
+    }
+
+    /**
+     * @return the number of states taken off the stack
+     */
+    private int search(RouteFindContext context, Map<LocationDto, List<TransportationDto>> graph, RouteSink sink) {
+        CompiledRouteRules rules = context.rules().compile();
         Deque<SearchState> stack = new ArrayDeque<>();
+        int expanded = 0;
 
-        stack.push(new SearchState(context.origin(), new ArrayList<>()));
+        stack.push(new SearchState(context.origin(), new ArrayList<>(), 0, rules.start()));
 
         while (!stack.isEmpty()) {
             SearchState currentState = stack.pop();
+            expanded++;
             LocationDto currentLocation = currentState.location;
             List<TransportationDto> currentPath = currentState.path;
 
             if (currentLocation.equals(context.destination())) {
-                if (containsFlight(currentPath)) {
-                    validRoutes.add(new Route(currentPath));
+                if (rules.isComplete(currentState.rules) && !sink.accept(new Route(currentPath))) {
+                    return expanded;
                 }
                 continue;
             }
 
-            if (currentPath.size() >= MAX_STEPS) {
+            if (!rules.canExtend(currentState.rules)) {
                 continue;
             }
 
@@ -53,20 +63,24 @@ class DefaultRouteFinder implements RouteFinder {
                         continue;
                     }
 
+                    int nextRules = rules.extend(currentState.rules, transport.transportationType());
+                    if (nextRules == CompiledRouteRules.REJECTED) {
+                        continue;
+                    }
+
+                    int cost = currentState.cost + sink.cost(transport);
+                    if (!sink.canAccept(cost)) {
+                        continue;
+                    }
+
                     List<TransportationDto> newPath = new ArrayList<>(currentPath);
                     newPath.add(transport);
 
-                    stack.push(new SearchState(transport.destination(), newPath));
+                    stack.push(new SearchState(transport.destination(), newPath, cost, nextRules));
                 }
             }
         }
-
-        return validRoutes;
-    }
-
-    private boolean containsFlight(List<TransportationDto> path) {
-        return path.stream()
-                .anyMatch(t -> t.transportationType() == TransportationType.FLIGHT);
+        return expanded;
     }
 
     private boolean isVisitedInPath(List<TransportationDto> path, LocationDto targetLocation) {
@@ -74,12 +88,12 @@ class DefaultRouteFinder implements RouteFinder {
                 .anyMatch(t -> t.destination().equals(targetLocation));
     }
 
-    private Map<LocationDto, List<TransportationDto>> buildGraph(RouteFindContext context) {
+    Map<LocationDto, List<TransportationDto>> buildGraph(RouteFindContext context) {
         return context.transportations()
                 .stream()
                 .collect(Collectors.groupingBy(TransportationDto::origin));
     }
 
-    private record SearchState(LocationDto location, List<TransportationDto> path) {
+    private record SearchState(LocationDto location, List<TransportationDto> path, int cost, int rules) {
     }
 }
@@ -0,0 +1,217 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Depth-first finder over dense int location and transportation ids. The candidate set is indexed once
+ * into a pooled workspace, after which the search only touches primitive arrays and allocates nothing
+ * but the routes it returns.
+ */
+@Component
+@ConditionalOnProperty(name = "route.finder", havingValue = "indexed")
+class IndexedRouteFinder implements RouteFinder {
+
+    private final BlockingQueue<SearchWorkspace> workspaces =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    @Override
+    public void findRoutes(RouteFindContext context, RouteSink sink) {
+        if (context.transportations().isEmpty()) {
+            return;
+        }
+
+        SearchWorkspace workspace = borrowWorkspace();
+        try {
+            long start = System.nanoTime();
+            workspace.index(context, sink);
+            long indexed = System.nanoTime();
+            int origin = workspace.locationId(context.origin());
+            int destination = workspace.locationId(context.destination());
+            if (origin >= 0 && destination >= 0) {
+                CompiledRouteRules rules = context.rules().compile();
+                workspace.search(origin, destination, 0, 0, rules.start(), rules, sink);
+            }
+            sink.completed(new RouteSearchStatistics(indexed - start, System.nanoTime() - indexed, workspace.expanded));
+        } finally {
+            workspace.clear();
+            workspaces.offer(workspace);
+        }
+    }
+
+    private SearchWorkspace borrowWorkspace() {
+        SearchWorkspace workspace = workspaces.poll();
+        return workspace != null ? workspace : new SearchWorkspace();
+    }
+
+    private static final class SearchWorkspace {
+
+        private Object[] locationKeys = new Object[64];
+        private int[] locationValues = new int[64];
+        private int locationCount;
+
+        private TransportationDto[] transportations = new TransportationDto[16];
+        private int[] origins = new int[16];
+        private int[] destinations = new int[16];
+        private TransportationType[] types = new TransportationType[16];
+        private int[] costs = new int[16];
+        private int transportationCount;
+        private int expanded;
+
+        private int[] offsets = new int[33];
+        private int[] adjacency = new int[16];
+        private long[] visited = new long[1];
+
+        private final int[] path = new int[RouteRules.MAX_LEGS];
+
+        void index(RouteFindContext context, RouteSink sink) {
+            int size = context.transportations().size();
+            ensureCapacity(size);
+
+            for (TransportationDto transportation : context.transportations()) {
+                int id = transportationCount++;
+                transportations[id] = transportation;
+                origins[id] = intern(transportation.origin());
+                destinations[id] = intern(transportation.destination());
+                types[id] = transportation.transportationType();
+                costs[id] = sink.cost(transportation);
+            }
+
+            Arrays.fill(offsets, 0, locationCount + 1, 0);
+            for (int id = 0; id < transportationCount; id++) {
+                offsets[origins[id] + 1]++;
+            }
+            for (int location = 1; location <= locationCount; location++) {
+                offsets[location] += offsets[location - 1];
+            }
+            for (int id = 0; id < transportationCount; id++) {
+                adjacency[offsets[origins[id]]++] = id;
+            }
+            for (int location = locationCount; location > 0; location--) {
+                offsets[location] = offsets[location - 1];
+            }
+            offsets[0] = 0;
+        }
+
+        /**
+         * @return {@code false} once the sink asked to stop
+         */
+        boolean search(int location, int destination, int depth, int cost, int state, CompiledRouteRules rules, RouteSink sink) {
+            expanded++;
+            if (location == destination) {
+                return !rules.isComplete(state) || sink.accept(toRoute(depth));
+            }
+
+            if (!rules.canExtend(state)) {
+                return true;
+            }
+
+            for (int i = offsets[location]; i < offsets[location + 1]; i++) {
+                int transportation = adjacency[i];
+                int next = destinations[transportation];
+                long bit = 1L << next;
+                int word = next >>> 6;
+
+                if ((visited[word] & bit) != 0) {
+                    continue;
+                }
+
+                int nextState = rules.extend(state, types[transportation]);
+                if (nextState == CompiledRouteRules.REJECTED) {
+                    continue;
+                }
+
+                int nextCost = cost + costs[transportation];
+                if (!sink.canAccept(nextCost)) {
+                    continue;
+                }
+
+                path[depth] = transportation;
+                visited[word] |= bit;
+                boolean proceed = search(next, destination, depth + 1, nextCost, nextState, rules, sink);
+                visited[word] &= ~bit;
+                if (!proceed) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int locationId(LocationDto location) {
+            int mask = locationKeys.length - 1;
+            for (int slot = slot(location, mask); locationKeys[slot] != null; slot = (slot + 1) & mask) {
+                if (locationKeys[slot].equals(location)) {
+                    return locationValues[slot];
+                }
+            }
+            return -1;
+        }
+
+        void clear() {
+            Arrays.fill(transportations, 0, transportationCount, null);
+            Arrays.fill(locationKeys, null);
+            Arrays.fill(visited, 0L);
+            transportationCount = 0;
+            locationCount = 0;
+            expanded = 0;
+        }
+
+        private int intern(LocationDto location) {
+            int mask = locationKeys.length - 1;
+            int slot = slot(location, mask);
+            while (locationKeys[slot] != null) {
+                if (locationKeys[slot].equals(location)) {
+                    return locationValues[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            locationKeys[slot] = location;
+            locationValues[slot] = locationCount;
+            return locationCount++;
+        }
+
+        private static int slot(LocationDto location, int mask) {
+            int hash = location.hashCode();
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private Route toRoute(int depth) {
+            TransportationDto[] steps = new TransportationDto[depth];
+            for (int i = 0; i < depth; i++) {
+                steps[i] = transportations[path[i]];
+            }
+            return new Route(List.of(steps));
+        }
+
+        private void ensureCapacity(int size) {
+            if (transportations.length < size) {
+                transportations = new TransportationDto[size];
+                origins = new int[size];
+                destinations = new int[size];
+                types = new TransportationType[size];
+                costs = new int[size];
+                adjacency = new int[size];
+            }
+
+            int maxLocations = size * 2;
+            if (offsets.length < maxLocations + 1) {
+                offsets = new int[maxLocations + 1];
+                visited = new long[(maxLocations >>> 6) + 1];
+            }
+
+            int tableSize = Integer.highestOneBit(Math.max(maxLocations, 1)) << 2;
+            if (locationKeys.length < tableSize) {
+                locationKeys = new Object[tableSize];
+                locationValues = new int[tableSize];
+            }
+        }
+    }
+}
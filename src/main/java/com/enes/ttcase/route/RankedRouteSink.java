@@ -0,0 +1,80 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Keeps the best {@code capacity} routes in a bounded max-heap and lets finders prune any partial route
+ * that already costs more than the current worst kept route.
+ */
+final class RankedRouteSink implements RouteSink {
+
+    private static final Comparator<RankedRoute> ORDER = Comparator.comparingInt(RankedRoute::cost)
+            .thenComparingInt(r -> r.route().steps().size())
+            .thenComparing(RankedRoute::route, RankedRouteSink::compareSteps);
+
+    private final RouteRanking ranking;
+    private final Set<TransportationType> preferredTypes;
+    private final int capacity;
+    private final PriorityQueue<RankedRoute> heap = new PriorityQueue<>(ORDER.reversed());
+
+    RankedRouteSink(RouteRanking ranking, Set<TransportationType> preferredTypes, int capacity) {
+        this.ranking = ranking;
+        this.preferredTypes = preferredTypes;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean accept(Route route) {
+        int cost = 0;
+        for (TransportationDto leg : route.steps()) {
+            cost += cost(leg);
+        }
+
+        RankedRoute ranked = new RankedRoute(route, cost);
+        if (heap.size() < capacity) {
+            heap.add(ranked);
+        } else if (ORDER.compare(ranked, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(ranked);
+        }
+        return true;
+    }
+
+    @Override
+    public int cost(TransportationDto leg) {
+        return ranking.cost(leg, preferredTypes);
+    }
+
+    @Override
+    public boolean canAccept(int cost) {
+        return heap.size() < capacity || cost <= heap.peek().cost();
+    }
+
+    List<Route> routes() {
+        List<RankedRoute> ranked = new ArrayList<>(heap);
+        ranked.sort(ORDER);
+        return ranked.stream()
+                .map(RankedRoute::route)
+                .toList();
+    }
+
+    private static int compareSteps(Route left, Route right) {
+        for (int i = 0; i < left.steps().size(); i++) {
+            int compared = Long.compare(left.steps().get(i).id(), right.steps().get(i).id());
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return 0;
+    }
+
+    private record RankedRoute(Route route, int cost) {
+    }
+}
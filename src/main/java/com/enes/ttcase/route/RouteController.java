@@ -1,27 +1,116 @@
 package com.enes.ttcase.route;
 
 import jakarta.validation.Valid;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping(value = "/api/v1/routes")
 class RouteController {
 
+    private static final Logger log = LoggerFactory.getLogger(RouteController.class);
+
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RouteService routeService;
+    private final JsonMapper jsonMapper;
+    private final ExecutorService executor;
 
-    public RouteController(RouteService routeService) {
+    public RouteController(RouteService routeService,
+                           JsonMapper jsonMapper,
+                           @Qualifier("routeSearchExecutorService") ExecutorService executor) {
         this.routeService = routeService;
+        this.jsonMapper = jsonMapper;
+        this.executor = executor;
     }
 
     @PostMapping("/search")
-    public List<Route> searchRoutes(@Valid @RequestBody SearchRouteRequest request) throws ExecutionException, InterruptedException {
+    public ResponseEntity<byte[]> searchRoutes(@Valid @RequestBody SearchRouteRequest request) throws InterruptedException {
+        RouteResultCache.Entry response = routeService.searchRoutesAsJson(request);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON);
+        if (response.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, response.nextCursor());
+        }
+        return builder.body(response.body());
+    }
+
+    @PostMapping("/search/batch")
+    public List<RouteSearchResult> searchRoutes(@Valid @RequestBody BatchSearchRouteRequest request) {
         return routeService.searchRoutes(request);
     }
 
+    @PostMapping(value = "/search/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRoutes(@Valid @RequestBody SearchRouteRequest request,
+                                                              @RequestParam(required = false) @Nullable Integer limit) throws InterruptedException {
+        Consumer<RouteSink> search = routeService.streamRoutes(request, limitOrUnbounded(limit));
+
+        StreamingResponseBody body = outputStream -> search.accept(route -> {
+            try {
+                outputStream.write(jsonMapper.writeValueAsBytes(route));
+                outputStream.write('\n');
+                outputStream.flush();
+                return true;
+            } catch (IOException e) {
+                log.debug("Route stream closed by client", e);
+                return false;
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRoutes(@RequestParam String originCode,
+                                   @RequestParam String destinationCode,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant date,
+                                   @RequestParam(required = false) @Nullable Integer limit) throws InterruptedException {
+        Consumer<RouteSink> search = routeService.streamRoutes(new SearchRouteRequest(originCode, destinationCode, date), limitOrUnbounded(limit));
+
+        SseEmitter emitter = new SseEmitter();
+        executor.execute(() -> {
+            try {
+                search.accept(route -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("route").data(route, MediaType.APPLICATION_JSON));
+                        return true;
+                    } catch (IOException e) {
+                        log.debug("Route stream closed by client", e);
+                        return false;
+                    }
+                });
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private static int limitOrUnbounded(@Nullable Integer limit) {
+        return limit == null ? Integer.MAX_VALUE : limit;
+    }
 }
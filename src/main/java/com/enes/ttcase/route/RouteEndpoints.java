@@ -0,0 +1,9 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+
+record RouteEndpoints(
+        LocationDto origin,
+        LocationDto destination
+) {
+}
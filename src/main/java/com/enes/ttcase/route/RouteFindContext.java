@@ -2,12 +2,38 @@ package com.enes.ttcase.route;
 
 import com.enes.ttcase.location.LocationDto;
 import com.enes.ttcase.transportation.TransportationDto;
+import org.jspecify.annotations.Nullable;
 
+import java.time.LocalTime;
 import java.util.Set;
 
+/**
+ * @param departureTime earliest departure from the origin; only time-dependent finders read it, and
+ *                      {@code null} means the whole day
+ * @param rules         which paths count as routes
+ */
 public record RouteFindContext(
         LocationDto origin,
         LocationDto destination,
-        Set<TransportationDto> transportations
+        Set<TransportationDto> transportations,
+        @Nullable LocalTime departureTime,
+        RouteRules rules
 ) {
+
+    public RouteFindContext(LocationDto origin, LocationDto destination, Set<TransportationDto> transportations) {
+        this(origin, destination, transportations, null, RouteRules.DEFAULT);
+    }
+
+    public RouteFindContext(LocationDto origin, LocationDto destination, Set<TransportationDto> transportations,
+                            @Nullable LocalTime departureTime) {
+        this(origin, destination, transportations, departureTime, RouteRules.DEFAULT);
+    }
+
+    RouteFindContext withDepartureTime(@Nullable LocalTime departureTime) {
+        return new RouteFindContext(origin, destination, transportations, departureTime, rules);
+    }
+
+    RouteFindContext withRules(RouteRules rules) {
+        return new RouteFindContext(origin, destination, transportations, departureTime, rules);
+    }
 }
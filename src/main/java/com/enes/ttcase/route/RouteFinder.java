@@ -1,8 +1,23 @@
 package com.enes.ttcase.route;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface RouteFinder {
 
-    List<Route> findRoutes(RouteFindContext request);
+    default List<Route> findRoutes(RouteFindContext request) {
+        List<Route> routes = new ArrayList<>();
+        findRoutes(request, routes::add);
+        return routes;
+    }
+
+    void findRoutes(RouteFindContext request, RouteSink sink);
+
+    /**
+     * @return {@code true} if results depend on {@link RouteFindContext#departureTime()}, so they must be
+     * cached per departure time rather than per day
+     */
+    default boolean isTimeDependent() {
+        return false;
+    }
 }
@@ -0,0 +1,601 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.jspecify.annotations.Nullable;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the whole transportation network. Locations and transportations are
+ * addressed by dense int indexes and every {@link DayOfWeek} has its own outgoing and incoming
+ * adjacency arrays, so candidate lookups never hash the DTOs.
+ */
+final class RouteGraph {
+
+    private static final int DAYS = DayOfWeek.values().length;
+
+    private final long version;
+
+    private final LocationDto[] locations;
+    private final int[] locationCountries;
+    private final Map<String, Integer> locationIndexByCode;
+    private final Map<String, Integer> countryIndexByName;
+    private final String[] countryNames;
+    private final int[][] locationsByCountry;
+
+    private final TransportationDto[] transportations;
+    private final int[] transportationOrigins;
+    private final int[] transportationDestinations;
+    private final boolean[] flights;
+
+    private final int[][] outOffsets;
+    private final int[][] outTransportations;
+    private final int[][] inOffsets;
+    private final int[][] inTransportations;
+
+    private RouteGraph(long version,
+                       LocationDto[] locations,
+                       int[] locationCountries,
+                       Map<String, Integer> locationIndexByCode,
+                       Map<String, Integer> countryIndexByName,
+                       int[][] locationsByCountry,
+                       TransportationDto[] transportations,
+                       int[] transportationOrigins,
+                       int[] transportationDestinations,
+                       boolean[] flights,
+                       int[][] outOffsets,
+                       int[][] outTransportations,
+                       int[][] inOffsets,
+                       int[][] inTransportations) {
+        this.version = version;
+        this.locations = locations;
+        this.locationCountries = locationCountries;
+        this.locationIndexByCode = locationIndexByCode;
+        this.countryIndexByName = countryIndexByName;
+        this.countryNames = new String[countryIndexByName.size()];
+        countryIndexByName.forEach((name, index) -> countryNames[index] = name);
+        this.locationsByCountry = locationsByCountry;
+        this.transportations = transportations;
+        this.transportationOrigins = transportationOrigins;
+        this.transportationDestinations = transportationDestinations;
+        this.flights = flights;
+        this.outOffsets = outOffsets;
+        this.outTransportations = outTransportations;
+        this.inOffsets = inOffsets;
+        this.inTransportations = inTransportations;
+    }
+
+    static RouteGraph build(long version,
+                            Collection<LocationDto> locations,
+                            Collection<TransportationDto> transportations) {
+        LocationDto[] locationArray = locations.stream()
+                .sorted(Comparator.comparingLong(LocationDto::id))
+                .toArray(LocationDto[]::new);
+        int locationCount = locationArray.length;
+
+        Map<Long, Integer> locationIndexById = HashMap.newHashMap(locationCount);
+        Map<String, Integer> locationIndexByCode = HashMap.newHashMap(locationCount);
+        Map<String, Integer> countryIndexByName = new HashMap<>();
+        int[] locationCountries = new int[locationCount];
+        for (int i = 0; i < locationCount; i++) {
+            LocationDto location = locationArray[i];
+            locationIndexById.put(location.id(), i);
+            locationIndexByCode.put(location.locationCode(), i);
+            locationCountries[i] = countryIndexByName.computeIfAbsent(location.country(), k -> countryIndexByName.size());
+        }
+        int[][] locationsByCountry = groupByCountry(locationCountries, countryIndexByName.size());
+
+        List<TransportationDto> sortedTransportations = transportations.stream()
+                .sorted(Comparator.comparingLong(TransportationDto::id))
+                .toList();
+        List<TransportationDto> boundTransportations = new ArrayList<>(sortedTransportations.size());
+        int[] origins = new int[sortedTransportations.size()];
+        int[] destinations = new int[sortedTransportations.size()];
+        int[] dayMasks = new int[sortedTransportations.size()];
+        for (TransportationDto transportation : sortedTransportations) {
+            Integer origin = locationIndexById.get(transportation.origin().id());
+            Integer destination = locationIndexById.get(transportation.destination().id());
+            if (origin == null || destination == null) {
+                continue;
+            }
+            int index = boundTransportations.size();
+            boundTransportations.add(bind(transportation, locationArray[origin], locationArray[destination]));
+            origins[index] = origin;
+            destinations[index] = destination;
+            dayMasks[index] = transportation.operatingDayMask();
+        }
+
+        int transportationCount = boundTransportations.size();
+        TransportationDto[] transportationArray = boundTransportations.toArray(TransportationDto[]::new);
+        boolean[] flights = new boolean[transportationCount];
+        for (int i = 0; i < transportationCount; i++) {
+            flights[i] = transportationArray[i].transportationType() == TransportationType.FLIGHT;
+        }
+
+        int[][] outOffsets = new int[DAYS][];
+        int[][] outTransportations = new int[DAYS][];
+        int[][] inOffsets = new int[DAYS][];
+        int[][] inTransportations = new int[DAYS][];
+        for (int day = 0; day < DAYS; day++) {
+            outOffsets[day] = new int[locationCount + 1];
+            inOffsets[day] = new int[locationCount + 1];
+            outTransportations[day] = adjacency(day, origins, dayMasks, transportationCount, outOffsets[day]);
+            inTransportations[day] = adjacency(day, destinations, dayMasks, transportationCount, inOffsets[day]);
+        }
+
+        return new RouteGraph(version,
+                locationArray,
+                locationCountries,
+                locationIndexByCode,
+                countryIndexByName,
+                locationsByCountry,
+                transportationArray,
+                Arrays.copyOf(origins, transportationCount),
+                Arrays.copyOf(destinations, transportationCount),
+                flights,
+                outOffsets,
+                outTransportations,
+                inOffsets,
+                inTransportations);
+    }
+
+    long version() {
+        return version;
+    }
+
+    int locationCount() {
+        return locations.length;
+    }
+
+    int transportationCount() {
+        return transportations.length;
+    }
+
+    List<LocationDto> locations() {
+        return List.of(locations);
+    }
+
+    List<TransportationDto> transportations() {
+        return List.of(transportations);
+    }
+
+    @Nullable
+    LocationDto findLocation(String locationCode) {
+        Integer index = locationIndexByCode.get(locationCode);
+        return index == null ? null : locations[index];
+    }
+
+    Set<String> countries() {
+        return countryIndexByName.keySet();
+    }
+
+    Set<String> flightDestinationCountries(String originCountry, DayOfWeek operatingDay) {
+        Integer country = countryIndexByName.get(originCountry);
+        if (country == null) {
+            return Set.of();
+        }
+
+        int day = operatingDay.ordinal();
+        int[] outOffset = outOffsets[day];
+        int[] out = outTransportations[day];
+        Set<String> destinationCountries = new HashSet<>();
+        for (int location : locationsByCountry[country]) {
+            for (int i = outOffset[location]; i < outOffset[location + 1]; i++) {
+                int transportation = out[i];
+                if (flights[transportation]) {
+                    destinationCountries.add(countryNames[locationCountries[transportationDestinations[transportation]]]);
+                }
+            }
+        }
+        return destinationCountries;
+    }
+
+    /**
+     * Returns every location of the two countries that can start or end a route through the flights
+     * between them: the flight airports plus the locations with a direct transportation to or from them.
+     */
+    Endpoints findEndpoints(String originCountry, String destinationCountry, DayOfWeek operatingDay) {
+        Integer originCountryIndex = countryIndexByName.get(originCountry);
+        Integer destinationCountryIndex = countryIndexByName.get(destinationCountry);
+        if (originCountryIndex == null || destinationCountryIndex == null) {
+            return new Endpoints(List.of(), List.of());
+        }
+
+        int day = operatingDay.ordinal();
+        int[] outOffset = outOffsets[day];
+        int[] out = outTransportations[day];
+        int[] inOffset = inOffsets[day];
+        int[] in = inTransportations[day];
+
+        BitSet originAirports = new BitSet();
+        BitSet destinationAirports = new BitSet();
+        for (int location : locationsByCountry[originCountryIndex]) {
+            for (int i = outOffset[location]; i < outOffset[location + 1]; i++) {
+                int transportation = out[i];
+                int flightDestination = transportationDestinations[transportation];
+                if (flights[transportation] && locationCountries[flightDestination] == destinationCountryIndex) {
+                    originAirports.set(location);
+                    destinationAirports.set(flightDestination);
+                }
+            }
+        }
+
+        BitSet origins = (BitSet) originAirports.clone();
+        for (int airport = originAirports.nextSetBit(0); airport >= 0; airport = originAirports.nextSetBit(airport + 1)) {
+            for (int i = inOffset[airport]; i < inOffset[airport + 1]; i++) {
+                int feeder = transportationOrigins[in[i]];
+                if (locationCountries[feeder] == originCountryIndex) {
+                    origins.set(feeder);
+                }
+            }
+        }
+
+        BitSet destinations = (BitSet) destinationAirports.clone();
+        for (int airport = destinationAirports.nextSetBit(0); airport >= 0; airport = destinationAirports.nextSetBit(airport + 1)) {
+            for (int i = outOffset[airport]; i < outOffset[airport + 1]; i++) {
+                int feeder = transportationDestinations[out[i]];
+                if (locationCountries[feeder] == destinationCountryIndex) {
+                    destinations.set(feeder);
+                }
+            }
+        }
+
+        return new Endpoints(toLocations(origins), toLocations(destinations));
+    }
+
+    /**
+     * Returns the same candidate set the repository queries produce: flights between the two countries
+     * plus the transportations feeding the origin into those flights and the flights into the destination.
+     */
+    Set<TransportationDto> findCandidateTransportations(LocationDto origin, LocationDto destination, DayOfWeek operatingDay) {
+        Integer originIndex = locationIndexByCode.get(origin.locationCode());
+        Integer destinationIndex = locationIndexByCode.get(destination.locationCode());
+        if (originIndex == null || destinationIndex == null) {
+            return Set.of();
+        }
+
+        int originCountry = locationCountries[originIndex];
+        int destinationCountry = locationCountries[destinationIndex];
+        int day = operatingDay.ordinal();
+        int[] outOffset = outOffsets[day];
+        int[] out = outTransportations[day];
+
+        Set<TransportationDto> candidates = new HashSet<>();
+        BitSet originAirports = new BitSet();
+        BitSet destinationAirports = new BitSet();
+        for (int location : locationsByCountry[originCountry]) {
+            for (int i = outOffset[location]; i < outOffset[location + 1]; i++) {
+                int transportation = out[i];
+                int flightDestination = transportationDestinations[transportation];
+                if (flights[transportation] && locationCountries[flightDestination] == destinationCountry) {
+                    candidates.add(transportations[transportation]);
+                    originAirports.set(location);
+                    destinationAirports.set(flightDestination);
+                }
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        for (int i = outOffset[originIndex]; i < outOffset[originIndex + 1]; i++) {
+            int transportation = out[i];
+            if (originAirports.get(transportationDestinations[transportation])) {
+                candidates.add(transportations[transportation]);
+            }
+        }
+
+        int[] inOffset = inOffsets[day];
+        int[] in = inTransportations[day];
+        for (int i = inOffset[destinationIndex]; i < inOffset[destinationIndex + 1]; i++) {
+            int transportation = in[i];
+            if (destinationAirports.get(transportationOrigins[transportation])) {
+                candidates.add(transportations[transportation]);
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Replaces {@code previous} with {@code current} without rebuilding the graph: the transportation
+     * arrays are copied with the one slot changed and only the days either version operates on get new
+     * adjacency arrays, every other day and all location structures are shared with this graph. Removing a
+     * transportation, or adding one below the highest id, shifts the indexes after it, so then every day
+     * is renumbered in the same single pass.
+     */
+    RouteGraph withTransportation(@Nullable TransportationDto previous, @Nullable TransportationDto current) {
+        int removed = previous == null ? -1 : transportationIndex(previous.id());
+        if (removed < 0 && current != null) {
+            removed = transportationIndex(current.id());
+        }
+        TransportationDto added = null;
+        int addedOrigin = -1;
+        int addedDestination = -1;
+        if (current != null) {
+            addedOrigin = locationIndex(current.origin().id());
+            addedDestination = locationIndex(current.destination().id());
+            if (addedOrigin >= 0 && addedDestination >= 0) {
+                added = bind(current, locations[addedOrigin], locations[addedDestination]);
+            }
+        }
+        if (removed < 0 && added == null) {
+            return this;
+        }
+
+        int oldCount = transportations.length;
+        int count = oldCount - (removed < 0 ? 0 : 1) + (added == null ? 0 : 1);
+        TransportationDto[] patched = new TransportationDto[count];
+        int[] origins = new int[count];
+        int[] destinations = new int[count];
+        boolean[] patchedFlights = new boolean[count];
+        int[] newIndexes = new int[oldCount];
+        int addedIndex = -1;
+        boolean renumbered = false;
+        int next = 0;
+        for (int i = 0; i < oldCount; i++) {
+            if (added != null && addedIndex < 0 && added.id() < transportations[i].id()) {
+                addedIndex = next++;
+            }
+            if (i == removed) {
+                newIndexes[i] = -1;
+                continue;
+            }
+            newIndexes[i] = next;
+            renumbered |= next != i;
+            patched[next] = transportations[i];
+            origins[next] = transportationOrigins[i];
+            destinations[next] = transportationDestinations[i];
+            patchedFlights[next] = flights[i];
+            next++;
+        }
+        int addedMask = 0;
+        if (added != null) {
+            if (addedIndex < 0) {
+                addedIndex = next;
+            }
+            patched[addedIndex] = added;
+            origins[addedIndex] = addedOrigin;
+            destinations[addedIndex] = addedDestination;
+            patchedFlights[addedIndex] = added.transportationType() == TransportationType.FLIGHT;
+            addedMask = added.operatingDayMask();
+        }
+        int changedMask = addedMask | (removed < 0 ? 0 : transportations[removed].operatingDayMask());
+
+        int[][] patchedOutOffsets = outOffsets.clone();
+        int[][] patchedOutTransportations = outTransportations.clone();
+        int[][] patchedInOffsets = inOffsets.clone();
+        int[][] patchedInTransportations = inTransportations.clone();
+        for (int day = 0; day < DAYS; day++) {
+            int dayBit = 1 << day;
+            if (!renumbered && (changedMask & dayBit) == 0) {
+                continue;
+            }
+            int dayAdded = (addedMask & dayBit) == 0 ? -1 : addedIndex;
+            patchedOutOffsets[day] = new int[locations.length + 1];
+            patchedInOffsets[day] = new int[locations.length + 1];
+            patchedOutTransportations[day] = patchAdjacency(outOffsets[day], outTransportations[day], newIndexes,
+                    dayAdded, addedOrigin, patchedOutOffsets[day]);
+            patchedInTransportations[day] = patchAdjacency(inOffsets[day], inTransportations[day], newIndexes,
+                    dayAdded, addedDestination, patchedInOffsets[day]);
+        }
+
+        return new RouteGraph(version + 1,
+                locations,
+                locationCountries,
+                locationIndexByCode,
+                countryIndexByName,
+                locationsByCountry,
+                patched,
+                origins,
+                destinations,
+                patchedFlights,
+                patchedOutOffsets,
+                patchedOutTransportations,
+                patchedInOffsets,
+                patchedInTransportations);
+    }
+
+    /**
+     * Replaces {@code previous} with {@code current}. A location that keeps its id and country only
+     * rebinds the transportations touching it and shares every adjacency array; any other change moves
+     * location indexes or country groups and rebuilds the graph.
+     */
+    RouteGraph withLocation(@Nullable LocationDto previous, @Nullable LocationDto current) {
+        int index = current == null ? -1 : locationIndex(current.id());
+        if (index >= 0 && locations[index].country().equals(current.country())) {
+            return withLocationReplaced(index, current);
+        }
+
+        Map<Long, LocationDto> changed = HashMap.newHashMap(locations.length + 1);
+        for (LocationDto location : locations) {
+            changed.put(location.id(), location);
+        }
+        if (previous != null) {
+            changed.remove(previous.id());
+        }
+        if (current != null) {
+            changed.put(current.id(), current);
+        }
+        return build(version + 1, changed.values(), transportations());
+    }
+
+    private RouteGraph withLocationReplaced(int index, LocationDto location) {
+        LocationDto[] patchedLocations = locations.clone();
+        patchedLocations[index] = location;
+
+        Map<String, Integer> patchedIndexByCode = locationIndexByCode;
+        String previousCode = locations[index].locationCode();
+        if (!previousCode.equals(location.locationCode())) {
+            patchedIndexByCode = new HashMap<>(locationIndexByCode);
+            patchedIndexByCode.remove(previousCode, index);
+            patchedIndexByCode.put(location.locationCode(), index);
+        }
+
+        TransportationDto[] patched = transportations.clone();
+        for (int i = 0; i < patched.length; i++) {
+            if (transportationOrigins[i] == index || transportationDestinations[i] == index) {
+                patched[i] = bind(patched[i],
+                        patchedLocations[transportationOrigins[i]],
+                        patchedLocations[transportationDestinations[i]]);
+            }
+        }
+
+        return new RouteGraph(version + 1,
+                patchedLocations,
+                locationCountries,
+                patchedIndexByCode,
+                countryIndexByName,
+                locationsByCountry,
+                patched,
+                transportationOrigins,
+                transportationDestinations,
+                flights,
+                outOffsets,
+                outTransportations,
+                inOffsets,
+                inTransportations);
+    }
+
+    private int locationIndex(long id) {
+        int low = 0;
+        int high = locations.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = locations[middle].id();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int transportationIndex(long id) {
+        int low = 0;
+        int high = transportations.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = transportations[middle].id();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private List<LocationDto> toLocations(BitSet indexes) {
+        List<LocationDto> result = new ArrayList<>(indexes.cardinality());
+        for (int index = indexes.nextSetBit(0); index >= 0; index = indexes.nextSetBit(index + 1)) {
+            result.add(locations[index]);
+        }
+        return result;
+    }
+
+    private static TransportationDto bind(TransportationDto transportation, LocationDto origin, LocationDto destination) {
+        if (origin.equals(transportation.origin()) && destination.equals(transportation.destination())) {
+            return transportation;
+        }
+        return new TransportationDto(transportation.id(),
+                origin,
+                destination,
+                transportation.transportationType(),
+                transportation.operatingDays(),
+                transportation.departureTime(),
+                transportation.arrivalTime(),
+                transportation.createdAt(),
+                transportation.updatedAt());
+    }
+
+    private static int[][] groupByCountry(int[] locationCountries, int countryCount) {
+        int[] counts = new int[countryCount];
+        for (int country : locationCountries) {
+            counts[country]++;
+        }
+        int[][] grouped = new int[countryCount][];
+        for (int country = 0; country < countryCount; country++) {
+            grouped[country] = new int[counts[country]];
+        }
+        int[] cursors = new int[countryCount];
+        for (int location = 0; location < locationCountries.length; location++) {
+            int country = locationCountries[location];
+            grouped[country][cursors[country]++] = location;
+        }
+        return grouped;
+    }
+
+    private static int[] adjacency(int day, int[] endpoints, int[] dayMasks, int transportationCount, int[] offsets) {
+        int dayBit = 1 << day;
+        for (int i = 0; i < transportationCount; i++) {
+            if ((dayMasks[i] & dayBit) != 0) {
+                offsets[endpoints[i] + 1]++;
+            }
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        int[] adjacency = new int[offsets[offsets.length - 1]];
+        int[] cursors = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int i = 0; i < transportationCount; i++) {
+            if ((dayMasks[i] & dayBit) != 0) {
+                adjacency[cursors[endpoints[i]]++] = i;
+            }
+        }
+        return adjacency;
+    }
+
+    /**
+     * Copies one day's adjacency with every entry renumbered through {@code newIndexes} (dropping the
+     * removed one) and {@code added} inserted into the row of {@code addedEndpoint}, keeping each row in
+     * ascending order like {@link #adjacency}.
+     */
+    private static int[] patchAdjacency(int[] offsets, int[] adjacency, int[] newIndexes,
+                                        int added, int addedEndpoint, int[] patchedOffsets) {
+        int[] patched = new int[adjacency.length + 1];
+        int cursor = 0;
+        int locationCount = offsets.length - 1;
+        for (int location = 0; location < locationCount; location++) {
+            patchedOffsets[location] = cursor;
+            boolean insert = added >= 0 && location == addedEndpoint;
+            for (int i = offsets[location]; i < offsets[location + 1]; i++) {
+                int transportation = newIndexes[adjacency[i]];
+                if (transportation < 0) {
+                    continue;
+                }
+                if (insert && added < transportation) {
+                    patched[cursor++] = added;
+                    insert = false;
+                }
+                patched[cursor++] = transportation;
+            }
+            if (insert) {
+                patched[cursor++] = added;
+            }
+        }
+        patchedOffsets[locationCount] = cursor;
+        return Arrays.copyOf(patched, cursor);
+    }
+
+    record Endpoints(List<LocationDto> origins, List<LocationDto> destinations) {
+    }
+}
@@ -0,0 +1,278 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.change.ChangePosition;
+import com.enes.ttcase.change.ChangedRows;
+import com.enes.ttcase.change.NetworkChangeLog;
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.WarmupTask;
+import com.enes.ttcase.location.LocationChangedEvent;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.location.LocationService;
+import com.enes.ttcase.transportation.TransportationChangedEvent;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationService;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the current {@link RouteGraph}. With {@code route.snapshot.path} set, the first graph is read from
+ * the {@link RouteGraphSnapshot} file plus the rows the change log records since its position, and every
+ * graph loaded from the database is written back to that file.
+ */
+@Service
+@ConditionalOnProperty(name = "route.graph.enabled", havingValue = "true", matchIfMissing = true)
+class RouteGraphService implements RouteNetwork, WarmupTask {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteGraphService.class);
+
+    private final LocationService locationService;
+    private final TransportationService transportationService;
+    private final NetworkChangeLog changeLog;
+    private final RouteSearchMetrics metrics;
+    private final TransactionTemplate readTransaction;
+    private final @Nullable Path snapshotPath;
+
+    private volatile @Nullable RouteGraph graph;
+
+    RouteGraphService(LocationService locationService,
+                      TransportationService transportationService,
+                      NetworkChangeLog changeLog,
+                      RouteSearchMetrics metrics,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${route.snapshot.path:}") String snapshotPath) {
+        this.locationService = locationService;
+        this.transportationService = transportationService;
+        this.changeLog = changeLog;
+        this.metrics = metrics;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.readTransaction.setReadOnly(true);
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    }
+
+    @Override
+    public RouteFindContext loadContext(String originCode, String destinationCode, DayOfWeek operatingDay) {
+        RouteGraph current = current();
+        Map<String, LocationDto> locations = findLocations(new HashSet<>(List.of(originCode, destinationCode)));
+        LocationDto origin = locations.get(originCode);
+        LocationDto destination = locations.get(destinationCode);
+
+        if (origin == null || destination == null) {
+            throw new IllegalArgumentException("Invalid origin or destination location code");
+        }
+
+        return new RouteFindContext(
+                origin,
+                destination,
+                metrics.time(RouteSearchMetrics.PHASE_CANDIDATES,
+                        () -> current.findCandidateTransportations(origin, destination, operatingDay))
+        );
+    }
+
+    @Override
+    public Map<String, LocationDto> findLocations(Set<String> locationCodes) {
+        RouteGraph current = current();
+        return metrics.time(RouteSearchMetrics.PHASE_LOCATIONS, () -> {
+            Map<String, LocationDto> locations = new HashMap<>();
+            for (String locationCode : locationCodes) {
+                LocationDto location = current.findLocation(locationCode);
+                if (location != null) {
+                    locations.put(locationCode, location);
+                }
+            }
+            return locations;
+        });
+    }
+
+    @Override
+    public List<RouteFindContext> loadContexts(List<RouteEndpoints> endpoints, DayOfWeek operatingDay) {
+        RouteGraph current = current();
+        return endpoints.stream()
+                .map(e -> new RouteFindContext(
+                        e.origin(),
+                        e.destination(),
+                        metrics.time(RouteSearchMetrics.PHASE_CANDIDATES,
+                                () -> current.findCandidateTransportations(e.origin(), e.destination(), operatingDay))))
+                .toList();
+    }
+
+    RouteGraph current() {
+        RouteGraph current = graph;
+        return current != null ? current : refresh();
+    }
+
+    @Override
+    public String name() {
+        return "route-graph";
+    }
+
+    @Override
+    public void warmUp() {
+        current();
+    }
+
+    /**
+     * Builds the graph unless the warm-up already did.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        current();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransportationChanged(TransportationChangedEvent event) {
+        apply(current -> current.withTransportation(event.previous(), event.current()));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(LocationChangedEvent event) {
+        apply(current -> current.withLocation(event.previous(), event.current()));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImportCompleted(ImportCompletedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Loads the first graph from the snapshot when there is one, later graphs always from the database.
+     */
+    synchronized RouteGraph refresh() {
+        long start = System.nanoTime();
+        RouteGraph previous = graph;
+        long version = previous == null ? 1 : previous.version() + 1;
+        RouteGraph refreshed = previous == null ? loadSnapshot(version) : null;
+        String source = "snapshot";
+        if (refreshed == null) {
+            RouteGraphSnapshot.Contents contents = Objects.requireNonNull(readTransaction.execute(status -> new RouteGraphSnapshot.Contents(
+                    changeLog.position(),
+                    locationService.getAllLocations(),
+                    transportationService.getAllTransportations())));
+            refreshed = RouteGraph.build(version, contents.locations(), contents.transportations());
+            source = "database";
+            writeSnapshot(refreshed, contents.position());
+        }
+        graph = refreshed;
+        log.info("Route graph v{} loaded from {} with {} locations and {} transportations in {} ms",
+                refreshed.version(),
+                source,
+                refreshed.locationCount(),
+                refreshed.transportationCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        return refreshed;
+    }
+
+    /**
+     * Reads the snapshot and replaces every row the change log records as inserted, updated or deleted by a
+     * transaction the snapshot's read did not see. The rows are read in one repeatable-read transaction
+     * together with the new position, which the file is written back with. Returns {@code null} when there
+     * is no usable snapshot or the log no longer reaches back to it.
+     */
+    private @Nullable RouteGraph loadSnapshot(long version) {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return null;
+        }
+
+        RouteGraphSnapshot.Contents contents;
+        try {
+            contents = RouteGraphSnapshot.read(snapshotPath);
+        } catch (IOException e) {
+            log.warn("Ignoring route graph snapshot {}", snapshotPath, e);
+            return null;
+        }
+
+        Delta delta = readTransaction.execute(status -> changeLog.changedSince(contents.position())
+                .map(changed -> new Delta(changeLog.position(),
+                        changed,
+                        locationService.getLocationsByIds(changed.locationIds()),
+                        transportationService.getTransportationsByIds(changed.transportationIds())))
+                .orElse(null));
+        if (delta == null) {
+            log.info("Route graph snapshot {} at change {} is older than the change log", snapshotPath, contents.position().sequence());
+            return null;
+        }
+
+        Map<Long, LocationDto> locations = byId(contents.locations(), LocationDto::id);
+        locations.keySet().removeAll(delta.changed().locationIds());
+        delta.locations().forEach(location -> locations.put(location.id(), location));
+
+        Map<Long, TransportationDto> transportations = byId(contents.transportations(), TransportationDto::id);
+        transportations.keySet().removeAll(delta.changed().transportationIds());
+        delta.transportations().forEach(transportation -> transportations.put(transportation.id(), transportation));
+
+        log.info("Route graph snapshot {} read, {} locations and {} transportations changed since change {}",
+                snapshotPath, delta.changed().locationIds().size(), delta.changed().transportationIds().size(),
+                contents.position().sequence());
+        RouteGraph loaded = RouteGraph.build(version, locations.values(), transportations.values());
+        if (!delta.changed().isEmpty()) {
+            writeSnapshot(loaded, delta.position());
+        }
+        return loaded;
+    }
+
+    private void writeSnapshot(RouteGraph current, ChangePosition position) {
+        if (snapshotPath == null) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            RouteGraphSnapshot.write(snapshotPath, position, current.locations(), current.transportations());
+            log.info("Route graph v{} written to {} in {} ms", current.version(), snapshotPath, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Could not write route graph snapshot {}", snapshotPath, e);
+        }
+    }
+
+    private static <T> Map<Long, T> byId(Collection<T> values, Function<T, Long> id) {
+        Map<Long, T> result = HashMap.newHashMap(values.size());
+        values.forEach(value -> result.put(id.apply(value), value));
+        return result;
+    }
+
+    private record Delta(ChangePosition position,
+                         ChangedRows changed,
+                         List<LocationDto> locations,
+                         List<TransportationDto> transportations) {
+    }
+
+    private synchronized void apply(UnaryOperator<RouteGraph> change) {
+        RouteGraph current = graph;
+        if (current == null) {
+            refresh();
+            return;
+        }
+        RouteGraph changed = change.apply(current);
+        graph = changed;
+        log.debug("Route graph swapped to v{}", changed.version());
+    }
+}
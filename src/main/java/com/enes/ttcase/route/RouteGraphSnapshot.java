@@ -0,0 +1,214 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.change.ChangePosition;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.OperatingDays;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary file with every location and transportation of the route graph, so an instance boots from one
+ * sequential read instead of loading the network through Hibernate. The file is decoded onto the heap;
+ * searches run on the {@link RouteGraph} built from it.
+ * <p>
+ * The file is not memory-mapped. Searches never run on it off-heap, and instances on one host share only the
+ * file, not the graph: each decodes its own copy.
+ * <p>
+ * Layout, big-endian: a header (magic, format version, change position, record counts), a table of UTF-8
+ * strings, fixed-width location records that refer to strings by index, fixed-width transportation records
+ * that refer to locations by record index, and a CRC32 of everything before it. The change position is that
+ * of the database read the file was written from; changes it did not see are replayed from the change log.
+ * Files are written next to the target and renamed over it, so a reader never reads a partial file.
+ */
+final class RouteGraphSnapshot {
+
+    static final int MAGIC = 0x52475348;
+    static final int FORMAT_VERSION = 2;
+
+    private static final long NO_INSTANT = Long.MIN_VALUE;
+    private static final int NO_TIME = -1;
+    private static final TransportationType[] TYPES = TransportationType.values();
+
+    private RouteGraphSnapshot() {
+    }
+
+    record Contents(ChangePosition position, List<LocationDto> locations, List<TransportationDto> transportations) {
+    }
+
+    static void write(Path path,
+                      ChangePosition position,
+                      Collection<LocationDto> locations,
+                      Collection<TransportationDto> transportations) throws IOException {
+        Map<String, Integer> strings = new HashMap<>();
+        List<String> stringTable = new ArrayList<>();
+        Map<Long, Integer> locationIndexes = HashMap.newHashMap(locations.size());
+        for (LocationDto location : locations) {
+            locationIndexes.put(location.id(), locationIndexes.size());
+            for (String value : List.of(location.name(), location.country(), location.city(), location.locationCode())) {
+                strings.computeIfAbsent(value, v -> {
+                    stringTable.add(v);
+                    return stringTable.size() - 1;
+                });
+            }
+        }
+        List<TransportationDto> bound = new ArrayList<>(transportations.size());
+        for (TransportationDto transportation : transportations) {
+            if (locationIndexes.containsKey(transportation.origin().id()) && locationIndexes.containsKey(transportation.destination().id())) {
+                bound.add(transportation);
+            }
+        }
+
+        Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            CRC32 checksum = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), checksum))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(position.sequence());
+                writeString(out, position.snapshot());
+                out.writeInt(stringTable.size());
+                out.writeInt(locations.size());
+                out.writeInt(bound.size());
+
+                for (String value : stringTable) {
+                    writeString(out, value);
+                }
+                for (LocationDto location : locations) {
+                    out.writeLong(location.id());
+                    out.writeInt(strings.get(location.name()));
+                    out.writeInt(strings.get(location.country()));
+                    out.writeInt(strings.get(location.city()));
+                    out.writeInt(strings.get(location.locationCode()));
+                    out.writeLong(toMicros(location.createdAt()));
+                    out.writeLong(toMicros(location.updatedAt()));
+                }
+                for (TransportationDto transportation : bound) {
+                    out.writeLong(transportation.id());
+                    out.writeInt(locationIndexes.get(transportation.origin().id()));
+                    out.writeInt(locationIndexes.get(transportation.destination().id()));
+                    out.writeByte(transportation.transportationType().ordinal());
+                    out.writeByte(transportation.operatingDayMask());
+                    out.writeInt(toSecondOfDay(transportation.departureTime()));
+                    out.writeInt(toSecondOfDay(transportation.arrivalTime()));
+                    out.writeLong(toMicros(transportation.createdAt()));
+                    out.writeLong(toMicros(transportation.updatedAt()));
+                }
+                out.flush();
+                out.writeLong(checksum.getValue());
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @throws IOException if the file cannot be read, is not a snapshot of this format version, or is corrupt
+     */
+    static Contents read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.capacity() < Long.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a route graph snapshot: " + path);
+        }
+        if (buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IOException("Unsupported route graph snapshot version " + buffer.getInt(Integer.BYTES) + ": " + path);
+        }
+        int end = buffer.capacity() - Long.BYTES;
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(0, end));
+        if (checksum.getValue() != buffer.getLong(end)) {
+            throw new IOException("Route graph snapshot checksum mismatch: " + path);
+        }
+
+        try {
+            return decode(buffer.slice(0, end));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt route graph snapshot: " + path, e);
+        }
+    }
+
+    private static Contents decode(ByteBuffer buffer) {
+        buffer.position(2 * Integer.BYTES);
+        ChangePosition position = new ChangePosition(buffer.getLong(), readString(buffer));
+        String[] strings = new String[buffer.getInt()];
+        LocationDto[] locations = new LocationDto[buffer.getInt()];
+        TransportationDto[] transportations = new TransportationDto[buffer.getInt()];
+
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(buffer);
+        }
+        for (int i = 0; i < locations.length; i++) {
+            locations[i] = new LocationDto(buffer.getLong(),
+                    strings[buffer.getInt()],
+                    strings[buffer.getInt()],
+                    strings[buffer.getInt()],
+                    strings[buffer.getInt()],
+                    fromMicros(buffer.getLong()),
+                    fromMicros(buffer.getLong()));
+        }
+        for (int i = 0; i < transportations.length; i++) {
+            transportations[i] = new TransportationDto(buffer.getLong(),
+                    locations[buffer.getInt()],
+                    locations[buffer.getInt()],
+                    TYPES[buffer.get()],
+                    OperatingDays.fromMask(buffer.get()),
+                    fromSecondOfDay(buffer.getInt()),
+                    fromSecondOfDay(buffer.getInt()),
+                    fromMicros(buffer.getLong()),
+                    fromMicros(buffer.getLong()));
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalStateException(buffer.remaining() + " trailing bytes");
+        }
+        return new Contents(position, List.of(locations), List.of(transportations));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toMicros(@Nullable Instant instant) {
+        return instant == null ? NO_INSTANT : Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    private static @Nullable Instant fromMicros(long micros) {
+        return micros == NO_INSTANT ? null : Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static int toSecondOfDay(@Nullable LocalTime time) {
+        return time == null ? NO_TIME : time.toSecondOfDay();
+    }
+
+    private static @Nullable LocalTime fromSecondOfDay(int secondOfDay) {
+        return secondOfDay == NO_TIME ? null : LocalTime.ofSecondOfDay(secondOfDay);
+    }
+}
@@ -0,0 +1,30 @@
+package com.enes.ttcase.route;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value = "/api/v1/routes/index")
+@ConditionalOnProperty(name = "route.index.enabled", havingValue = "true")
+class RouteIndexController {
+
+    private final RouteIndexService routeIndexService;
+
+    RouteIndexController(RouteIndexService routeIndexService) {
+        this.routeIndexService = routeIndexService;
+    }
+
+    @GetMapping("/statistics")
+    public RouteIndexStatistics getStatistics() {
+        return routeIndexService.statistics();
+    }
+
+    @PostMapping("/rebuild")
+    public RouteIndexStatistics rebuild() {
+        routeIndexService.rebuild();
+        return routeIndexService.statistics();
+    }
+}
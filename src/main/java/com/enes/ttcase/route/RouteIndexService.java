@@ -0,0 +1,305 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.WarmupTask;
+import com.enes.ttcase.location.LocationChangedEvent;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationChangedEvent;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Precomputed routes for every origin, destination and operating day that has at least one route.
+ * Entries are grouped by country pair and day, which is the unit a flight change invalidates, while
+ * feeder changes only recompute the row of their origin and the column of their destination.
+ */
+@Service
+@ConditionalOnProperty(name = "route.index.enabled", havingValue = "true")
+class RouteIndexService implements WarmupTask {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteIndexService.class);
+
+    private final RouteGraphService routeGraphService;
+    private final RouteFinder routeFinder;
+    private final RouteRules routeRules;
+
+    private volatile @Nullable Map<IndexGroup, Map<LocationPair, List<Route>>> index;
+    private volatile long lastRebuildMillis;
+    private volatile Instant lastRebuiltAt = Instant.EPOCH;
+    private volatile long lastUpdateMillis;
+
+    RouteIndexService(RouteGraphService routeGraphService,
+                      RouteFinder routeFinder,
+                      RouteRules routeRules) {
+        if (routeFinder.isTimeDependent()) {
+            throw new IllegalStateException("route.index.enabled cannot be combined with a time-dependent route.finder: "
+                    + "the index holds routes for any departure time");
+        }
+        this.routeGraphService = routeGraphService;
+        this.routeFinder = routeFinder;
+        this.routeRules = routeRules;
+    }
+
+    public List<Route> findRoutes(String originCode, String destinationCode, DayOfWeek operatingDay) {
+        RouteGraph graph = routeGraphService.current();
+        LocationDto origin = graph.findLocation(originCode);
+        LocationDto destination = graph.findLocation(destinationCode);
+
+        if (origin == null || destination == null) {
+            throw new IllegalArgumentException("Invalid origin or destination location code");
+        }
+
+        Map<IndexGroup, Map<LocationPair, List<Route>>> current = index;
+        if (current == null) {
+            return search(graph, origin, destination, operatingDay);
+        }
+
+        Map<LocationPair, List<Route>> group = current.get(new IndexGroup(origin.country(), destination.country(), operatingDay));
+        if (group == null) {
+            return List.of();
+        }
+        return group.getOrDefault(new LocationPair(origin.id(), destination.id()), List.of());
+    }
+
+    public RouteIndexStatistics statistics() {
+        Map<IndexGroup, Map<LocationPair, List<Route>>> current = index;
+        int groups = 0;
+        int entries = 0;
+        long routes = 0;
+        if (current != null) {
+            for (Map<LocationPair, List<Route>> group : current.values()) {
+                groups++;
+                entries += group.size();
+                for (List<Route> pairRoutes : group.values()) {
+                    routes += pairRoutes.size();
+                }
+            }
+        }
+        return new RouteIndexStatistics(groups, entries, routes, lastRebuildMillis, lastRebuiltAt, lastUpdateMillis);
+    }
+
+    @Override
+    public String name() {
+        return "route-index";
+    }
+
+    @Override
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Builds the index unless the warm-up already did.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (index == null) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        RouteGraph graph = routeGraphService.current();
+        Map<IndexGroup, Map<LocationPair, List<Route>>> rebuilt = new ConcurrentHashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (String originCountry : graph.countries()) {
+                for (String destinationCountry : graph.flightDestinationCountries(originCountry, day)) {
+                    indexGroup(graph, rebuilt, new IndexGroup(originCountry, destinationCountry, day));
+                }
+            }
+        }
+        index = rebuilt;
+        lastRebuildMillis = (System.nanoTime() - start) / 1_000_000;
+        lastRebuiltAt = Instant.now();
+
+        RouteIndexStatistics statistics = statistics();
+        log.info("Route index rebuilt from graph v{} with {} entries and {} routes in {} ms",
+                graph.version(),
+                statistics.entries(),
+                statistics.routes(),
+                statistics.lastRebuildMillis());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTransportationChanged(TransportationChangedEvent event) {
+        Map<IndexGroup, Map<LocationPair, List<Route>>> current = index;
+        if (current == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        RouteGraph graph = routeGraphService.current();
+        if (event.previous() != null) {
+            reindex(graph, current, event.previous());
+        }
+        if (event.current() != null) {
+            reindex(graph, current, event.current());
+        }
+        lastUpdateMillis = (System.nanoTime() - start) / 1_000_000;
+        log.debug("Route index updated for graph v{} in {} ms", graph.version(), lastUpdateMillis);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(LocationChangedEvent event) {
+        if (index != null) {
+            rebuild();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImportCompleted(ImportCompletedEvent event) {
+        if (index != null) {
+            rebuild();
+        }
+    }
+
+    private void reindex(RouteGraph graph, Map<IndexGroup, Map<LocationPair, List<Route>>> current, TransportationDto transportation) {
+        Set<Integer> operatingDays = transportation.operatingDays() == null ? Set.of() : transportation.operatingDays();
+        for (Integer operatingDay : operatingDays) {
+            if (operatingDay == null || operatingDay < 0 || operatingDay >= DayOfWeek.values().length) {
+                continue;
+            }
+            DayOfWeek day = DayOfWeek.values()[operatingDay];
+            if (transportation.transportationType() == TransportationType.FLIGHT) {
+                indexGroup(graph, current, new IndexGroup(transportation.origin().country(), transportation.destination().country(), day));
+            }
+            reindexOrigin(graph, current, transportation.origin(), day);
+            reindexDestination(graph, current, transportation.destination(), day);
+        }
+    }
+
+    private void indexGroup(RouteGraph graph, Map<IndexGroup, Map<LocationPair, List<Route>>> target, IndexGroup group) {
+        RouteGraph.Endpoints endpoints = graph.findEndpoints(group.originCountry(), group.destinationCountry(), group.day());
+        Map<LocationPair, List<Route>> entries = new HashMap<>();
+        for (LocationDto origin : endpoints.origins()) {
+            for (LocationDto destination : endpoints.destinations()) {
+                put(entries, origin, destination, search(graph, origin, destination, group.day()));
+            }
+        }
+        replace(target, group, entries);
+    }
+
+    private void reindexOrigin(RouteGraph graph, Map<IndexGroup, Map<LocationPair, List<Route>>> current, LocationDto origin, DayOfWeek day) {
+        Set<IndexGroup> groups = indexedGroups(current, day, group -> group.originCountry().equals(origin.country()));
+        for (String destinationCountry : graph.flightDestinationCountries(origin.country(), day)) {
+            groups.add(new IndexGroup(origin.country(), destinationCountry, day));
+        }
+
+        for (IndexGroup group : groups) {
+            Map<LocationPair, List<Route>> entries = copyWithout(current.get(group), pair -> pair.originId() == origin.id());
+            RouteGraph.Endpoints endpoints = graph.findEndpoints(group.originCountry(), group.destinationCountry(), day);
+            if (endpoints.origins().stream().anyMatch(location -> location.id() == origin.id())) {
+                for (LocationDto destination : endpoints.destinations()) {
+                    put(entries, origin, destination, search(graph, origin, destination, day));
+                }
+            }
+            replace(current, group, entries);
+        }
+    }
+
+    private void reindexDestination(RouteGraph graph, Map<IndexGroup, Map<LocationPair, List<Route>>> current, LocationDto destination, DayOfWeek day) {
+        Set<IndexGroup> groups = indexedGroups(current, day, group -> group.destinationCountry().equals(destination.country()));
+        for (String originCountry : graph.countries()) {
+            if (graph.flightDestinationCountries(originCountry, day).contains(destination.country())) {
+                groups.add(new IndexGroup(originCountry, destination.country(), day));
+            }
+        }
+
+        for (IndexGroup group : groups) {
+            Map<LocationPair, List<Route>> entries = copyWithout(current.get(group), pair -> pair.destinationId() == destination.id());
+            RouteGraph.Endpoints endpoints = graph.findEndpoints(group.originCountry(), group.destinationCountry(), day);
+            if (endpoints.destinations().stream().anyMatch(location -> location.id() == destination.id())) {
+                for (LocationDto origin : endpoints.origins()) {
+                    put(entries, origin, destination, search(graph, origin, destination, day));
+                }
+            }
+            replace(current, group, entries);
+        }
+    }
+
+    private static Set<IndexGroup> indexedGroups(Map<IndexGroup, Map<LocationPair, List<Route>>> current,
+                                                 DayOfWeek day,
+                                                 Predicate<IndexGroup> filter) {
+        Set<IndexGroup> groups = new HashSet<>();
+        for (IndexGroup group : current.keySet()) {
+            if (group.day() == day && filter.test(group)) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Groups are recomputed on a copy and swapped in whole, so a concurrent search sees either the old or
+     * the new routes of a pair, never a pair that is missing while it is recomputed.
+     */
+    private static Map<LocationPair, List<Route>> copyWithout(@Nullable Map<LocationPair, List<Route>> entries,
+                                                              Predicate<LocationPair> stale) {
+        Map<LocationPair, List<Route>> copy = entries == null ? new HashMap<>() : new HashMap<>(entries);
+        copy.keySet().removeIf(stale);
+        return copy;
+    }
+
+    private static void replace(Map<IndexGroup, Map<LocationPair, List<Route>>> current,
+                                IndexGroup group,
+                                Map<LocationPair, List<Route>> entries) {
+        if (entries.isEmpty()) {
+            current.remove(group);
+        } else {
+            current.put(group, Map.copyOf(entries));
+        }
+    }
+
+    private List<Route> search(RouteGraph graph, LocationDto origin, LocationDto destination, DayOfWeek day) {
+        if (origin.id() == destination.id()) {
+            return List.of();
+        }
+        RouteFindContext context = new RouteFindContext(
+                origin,
+                destination,
+                graph.findCandidateTransportations(origin, destination, day),
+                null,
+                routeRules
+        );
+        return List.copyOf(routeFinder.findRoutes(context));
+    }
+
+    private static void put(Map<LocationPair, List<Route>> entries, LocationDto origin, LocationDto destination, List<Route> routes) {
+        LocationPair pair = new LocationPair(origin.id(), destination.id());
+        if (routes.isEmpty()) {
+            entries.remove(pair);
+        } else {
+            entries.put(pair, routes);
+        }
+    }
+
+    private record IndexGroup(String originCountry, String destinationCountry, DayOfWeek day) {
+    }
+
+    private record LocationPair(long originId, long destinationId) {
+    }
+}
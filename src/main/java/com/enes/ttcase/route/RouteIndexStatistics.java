@@ -0,0 +1,13 @@
+package com.enes.ttcase.route;
+
+import java.time.Instant;
+
+public record RouteIndexStatistics(
+        int groups,
+        int entries,
+        long routes,
+        long lastRebuildMillis,
+        Instant lastRebuiltAt,
+        long lastUpdateMillis
+) {
+}
@@ -0,0 +1,26 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+interface RouteNetwork {
+
+    RouteFindContext loadContext(String originCode,
+                                 String destinationCode,
+                                 DayOfWeek operatingDay) throws InterruptedException;
+
+    /**
+     * Resolves the given codes at once; unknown codes are absent from the result.
+     */
+    Map<String, LocationDto> findLocations(Set<String> locationCodes);
+
+    /**
+     * Loads the contexts of several searches that share the same origin country, destination country and day,
+     * in the order of {@code endpoints}. Each context holds exactly the candidates a single search would load.
+     */
+    List<RouteFindContext> loadContexts(List<RouteEndpoints> endpoints, DayOfWeek operatingDay);
+}
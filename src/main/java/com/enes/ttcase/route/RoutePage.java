@@ -0,0 +1,11 @@
+package com.enes.ttcase.route;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+public record RoutePage(
+        List<Route> routes,
+        @Nullable String nextCursor
+) {
+}
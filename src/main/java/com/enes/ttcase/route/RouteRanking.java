@@ -0,0 +1,34 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+
+import java.util.Set;
+
+public enum RouteRanking {
+
+    FEWEST_LEGS {
+        @Override
+        int cost(TransportationDto leg, Set<TransportationType> preferredTypes) {
+            return 1;
+        }
+    },
+    FEWEST_NON_FLIGHT_LEGS {
+        @Override
+        int cost(TransportationDto leg, Set<TransportationType> preferredTypes) {
+            return leg.transportationType() == TransportationType.FLIGHT ? 0 : 1;
+        }
+    },
+    PREFERRED_TYPES {
+        @Override
+        int cost(TransportationDto leg, Set<TransportationType> preferredTypes) {
+            return preferredTypes.contains(leg.transportationType()) ? 0 : 1;
+        }
+    };
+
+    /**
+     * Non-negative cost of a single leg; a route costs the sum of its legs, so a partial route never costs
+     * less than any of its completions.
+     */
+    abstract int cost(TransportationDto leg, Set<TransportationType> preferredTypes);
+}
@@ -0,0 +1,111 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.location.LocationChangedEvent;
+import com.enes.ttcase.transportation.TransportationChangedEvent;
+import com.enes.ttcase.transportation.TransportationType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized route search responses keyed by search parameters and network version. Any location or transportation write bumps
+ * the version, which makes every older entry unreachable without touching it; those entries then age out
+ * through the size bound and time-to-live.
+ */
+@Component
+class RouteResultCache {
+
+    record Key(long version,
+               String originCode,
+               String destinationCode,
+               DayOfWeek operatingDay,
+               @Nullable LocalTime departureTime,
+               @Nullable RouteRanking ranking,
+               @Nullable Set<TransportationType> preferredTransportationTypes,
+               @Nullable Integer limit,
+               @Nullable String cursor,
+               @Nullable RouteRulesRequest rules) {
+    }
+
+    record Entry(byte[] body, @Nullable String nextCursor) {
+    }
+
+    private final AtomicLong version = new AtomicLong();
+    private final Cache<Key, Entry> cache;
+
+    RouteResultCache(MeterRegistry meterRegistry,
+                     @Value("${route.result-cache.maximum-bytes:67108864}") long maximumBytes,
+                     @Value("${route.result-cache.time-to-live:300s}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Key key, Entry value) -> value.body().length)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "routeResults");
+    }
+
+    /**
+     * @param departureTime set only for time-dependent finders, so that day-based results stay shared by
+     *                      every search of the day
+     */
+    Key key(SearchRouteRequest request, DayOfWeek operatingDay, @Nullable LocalTime departureTime) {
+        return new Key(version.get(),
+                request.originCode(),
+                request.destinationCode(),
+                operatingDay,
+                departureTime,
+                request.ranking(),
+                request.preferredTransportationTypes(),
+                request.limit(),
+                request.cursor(),
+                request.rules());
+    }
+
+    @Nullable
+    Entry get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    void put(Key key, Entry response) {
+        cache.put(key, response);
+    }
+
+    long version() {
+        return version.get();
+    }
+
+    // Runs after the route graph, index and transportation cache have applied the change, so a search that
+    // observes the new version can only read the new network.
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransportationChanged(TransportationChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(LocationChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImportCompleted(ImportCompletedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,92 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.jspecify.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Which paths between two locations count as routes. Finders still require distinct stops; everything else
+ * comes from here. The deployment defaults are configured under {@code route.rules}, and a request may only
+ * narrow them, since candidate selection and the route index are built for the defaults.
+ *
+ * @param maxLegs              legs per route, at most {@link #MAX_LEGS}
+ * @param minFlights           flights a route needs
+ * @param maxFlights           flights a route may take
+ * @param maxLegsBeforeFlight  ground legs before the first flight, i.e. transfers around the origin
+ * @param maxLegsAfterFlight   ground legs in a row after a flight, i.e. transfers around the destination
+ * @param excludedBeforeFlight ground types that may not be taken before the first flight
+ */
+public record RouteRules(
+        int maxLegs,
+        int minFlights,
+        int maxFlights,
+        int maxLegsBeforeFlight,
+        int maxLegsAfterFlight,
+        Set<TransportationType> excludedBeforeFlight
+) {
+
+    public static final int MAX_LEGS = 3;
+
+    public static final RouteRules DEFAULT = new RouteRules(MAX_LEGS, 1, MAX_LEGS, MAX_LEGS, MAX_LEGS, Set.of());
+
+    public RouteRules {
+        if (maxLegs < 1 || maxLegs > MAX_LEGS) {
+            throw new IllegalArgumentException("Maximum legs must be between 1 and " + MAX_LEGS);
+        }
+        if (minFlights < 0 || maxFlights < 0 || maxLegsBeforeFlight < 0 || maxLegsAfterFlight < 0) {
+            throw new IllegalArgumentException("Route rule limits must not be negative");
+        }
+        if (minFlights > Math.min(maxFlights, maxLegs)) {
+            throw new IllegalArgumentException("Minimum flights exceed the flights or legs a route may take");
+        }
+        excludedBeforeFlight = Set.copyOf(excludedBeforeFlight);
+    }
+
+    /**
+     * @return these rules, tightened by every limit the request sets
+     * @throws IllegalArgumentException if the narrowed rules cannot be satisfied
+     */
+    public RouteRules narrow(@Nullable RouteRulesRequest request) {
+        if (request == null) {
+            return this;
+        }
+        Set<TransportationType> excluded = EnumSet.noneOf(TransportationType.class);
+        excluded.addAll(excludedBeforeFlight);
+        if (request.excludedBeforeFlight() != null) {
+            excluded.addAll(request.excludedBeforeFlight());
+        }
+        return new RouteRules(
+                min(maxLegs, request.maxLegs()),
+                request.minFlights() == null ? minFlights : Math.max(minFlights, request.minFlights()),
+                min(maxFlights, request.maxFlights()),
+                min(maxLegsBeforeFlight, request.maxLegsBeforeFlight()),
+                min(maxLegsAfterFlight, request.maxLegsAfterFlight()),
+                excluded);
+    }
+
+    /**
+     * Checks a complete route, e.g. one found under wider rules.
+     */
+    public boolean allows(Route route) {
+        CompiledRouteRules compiled = compile();
+        int state = compiled.start();
+        for (TransportationDto leg : route.steps()) {
+            state = compiled.extend(state, leg.transportationType());
+            if (state == CompiledRouteRules.REJECTED) {
+                return false;
+            }
+        }
+        return compiled.isComplete(state);
+    }
+
+    CompiledRouteRules compile() {
+        return new CompiledRouteRules(this);
+    }
+
+    private static int min(int limit, @Nullable Integer requested) {
+        return requested == null ? limit : Math.min(limit, requested);
+    }
+}
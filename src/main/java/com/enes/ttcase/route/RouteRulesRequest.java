@@ -0,0 +1,23 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.transportation.TransportationType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * Per-request limits on top of the deployment's {@link RouteRules}; unset fields keep the deployment value,
+ * and set ones can only tighten it.
+ */
+public record RouteRulesRequest(
+        @Nullable @Min(1) @Max(RouteRules.MAX_LEGS) Integer maxLegs,
+        @Nullable @PositiveOrZero Integer minFlights,
+        @Nullable @PositiveOrZero Integer maxFlights,
+        @Nullable @PositiveOrZero Integer maxLegsBeforeFlight,
+        @Nullable @PositiveOrZero Integer maxLegsAfterFlight,
+        @Nullable Set<TransportationType> excludedBeforeFlight
+) {
+}
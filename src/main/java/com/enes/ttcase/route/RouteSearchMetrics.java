@@ -0,0 +1,106 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.transportation.TransportationDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records where route search time goes and how large each search is. Every phase is a
+ * {@code route.search.phase} timer tagged with its name; candidate edges, expanded states and returned
+ * routes are histograms. Tags only take bounded values, so location codes and country names never
+ * become tags; a search is {@code domestic} or {@code international} instead of a country pair.
+ */
+@Component
+class RouteSearchMetrics {
+
+    static final String PHASE_LOCATIONS = "locations";
+    static final String PHASE_FLIGHTS = "flights";
+    static final String PHASE_ORIGIN_TRANSFERS = "origin-transfers";
+    static final String PHASE_DESTINATION_TRANSFERS = "destination-transfers";
+    static final String PHASE_CANDIDATES = "candidates";
+    static final String PHASE_INDEX = "index";
+    static final String PHASE_BUILD_GRAPH = "build-graph";
+    static final String PHASE_SEARCH = "search";
+    static final String PHASE_SERIALIZE = "serialize";
+
+    private static final double MAXIMUM_EXPECTED_SIZE = 1_000_000;
+
+    private final MeterRegistry meterRegistry;
+
+    RouteSearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    <T> T time(String phase, Supplier<T> task) {
+        return phaseTimer(phase).record(task);
+    }
+
+    /**
+     * Records the candidate count of the context and returns a sink that records the finder's own phases
+     * once it completes.
+     */
+    RouteSink instrument(RouteFinder finder, RouteFindContext context, RouteSink sink) {
+        String finderName = finderName(finder);
+        size("route.search.candidates", "scope", scope(context), context.transportations().size());
+
+        return new RouteSink() {
+            @Override
+            public boolean accept(Route route) {
+                return sink.accept(route);
+            }
+
+            @Override
+            public int cost(TransportationDto leg) {
+                return sink.cost(leg);
+            }
+
+            @Override
+            public boolean canAccept(int cost) {
+                return sink.canAccept(cost);
+            }
+
+            @Override
+            public void completed(RouteSearchStatistics statistics) {
+                phaseTimer(PHASE_BUILD_GRAPH).record(statistics.graphNanos(), TimeUnit.NANOSECONDS);
+                phaseTimer(PHASE_SEARCH).record(statistics.searchNanos(), TimeUnit.NANOSECONDS);
+                size("route.search.expanded.states", "finder", finderName, statistics.expandedStates());
+                sink.completed(statistics);
+            }
+        };
+    }
+
+    void recordRoutes(@Nullable RouteRanking ranking, int routes) {
+        size("route.search.routes", "ranking", ranking == null ? "none" : ranking.name().toLowerCase(Locale.ROOT), routes);
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("route.search.phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void size(String name, String tag, String value, int amount) {
+        DistributionSummary.builder(name)
+                .tag(tag, value)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAXIMUM_EXPECTED_SIZE)
+                .register(meterRegistry)
+                .record(amount);
+    }
+
+    private static String scope(RouteFindContext context) {
+        return context.origin().country().equals(context.destination().country()) ? "domestic" : "international";
+    }
+
+    private static String finderName(RouteFinder finder) {
+        return finder.getClass().getSimpleName().replace("RouteFinder", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package com.enes.ttcase.route;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.List;
+
+public record RouteSearchResult(
+        String originCode,
+        String destinationCode,
+        Instant date,
+        @Nullable List<Route> routes,
+        @Nullable String nextCursor,
+        @Nullable String error
+) {
+
+    static RouteSearchResult success(SearchRouteRequest request, RoutePage page) {
+        return new RouteSearchResult(request.originCode(), request.destinationCode(), request.date(), page.routes(), page.nextCursor(), null);
+    }
+
+    static RouteSearchResult failure(SearchRouteRequest request, String error) {
+        return new RouteSearchResult(request.originCode(), request.destinationCode(), request.date(), null, null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.enes.ttcase.route;
+
+/**
+ * What a single {@link RouteFinder#findRoutes(RouteFindContext, RouteSink)} call spent.
+ *
+ * @param graphNanos     time spent indexing the candidate transportations
+ * @param searchNanos    time spent searching and emitting routes
+ * @param expandedStates partial routes the finder extended or examined
+ */
+public record RouteSearchStatistics(
+        long graphNanos,
+        long searchNanos,
+        int expandedStates
+) {
+}
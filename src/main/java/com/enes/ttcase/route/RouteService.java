@@ -1,98 +1,301 @@
 package com.enes.ttcase.route;
 
 import com.enes.ttcase.location.LocationDto;
-import com.enes.ttcase.location.LocationService;
-import com.enes.ttcase.transportation.TransportationDto;
-import com.enes.ttcase.transportation.TransportationService;
 import com.enes.ttcase.transportation.TransportationType;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
-import java.time.Instant;
+import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 public class RouteService {
 
-    private final TransportationService transportationService;
-    private final LocationService locationService;
+    private static final Logger log = LoggerFactory.getLogger(RouteService.class);
+
+    private final RouteNetwork routeNetwork;
     private final RouteFinder routeFinder;
+    private final Optional<RouteIndexService> routeIndex;
+    private final RouteResultCache resultCache;
+    private final JsonMapper jsonMapper;
+    private final RouteSearchMetrics metrics;
+    private final RouteRules routeRules;
     private final ExecutorService executor;
 
-    public RouteService(TransportationService transportationService,
-                        LocationService locationService,
+    public RouteService(RouteNetwork routeNetwork,
                         RouteFinder routeFinder,
-                        @Qualifier("transportationExecutorService") ExecutorService executor) {
-        this.transportationService = transportationService;
-        this.locationService = locationService;
+                        Optional<RouteIndexService> routeIndex,
+                        RouteResultCache resultCache,
+                        JsonMapper jsonMapper,
+                        RouteSearchMetrics metrics,
+                        RouteRules routeRules,
+                        @Qualifier("routeSearchExecutorService") ExecutorService executor) {
+        this.routeNetwork = routeNetwork;
         this.routeFinder = routeFinder;
+        this.routeIndex = routeIndex;
+        this.resultCache = resultCache;
+        this.jsonMapper = jsonMapper;
+        this.metrics = metrics;
+        this.routeRules = routeRules;
         this.executor = executor;
     }
 
-    public List<Route> searchRoutes(SearchRouteRequest request) throws ExecutionException, InterruptedException {
-        if (request.originCode().equals(request.destinationCode())) {
-            throw new IllegalArgumentException("Origin code and Destination code are the same");
+    public List<Route> searchRoutes(SearchRouteRequest request) throws InterruptedException {
+        return searchRoutePage(request).routes();
+    }
+
+    public RoutePage searchRoutePage(SearchRouteRequest request) throws InterruptedException {
+        validate(request);
+        return page(request, prepare(request, operatingDay(request)));
+    }
+
+    RouteResultCache.Entry searchRoutesAsJson(SearchRouteRequest request) throws InterruptedException {
+        validate(request);
+        DayOfWeek operatingDay = operatingDay(request);
+
+        RouteResultCache.Key key = resultCache.key(request, operatingDay, routeFinder.isTimeDependent() ? departureTime(request) : null);
+        RouteResultCache.Entry cached = resultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        RoutePage page = page(request, prepare(request, operatingDay));
+        byte[] body = metrics.time(RouteSearchMetrics.PHASE_SERIALIZE, () -> jsonMapper.writeValueAsBytes(page.routes()));
+        RouteResultCache.Entry response = new RouteResultCache.Entry(body, page.nextCursor());
+        resultCache.put(key, response);
+        return response;
+    }
+
+    /**
+     * Validates the request and loads its candidates eagerly, so errors surface before a response is
+     * committed, and returns a search that emits up to {@code limit} routes into a sink as they are found.
+     * Ranked requests emit their page in rank order once the search has completed.
+     */
+    public Consumer<RouteSink> streamRoutes(SearchRouteRequest request, int limit) throws InterruptedException {
+        validate(request);
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        Consumer<RouteSink> search = prepare(request, operatingDay(request));
+
+        if (!isRanked(request)) {
+            return sink -> {
+                int[] emitted = {0};
+                search.accept(RouteSink.limit(route -> {
+                    emitted[0]++;
+                    return sink.accept(route);
+                }, limit));
+                metrics.recordRoutes(null, emitted[0]);
+            };
+        }
+        List<Route> routes = page(request, search).routes();
+        return sink -> emit(routes, RouteSink.limit(sink, limit));
+    }
+
+    public List<RouteSearchResult> searchRoutes(BatchSearchRouteRequest request) {
+        List<SearchRouteRequest> searches = request.searches();
+
+        Set<String> locationCodes = new HashSet<>();
+        for (SearchRouteRequest search : searches) {
+            locationCodes.add(search.originCode());
+            locationCodes.add(search.destinationCode());
+        }
+        Map<String, LocationDto> locations = routeNetwork.findLocations(locationCodes);
+
+        List<CompletableFuture<RoutePage>> results = new ArrayList<>(Collections.nCopies(searches.size(), null));
+        Map<SearchGroup, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < searches.size(); i++) {
+            SearchRouteRequest search = searches.get(i);
+            LocationDto origin = locations.get(search.originCode());
+            LocationDto destination = locations.get(search.destinationCode());
+            DayOfWeek operatingDay = operatingDay(search);
+
+            if (search.originCode().equals(search.destinationCode())) {
+                results.set(i, CompletableFuture.failedFuture(new IllegalArgumentException("Origin code and Destination code are the same")));
+            } else if (search.ranking() == RouteRanking.PREFERRED_TYPES && isEmpty(search.preferredTransportationTypes())) {
+                results.set(i, CompletableFuture.failedFuture(new IllegalArgumentException("Preferred transportation types are required for PREFERRED_TYPES ranking")));
+            } else if (origin == null || destination == null) {
+                results.set(i, CompletableFuture.failedFuture(new IllegalArgumentException("Invalid origin or destination location code")));
+            } else if (routeIndex.isPresent()) {
+                results.set(i, CompletableFuture.supplyAsync(
+                        () -> page(search, indexSearch(search.originCode(), search.destinationCode(), operatingDay, rules(search))),
+                        executor));
+            } else {
+                groups.computeIfAbsent(new SearchGroup(origin.country(), destination.country(), operatingDay), g -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+
+        groups.forEach((group, members) -> {
+            List<RouteEndpoints> endpoints = members.stream()
+                    .map(searches::get)
+                    .map(search -> new RouteEndpoints(locations.get(search.originCode()), locations.get(search.destinationCode())))
+                    .toList();
+            CompletableFuture<List<RouteFindContext>> contexts = CompletableFuture.supplyAsync(
+                    () -> routeNetwork.loadContexts(endpoints, group.operatingDay()),
+                    executor);
+            for (int j = 0; j < members.size(); j++) {
+                SearchRouteRequest search = searches.get(members.get(j));
+                int member = j;
+                results.set(members.get(j), contexts.thenApplyAsync(
+                        c -> page(search, find(c.get(member).withDepartureTime(departureTime(search)).withRules(rules(search)))),
+                        executor));
+            }
+        });
+
+        List<RouteSearchResult> response = new ArrayList<>(searches.size());
+        for (int i = 0; i < searches.size(); i++) {
+            SearchRouteRequest search = searches.get(i);
+            response.add(results.get(i)
+                    .handle((page, error) -> error == null
+                            ? RouteSearchResult.success(search, page)
+                            : RouteSearchResult.failure(search, errorMessage(error)))
+                    .join());
+        }
+        return response;
+    }
+
+    private Consumer<RouteSink> prepare(SearchRouteRequest request, DayOfWeek operatingDay) throws InterruptedException {
+        RouteRules rules = rules(request);
+        if (routeIndex.isPresent()) {
+            return indexSearch(request.originCode(), request.destinationCode(), operatingDay, rules);
+        }
+
+        RouteFindContext context = routeNetwork.loadContext(request.originCode(), request.destinationCode(), operatingDay)
+                .withDepartureTime(departureTime(request))
+                .withRules(rules);
+
+        return find(context);
+    }
+
+    private Consumer<RouteSink> find(RouteFindContext context) {
+        return sink -> routeFinder.findRoutes(context, metrics.instrument(routeFinder, context, sink));
+    }
+
+    /**
+     * The index holds the routes of the deployment rules, so narrower request rules filter them.
+     */
+    private Consumer<RouteSink> indexSearch(String originCode, String destinationCode, DayOfWeek operatingDay, RouteRules rules) {
+        List<Route> indexed = metrics.time(RouteSearchMetrics.PHASE_INDEX,
+                () -> routeIndex.orElseThrow().findRoutes(originCode, destinationCode, operatingDay));
+        List<Route> routes = rules.equals(routeRules) ? indexed : indexed.stream().filter(rules::allows).toList();
+        return sink -> emit(routes, sink);
+    }
+
+    private RouteRules rules(SearchRouteRequest request) {
+        return routeRules.narrow(request.rules());
+    }
+
+    private RoutePage page(SearchRouteRequest request, Consumer<RouteSink> search) {
+        if (!isRanked(request)) {
+            List<Route> routes = new ArrayList<>();
+            search.accept(routes::add);
+            metrics.recordRoutes(null, routes.size());
+            return new RoutePage(routes, null);
         }
 
-        CompletableFuture<LocationDto> originFuture = CompletableFuture.supplyAsync(
-                () -> locationService.getByLocationCode(request.originCode()),
-                executor);
-        CompletableFuture<LocationDto> destinationFuture = CompletableFuture.supplyAsync(
-                () -> locationService.getByLocationCode(request.destinationCode()),
-                executor);
+        int offset = decodeCursor(request.cursor());
+        int limit = request.limit() == null ? Integer.MAX_VALUE : request.limit();
+        int end = (int) Math.min((long) offset + limit, Integer.MAX_VALUE - 1);
+        RouteRanking ranking = request.ranking() == null ? RouteRanking.FEWEST_LEGS : request.ranking();
+        Set<TransportationType> preferredTypes = request.preferredTransportationTypes() == null
+                ? Set.of()
+                : request.preferredTransportationTypes();
 
-        CompletableFuture.allOf(originFuture, destinationFuture).join();
-        LocationDto origin = originFuture.get();
-        LocationDto destination = destinationFuture.get();
+        // One route beyond the page tells whether a next page exists.
+        RankedRouteSink ranked = new RankedRouteSink(ranking, preferredTypes, end + 1);
+        search.accept(ranked);
+        List<Route> routes = ranked.routes();
+        metrics.recordRoutes(ranking, Math.max(0, Math.min(end, routes.size()) - offset));
 
-        if (origin == null || destination == null) {
-            throw new IllegalArgumentException("Invalid origin or destination location code");
+        return new RoutePage(
+                routes.subList(Math.min(offset, routes.size()), Math.min(end, routes.size())),
+                routes.size() > end ? encodeCursor(end) : null);
+    }
+
+    private static void emit(List<Route> routes, RouteSink sink) {
+        for (Route route : routes) {
+            if (!sink.accept(route)) {
+                return;
+            }
         }
+    }
+
+    private static boolean isRanked(SearchRouteRequest request) {
+        return request.ranking() != null || request.limit() != null || request.cursor() != null;
+    }
 
-        Set<TransportationDto> transportations = fetchTransportations(origin, destination, request.date());
+    private static boolean isEmpty(@Nullable Set<TransportationType> types) {
+        return types == null || types.isEmpty();
+    }
 
-        RouteFindContext context = new RouteFindContext(
-                origin,
-                destination,
-                transportations
-        );
+    private static String encodeCursor(int offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Integer.toString(offset).getBytes(StandardCharsets.UTF_8));
+    }
 
-        return routeFinder.findRoutes(context);
+    private static int decodeCursor(@Nullable String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
     }
 
-    private Set<TransportationDto> fetchTransportations(LocationDto origin, LocationDto destination, Instant date) {
-        DayOfWeek operatingDay = date.atZone(ZoneId.systemDefault()).getDayOfWeek();
-        Set<TransportationDto> flights = transportationService.findTransportationsBetweenCountries(origin.country(),
-                destination.country(),
-                TransportationType.FLIGHT,
-                operatingDay);
+    private void validate(SearchRouteRequest request) {
+        if (request.originCode().equals(request.destinationCode())) {
+            throw new IllegalArgumentException("Origin code and Destination code are the same");
+        }
+        if (request.ranking() == RouteRanking.PREFERRED_TYPES && isEmpty(request.preferredTransportationTypes())) {
+            throw new IllegalArgumentException("Preferred transportation types are required for PREFERRED_TYPES ranking");
+        }
+        decodeCursor(request.cursor());
+        rules(request);
+    }
 
-        Set<String> originAirports = flights.stream()
-                .map(t -> t.origin().locationCode())
-                .collect(Collectors.toSet());
-        Set<String> destinationAirports = flights.stream()
-                .map(t -> t.destination().locationCode())
-                .collect(Collectors.toSet());
+    private static String errorMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IllegalArgumentException) {
+            return cause.getMessage();
+        }
+        log.warn("Batch route search failed", cause);
+        return "Route search failed";
+    }
 
-        Set<TransportationDto> originTransportations = transportationService.findTransportationsBetweenLocationCodesAndOperatingDay(Set.of(origin.locationCode()),
-                originAirports,
-                operatingDay);
+    private static DayOfWeek operatingDay(SearchRouteRequest request) {
+        return request.date().atZone(ZoneId.systemDefault()).getDayOfWeek();
+    }
 
-        Set<TransportationDto> destinationTransportations = transportationService.findTransportationsBetweenLocationCodesAndOperatingDay(destinationAirports,
-                Set.of(destination.locationCode()),
-                operatingDay);
+    private static LocalTime departureTime(SearchRouteRequest request) {
+        return request.date().atZone(ZoneId.systemDefault()).toLocalTime().truncatedTo(ChronoUnit.MINUTES);
+    }
 
-        Set<TransportationDto> allTransportations = new HashSet<>(flights);
-        allTransportations.addAll(originTransportations);
-        allTransportations.addAll(destinationTransportations);
-        return allTransportations;
+    private record SearchGroup(String originCountry, String destinationCountry, DayOfWeek operatingDay) {
     }
 }
@@ -0,0 +1,56 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.transportation.TransportationDto;
+
+@FunctionalInterface
+public interface RouteSink {
+
+    /**
+     * Receives a valid route as soon as the finder discovers it.
+     *
+     * @return {@code false} to stop the search
+     */
+    boolean accept(Route route);
+
+    /**
+     * Cost of a single leg; finders sum it along the path and skip branches rejected by {@link #canAccept}.
+     */
+    default int cost(TransportationDto leg) {
+        return 0;
+    }
+
+    default boolean canAccept(int cost) {
+        return true;
+    }
+
+    /**
+     * Called once the finder has finished, also when {@link #accept} stopped the search early.
+     */
+    default void completed(RouteSearchStatistics statistics) {
+    }
+
+    static RouteSink limit(RouteSink sink, int limit) {
+        int[] remaining = {limit};
+        return new RouteSink() {
+            @Override
+            public boolean accept(Route route) {
+                return remaining[0] > 0 && sink.accept(route) && --remaining[0] > 0;
+            }
+
+            @Override
+            public int cost(TransportationDto leg) {
+                return sink.cost(leg);
+            }
+
+            @Override
+            public boolean canAccept(int cost) {
+                return sink.canAccept(cost);
+            }
+
+            @Override
+            public void completed(RouteSearchStatistics statistics) {
+                sink.completed(statistics);
+            }
+        };
+    }
+}
@@ -0,0 +1,382 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Time-dependent finder in the style of the connection scan algorithm. Scheduled transportations become
+ * connections sorted by departure minute and are scanned once; every partial route is a label with its
+ * arrival minute, and a connection extends each label waiting at its origin that arrived at least
+ * {@code route.schedule.min-transfer} before it departs. Unscheduled transportations run on demand, like
+ * footpaths in the original algorithm: they leave as soon as a label is created and its transfer time has
+ * passed, and take {@code route.schedule.on-demand.<type>} (or {@code route.schedule.on-demand.default}).
+ * <p>
+ * A label is dropped when another label at the same location, in the same route-rule state, arrives no later
+ * at no higher cost; labels that tie on both are kept. The result is therefore the routes no other route
+ * beats on arrival and cost with the same number of legs and flights, not every feasible route.
+ * <p>
+ * Remaining simplifications: on-demand legs take a fixed duration for their type, whatever the distance,
+ * and dominance ignores the locations a label has visited, so a dropped label could in rare cases have
+ * reached a location its dominating label cannot revisit. Only same-day itineraries are built: an overnight
+ * leg may end a route, but the next day's departures are not among the candidates. Routes are emitted by
+ * earliest arrival, then by fewest legs.
+ */
+@Component
+@ConditionalOnProperty(name = "route.finder", havingValue = "scheduled")
+class ScheduledRouteFinder implements RouteFinder {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final Duration DEFAULT_ON_DEMAND_DURATION = Duration.ofMinutes(15);
+
+    private final int minTransferMinutes;
+    private final int[] onDemandMinutes = new int[TransportationType.values().length];
+
+    @Autowired
+    ScheduledRouteFinder(@Value("${route.schedule.min-transfer:0m}") Duration minTransfer, Environment environment) {
+        this(minTransfer, onDemandDurations(environment));
+    }
+
+    /**
+     * @param onDemandDurations how long an unscheduled leg of each type takes; missing types take no time
+     */
+    ScheduledRouteFinder(Duration minTransfer, Map<TransportationType, Duration> onDemandDurations) {
+        this.minTransferMinutes = Math.toIntExact(minTransfer.toMinutes());
+        onDemandDurations.forEach((type, duration) -> onDemandMinutes[type.ordinal()] = Math.toIntExact(duration.toMinutes()));
+    }
+
+    @Override
+    public void findRoutes(RouteFindContext context, RouteSink sink) {
+        if (context.transportations().isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Search search = new Search(context, sink);
+        long built = System.nanoTime();
+        search.run(context.departureTime() == null ? 0 : minuteOfDay(context.departureTime()));
+        search.emit();
+        sink.completed(new RouteSearchStatistics(built - start, System.nanoTime() - built, search.labelCount));
+    }
+
+    @Override
+    public boolean isTimeDependent() {
+        return true;
+    }
+
+    private static Map<TransportationType, Duration> onDemandDurations(Environment environment) {
+        Duration fallback = environment.getProperty("route.schedule.on-demand.default", Duration.class, DEFAULT_ON_DEMAND_DURATION);
+        Map<TransportationType, Duration> durations = new EnumMap<>(TransportationType.class);
+        for (TransportationType type : TransportationType.values()) {
+            durations.put(type, environment.getProperty("route.schedule.on-demand." + type.name().toLowerCase(Locale.ROOT),
+                    Duration.class, fallback));
+        }
+        return durations;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private final class Search {
+
+        private final RouteSink sink;
+        private final CompiledRouteRules rules;
+        private final int origin;
+        private final int destination;
+
+        private final TransportationDto[] legs;
+        private final int[] legOrigins;
+        private final int[] legDestinations;
+        private final TransportationType[] types;
+        private final int[] costs;
+
+        private final long[] connections;
+        private final int[] departures;
+        private final int[] arrivals;
+        private final int[] onDemandOffsets;
+        private final int[] onDemandLegs;
+
+        private final int[] heads;
+        private int[] labelLocations = new int[64];
+        private int[] labelArrivals = new int[64];
+        private int[] labelParents = new int[64];
+        private int[] labelLegs = new int[64];
+        private int[] labelDepths = new int[64];
+        private int[] labelCosts = new int[64];
+        private int[] labelRules = new int[64];
+        private int[] labelNext = new int[64];
+        private int labelCount;
+
+        private int[] completed = new int[16];
+        private int completedCount;
+
+        Search(RouteFindContext context, RouteSink sink) {
+            this.sink = sink;
+            this.rules = context.rules().compile();
+            int size = context.transportations().size();
+            Map<LocationDto, Integer> locations = new HashMap<>(size * 2);
+            origin = intern(locations, context.origin());
+            destination = intern(locations, context.destination());
+
+            legs = new TransportationDto[size];
+            legOrigins = new int[size];
+            legDestinations = new int[size];
+            types = new TransportationType[size];
+            costs = new int[size];
+            departures = new int[size];
+            arrivals = new int[size];
+
+            int scheduled = 0;
+            int leg = 0;
+            for (TransportationDto transportation : context.transportations()) {
+                legs[leg] = transportation;
+                legOrigins[leg] = intern(locations, transportation.origin());
+                legDestinations[leg] = intern(locations, transportation.destination());
+                types[leg] = transportation.transportationType();
+                costs[leg] = sink.cost(transportation);
+                if (transportation.isScheduled()) {
+                    departures[leg] = minuteOfDay(transportation.departureTime());
+                    arrivals[leg] = minuteOfDay(transportation.arrivalTime());
+                    if (arrivals[leg] < departures[leg]) {
+                        arrivals[leg] += MINUTES_PER_DAY;
+                    }
+                    scheduled++;
+                }
+                leg++;
+            }
+
+            // Departure minute, then arrival minute, then leg index, packed so a primitive sort orders them.
+            connections = new long[scheduled];
+            onDemandOffsets = new int[locations.size() + 1];
+            onDemandLegs = new int[size - scheduled];
+            int connection = 0;
+            for (leg = 0; leg < size; leg++) {
+                if (legs[leg].isScheduled()) {
+                    connections[connection++] = ((long) departures[leg] << 42) | ((long) arrivals[leg] << 21) | leg;
+                } else {
+                    onDemandOffsets[legOrigins[leg] + 1]++;
+                }
+            }
+            Arrays.sort(connections);
+            for (int location = 1; location < onDemandOffsets.length; location++) {
+                onDemandOffsets[location] += onDemandOffsets[location - 1];
+            }
+            int[] next = Arrays.copyOf(onDemandOffsets, onDemandOffsets.length);
+            for (leg = 0; leg < size; leg++) {
+                if (!legs[leg].isScheduled()) {
+                    onDemandLegs[next[legOrigins[leg]]++] = leg;
+                }
+            }
+
+            heads = new int[locations.size()];
+            Arrays.fill(heads, -1);
+        }
+
+        void run(int departureMinute) {
+            addLabel(origin, departureMinute, -1, -1, rules.start());
+
+            for (long connection : connections) {
+                int leg = (int) (connection & 0x1FFFFF);
+                int departure = departures[leg];
+                if (departure < departureMinute) {
+                    continue;
+                }
+                for (int label = heads[legOrigins[leg]]; label >= 0; label = labelNext[label]) {
+                    if (ready(label) <= departure) {
+                        extend(label, leg, arrivals[leg]);
+                    }
+                }
+            }
+        }
+
+        void emit() {
+            Integer[] order = new Integer[completedCount];
+            for (int i = 0; i < completedCount; i++) {
+                order[i] = completed[i];
+            }
+            Arrays.sort(order, (a, b) -> {
+                int compared = Integer.compare(labelArrivals[a], labelArrivals[b]);
+                if (compared == 0) {
+                    compared = Integer.compare(labelDepths[a], labelDepths[b]);
+                }
+                return compared != 0 ? compared : Integer.compare(a, b);
+            });
+            for (int label : order) {
+                if (!sink.accept(toRoute(label))) {
+                    return;
+                }
+            }
+        }
+
+        private int ready(int label) {
+            return labelDepths[label] == 0 ? labelArrivals[label] : labelArrivals[label] + minTransferMinutes;
+        }
+
+        private void extend(int label, int leg, int arrival) {
+            if (!rules.canExtend(labelRules[label]) || visits(label, legDestinations[leg])) {
+                return;
+            }
+            int state = rules.extend(labelRules[label], types[leg]);
+            int cost = labelCosts[label] + costs[leg];
+            if (state == CompiledRouteRules.REJECTED || !sink.canAccept(cost)
+                    || isDominated(legDestinations[leg], arrival, cost, state)) {
+                return;
+            }
+            addLabel(legDestinations[leg], arrival, label, leg, state);
+        }
+
+        private boolean isDominated(int location, int arrival, int cost, int state) {
+            if (location == destination) {
+                for (int i = 0; i < completedCount; i++) {
+                    if (dominates(completed[i], arrival, cost, state)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            for (int label = heads[location]; label >= 0; label = labelNext[label]) {
+                if (dominates(label, arrival, cost, state)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean dominates(int label, int arrival, int cost, int state) {
+            return labelRules[label] == state
+                    && labelArrivals[label] <= arrival
+                    && labelCosts[label] <= cost
+                    && (labelArrivals[label] < arrival || labelCosts[label] < cost);
+        }
+
+        /**
+         * Drops the labels at {@code label}'s location that it dominates. Labels already extended keep their
+         * descendants; only their later extensions are cut.
+         */
+        private void dropDominatedBy(int label) {
+            int location = labelLocations[label];
+            int arrival = labelArrivals[label];
+            int cost = labelCosts[label];
+            int state = labelRules[label];
+            if (location == destination) {
+                int kept = 0;
+                for (int i = 0; i < completedCount; i++) {
+                    int other = completed[i];
+                    if (other == label || !dominatedBy(other, arrival, cost, state)) {
+                        completed[kept++] = other;
+                    }
+                }
+                completedCount = kept;
+                return;
+            }
+            int previous = -1;
+            for (int other = heads[location]; other >= 0; other = labelNext[other]) {
+                if (other != label && dominatedBy(other, arrival, cost, state)) {
+                    if (previous < 0) {
+                        heads[location] = labelNext[other];
+                    } else {
+                        labelNext[previous] = labelNext[other];
+                    }
+                } else {
+                    previous = other;
+                }
+            }
+        }
+
+        private boolean dominatedBy(int label, int arrival, int cost, int state) {
+            return labelRules[label] == state
+                    && arrival <= labelArrivals[label]
+                    && cost <= labelCosts[label]
+                    && (arrival < labelArrivals[label] || cost < labelCosts[label]);
+        }
+
+        private void addLabel(int location, int arrival, int parent, int leg, int state) {
+            int label = labelCount++;
+            ensureLabelCapacity(labelCount);
+            labelLocations[label] = location;
+            labelArrivals[label] = arrival;
+            labelParents[label] = parent;
+            labelLegs[label] = leg;
+            labelDepths[label] = parent < 0 ? 0 : labelDepths[parent] + 1;
+            labelCosts[label] = parent < 0 ? 0 : labelCosts[parent] + costs[leg];
+            labelRules[label] = state;
+
+            if (location == destination) {
+                if (rules.isComplete(state)) {
+                    if (completedCount == completed.length) {
+                        completed = Arrays.copyOf(completed, completedCount * 2);
+                    }
+                    completed[completedCount++] = label;
+                    dropDominatedBy(label);
+                }
+                return;
+            }
+
+            labelNext[label] = heads[location];
+            heads[location] = label;
+            dropDominatedBy(label);
+            int ready = ready(label);
+            for (int i = onDemandOffsets[location]; i < onDemandOffsets[location + 1]; i++) {
+                int onDemandLeg = onDemandLegs[i];
+                extend(label, onDemandLeg, ready + onDemandMinutes[types[onDemandLeg].ordinal()]);
+            }
+        }
+
+        private boolean visits(int label, int location) {
+            for (int current = label; labelParents[current] >= 0; current = labelParents[current]) {
+                if (labelLocations[current] == location) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Route toRoute(int label) {
+            TransportationDto[] steps = new TransportationDto[labelDepths[label]];
+            for (int current = label; labelParents[current] >= 0; current = labelParents[current]) {
+                steps[labelDepths[current] - 1] = legs[labelLegs[current]];
+            }
+            return new Route(List.of(steps));
+        }
+
+        private void ensureLabelCapacity(int size) {
+            if (labelLocations.length >= size) {
+                return;
+            }
+            int capacity = labelLocations.length * 2;
+            labelLocations = Arrays.copyOf(labelLocations, capacity);
+            labelArrivals = Arrays.copyOf(labelArrivals, capacity);
+            labelParents = Arrays.copyOf(labelParents, capacity);
+            labelLegs = Arrays.copyOf(labelLegs, capacity);
+            labelDepths = Arrays.copyOf(labelDepths, capacity);
+            labelCosts = Arrays.copyOf(labelCosts, capacity);
+            labelRules = Arrays.copyOf(labelRules, capacity);
+            labelNext = Arrays.copyOf(labelNext, capacity);
+        }
+
+        private static int intern(Map<LocationDto, Integer> locations, LocationDto location) {
+            Integer index = locations.get(location);
+            if (index == null) {
+                index = locations.size();
+                locations.put(location, index);
+            }
+            return index;
+        }
+    }
+}
@@ -1,13 +1,37 @@
 package com.enes.ttcase.route;
 
+import com.enes.ttcase.transportation.TransportationType;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.jspecify.annotations.Nullable;
 
 import java.time.Instant;
+import java.util.Set;
 
 public record SearchRouteRequest(
         @NotEmpty String originCode,
         @NotEmpty String destinationCode,
-        @NotNull Instant date
+        @NotNull Instant date,
+        @Nullable RouteRanking ranking,
+        @Nullable Set<TransportationType> preferredTransportationTypes,
+        @Nullable @Positive Integer limit,
+        @Nullable String cursor,
+        @Nullable @Valid RouteRulesRequest rules
 ) {
+
+    public SearchRouteRequest(String originCode, String destinationCode, Instant date) {
+        this(originCode, destinationCode, date, null, null, null, null, null);
+    }
+
+    public SearchRouteRequest(String originCode,
+                              String destinationCode,
+                              Instant date,
+                              @Nullable RouteRanking ranking,
+                              @Nullable Set<TransportationType> preferredTransportationTypes,
+                              @Nullable Integer limit,
+                              @Nullable String cursor) {
+        this(originCode, destinationCode, date, ranking, preferredTransportationTypes, limit, cursor, null);
+    }
 }
@@ -0,0 +1,11 @@
+package com.enes.ttcase.transportation;
+
+/**
+ * Origin and destination country of {@link TransportationRepository#findBusiestCountryPairs}.
+ */
+interface CountryPairRow {
+
+    String getOriginCountry();
+
+    String getDestinationCountry();
+}
@@ -0,0 +1,120 @@
+package com.enes.ttcase.transportation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import org.jspecify.annotations.Nullable;
+
+import java.time.DayOfWeek;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of operating days backed by a 7-bit mask, bit {@code n} standing for the {@link DayOfWeek}
+ * with ordinal {@code n}. It is the in-memory form of the {@code transportation.operating_days} column and
+ * still serializes as the JSON array of day ordinals that the REST API has always used.
+ */
+public final class OperatingDays extends AbstractSet<Integer> {
+
+    public static final OperatingDays NONE = new OperatingDays(0);
+
+    private static final int DAYS = DayOfWeek.values().length;
+    private static final int ALL = (1 << DAYS) - 1;
+
+    private final int mask;
+
+    private OperatingDays(int mask) {
+        this.mask = mask;
+    }
+
+    public static OperatingDays fromMask(int mask) {
+        if ((mask & ~ALL) != 0) {
+            throw new IllegalArgumentException("Invalid operating day mask " + mask);
+        }
+        return mask == 0 ? NONE : new OperatingDays(mask);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a day is {@code null} or not between 0 and 6
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static OperatingDays of(@Nullable Collection<Integer> days) {
+        if (days instanceof OperatingDays operatingDays) {
+            return operatingDays;
+        }
+        if (days == null) {
+            return NONE;
+        }
+        int mask = 0;
+        for (Integer day : days) {
+            if (day == null || day < 0 || day >= DAYS) {
+                throw new IllegalArgumentException("Operating days must be between 0 and 6");
+            }
+            mask |= bit(day);
+        }
+        return fromMask(mask);
+    }
+
+    public static int bit(int day) {
+        return 1 << day;
+    }
+
+    public int mask() {
+        return mask;
+    }
+
+    public boolean contains(DayOfWeek day) {
+        return (mask & bit(day.ordinal())) != 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer day && day >= 0 && day < DAYS && (mask & bit(day)) != 0;
+    }
+
+    @Override
+    public int size() {
+        return Integer.bitCount(mask);
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+
+            private int remaining = mask;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Integer next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                int day = Integer.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return day;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof OperatingDays other) {
+            return mask == other.mask;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as AbstractSet: the sum of the element hashes, so equal to any Set<Integer> of the same days
+        int hash = 0;
+        for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            hash += Integer.numberOfTrailingZeros(remaining);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,53 @@
+package com.enes.ttcase.transportation;
+
+import java.time.Instant;
+import java.time.LocalTime;
+
+/**
+ * Flat row of {@link TransportationRepository#findRouteCandidates}: one candidate edge with its endpoint
+ * columns, read without managed entities.
+ */
+interface RouteCandidateRow {
+
+    Long getId();
+
+    Integer getTransportationType();
+
+    Integer getOperatingDays();
+
+    LocalTime getDepartureTime();
+
+    LocalTime getArrivalTime();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+
+    Long getOriginId();
+
+    String getOriginName();
+
+    String getOriginCountry();
+
+    String getOriginCity();
+
+    String getOriginCode();
+
+    Instant getOriginCreatedAt();
+
+    Instant getOriginUpdatedAt();
+
+    Long getDestinationId();
+
+    String getDestinationName();
+
+    String getDestinationCountry();
+
+    String getDestinationCity();
+
+    String getDestinationCode();
+
+    Instant getDestinationCreatedAt();
+
+    Instant getDestinationUpdatedAt();
+}
@@ -1,9 +1,7 @@
 package com.enes.ttcase.transportation;
 
 import com.enes.ttcase.location.Location;
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -14,12 +12,14 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
 import java.time.Instant;
+import java.time.LocalTime;
 import java.util.Set;
 
 @Getter
@@ -47,13 +47,16 @@ public class Transportation {
     @Column(name = "transportation_type")
     private TransportationType transportationType;
 
-    @ElementCollection(targetClass = Integer.class)
-    @CollectionTable(
-            name = "transportation_operating_day",
-            joinColumns = @JoinColumn(name = "transportation_id")
-    )
-    @Column(name = "operating_day")
-    private Set<Integer> operatingDays;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "operating_days")
+    private int operatingDayMask;
+
+    @Column(name = "departure_time")
+    private LocalTime departureTime;
+
+    @Column(name = "arrival_time")
+    private LocalTime arrivalTime;
 
     @Column(name = "created_at", insertable = false, updatable = false)
     private Instant createdAt;
@@ -61,4 +64,12 @@ public class Transportation {
     @Column(name = "updated_at", insertable = false, updatable = false)
     private Instant updatedAt;
 
+    public OperatingDays getOperatingDays() {
+        return OperatingDays.fromMask(operatingDayMask);
+    }
+
+    public void setOperatingDays(Set<Integer> operatingDays) {
+        this.operatingDayMask = OperatingDays.of(operatingDays).mask();
+    }
+
 }
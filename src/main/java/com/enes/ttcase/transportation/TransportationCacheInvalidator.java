@@ -0,0 +1,122 @@
+package com.enes.ttcase.transportation;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.ImportTarget;
+import com.enes.ttcase.location.LocationChangedEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+class TransportationCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(TransportationCacheInvalidator.class);
+
+    private final CacheManager cacheManager;
+    private final TransportationCacheTags cacheTags;
+    private final MeterRegistry meterRegistry;
+
+    TransportationCacheInvalidator(CacheManager cacheManager,
+                                   TransportationCacheTags cacheTags,
+                                   MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.cacheTags = cacheTags;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransportationChanged(TransportationChangedEvent event) {
+        Set<String> keys = new HashSet<>();
+        if (event.previous() != null) {
+            keys.addAll(affectedKeys(event.previous()));
+        }
+        if (event.current() != null) {
+            keys.addAll(affectedKeys(event.current()));
+        }
+
+        evict(keys, "transportation", operation(event.previous(), event.current()));
+    }
+
+    /**
+     * Cached transportations embed their origin and destination, so a location change evicts every entry
+     * tagged with its previous or current code and country.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(LocationChangedEvent event) {
+        Set<String> keys = new HashSet<>();
+        if (event.previous() != null) {
+            keys.addAll(cacheTags.findKeysByLocation(event.previous().locationCode(), event.previous().country()));
+        }
+        if (event.current() != null) {
+            keys.addAll(cacheTags.findKeysByLocation(event.current().locationCode(), event.current().country()));
+        }
+        evict(keys, "location", operation(event.previous(), event.current()));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImportCompleted(ImportCompletedEvent event) {
+        Cache cache = cacheManager.getCache("transportations");
+        if (cache != null) {
+            cache.clear();
+        }
+        log.debug("Cleared transportation cache after importing {} {}", event.imported(),
+                event.target() == ImportTarget.LOCATIONS ? "locations" : "transportations");
+    }
+
+    private void evict(Set<String> keys, String entity, String operation) {
+        Cache cache = cacheManager.getCache("transportations");
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+
+        DistributionSummary.builder("cache.transportations.evicted.keys")
+                .tag("entity", entity)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(keys.size());
+        log.debug("Evicted {} transportation cache keys after a {} {}", keys.size(), entity, operation);
+    }
+
+    private Set<String> affectedKeys(TransportationDto transportation) {
+        Set<String> keys = new HashSet<>();
+        if (transportation.operatingDays() == null) {
+            return keys;
+        }
+        for (Integer operatingDay : transportation.operatingDays()) {
+            if (operatingDay == null || operatingDay < 0 || operatingDay >= DayOfWeek.values().length) {
+                continue;
+            }
+            DayOfWeek day = DayOfWeek.values()[operatingDay];
+            keys.add(TransportationCacheKeys.betweenCountries(transportation.origin().country(),
+                    transportation.destination().country(),
+                    transportation.transportationType(),
+                    day));
+            keys.addAll(cacheTags.findKeys(transportation.origin().locationCode(),
+                    transportation.destination().locationCode(),
+                    day));
+        }
+        return keys;
+    }
+
+    private static String operation(@Nullable Object previous, @Nullable Object current) {
+        if (previous == null) {
+            return "create";
+        }
+        return current == null ? "delete" : "update";
+    }
+}
@@ -0,0 +1,26 @@
+package com.enes.ttcase.transportation;
+
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.TreeSet;
+
+public final class TransportationCacheKeys {
+
+    private TransportationCacheKeys() {
+    }
+
+    public static String betweenCountries(String originCountry,
+                                          String destinationCountry,
+                                          TransportationType transportationType,
+                                          DayOfWeek operatingDay) {
+        return originCountry + '_' + destinationCountry + '_' + transportationType + '_' + operatingDay;
+    }
+
+    public static String betweenLocationCodes(Collection<String> originCodes,
+                                              Collection<String> destinationCodes,
+                                              DayOfWeek operatingDay) {
+        return String.join(",", new TreeSet<>(originCodes)) + '_'
+                + String.join(",", new TreeSet<>(destinationCodes)) + '_'
+                + operatingDay;
+    }
+}
@@ -0,0 +1,97 @@
+package com.enes.ttcase.transportation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis sets that map every location code and operating day, and every country, to the {@code transportations}
+ * cache keys built from them, so a single transportation or location change can find exactly the entries it
+ * affects.
+ */
+@Component
+class TransportationCacheTags {
+
+    private static final String PREFIX = "transportations:tag:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final long timeToLive;
+
+    TransportationCacheTags(StringRedisTemplate redisTemplate,
+                            @Value("${spring.cache.redis.time-to-live:600}") long timeToLive) {
+        this.redisTemplate = redisTemplate;
+        this.timeToLive = timeToLive;
+    }
+
+    void register(String cacheKey,
+                  Collection<String> originCodes,
+                  Collection<String> destinationCodes,
+                  DayOfWeek operatingDay) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String originCode : originCodes) {
+                String tag = originTag(originCode, operatingDay);
+                stringConnection.sAdd(tag, cacheKey);
+                stringConnection.expire(tag, timeToLive);
+            }
+            for (String destinationCode : destinationCodes) {
+                String tag = destinationTag(destinationCode, operatingDay);
+                stringConnection.sAdd(tag, cacheKey);
+                stringConnection.expire(tag, timeToLive);
+            }
+            return null;
+        });
+    }
+
+    void registerCountries(String cacheKey, String originCountry, String destinationCountry) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String country : Set.of(originCountry, destinationCountry)) {
+                String tag = countryTag(country);
+                stringConnection.sAdd(tag, cacheKey);
+                stringConnection.expire(tag, timeToLive);
+            }
+            return null;
+        });
+    }
+
+    Set<String> findKeys(String originCode, String destinationCode, DayOfWeek operatingDay) {
+        Set<String> keys = redisTemplate.opsForSet()
+                .intersect(originTag(originCode, operatingDay), destinationTag(destinationCode, operatingDay));
+        return keys == null ? Set.of() : keys;
+    }
+
+    /**
+     * @return every key that may hold a transportation from or to the location, on any day
+     */
+    Set<String> findKeysByLocation(String locationCode, String country) {
+        List<String> tags = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            tags.add(originTag(locationCode, day));
+            tags.add(destinationTag(locationCode, day));
+        }
+        tags.add(countryTag(country));
+        Set<String> keys = redisTemplate.opsForSet().union(tags);
+        return keys == null ? Set.of() : keys;
+    }
+
+    private static String originTag(String originCode, DayOfWeek operatingDay) {
+        return PREFIX + "origin:" + originCode + ':' + operatingDay;
+    }
+
+    private static String destinationTag(String destinationCode, DayOfWeek operatingDay) {
+        return PREFIX + "destination:" + destinationCode + ':' + operatingDay;
+    }
+
+    private static String countryTag(String country) {
+        return PREFIX + "country:" + country;
+    }
+}
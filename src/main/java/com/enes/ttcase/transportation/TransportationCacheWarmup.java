@@ -0,0 +1,59 @@
+package com.enes.ttcase.transportation;
+
+import com.enes.ttcase.common.WarmupTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+/**
+ * Loads the flight sets of the {@code warmup.transportations.country-pairs} busiest country pairs for every
+ * day through {@link TransportationService}, so they land in both cache tiers. Sets another instance already
+ * wrote to Redis are only copied into the local tier.
+ */
+@Component
+class TransportationCacheWarmup implements WarmupTask {
+
+    private static final Logger log = LoggerFactory.getLogger(TransportationCacheWarmup.class);
+
+    private final TransportationRepository repository;
+    private final TransportationService transportationService;
+    private final int countryPairs;
+
+    TransportationCacheWarmup(TransportationRepository repository,
+                              TransportationService transportationService,
+                              @Value("${warmup.transportations.country-pairs:50}") int countryPairs) {
+        this.repository = repository;
+        this.transportationService = transportationService;
+        this.countryPairs = countryPairs;
+    }
+
+    @Override
+    public String name() {
+        return "transportations-cache";
+    }
+
+    @Override
+    public void warmUp() {
+        List<CountryPairRow> pairs = repository.findBusiestCountryPairs(TransportationType.FLIGHT, Limit.of(countryPairs));
+        int sets = 0;
+        for (CountryPairRow pair : pairs) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Warmed up {} transportation sets before being interrupted", sets);
+                    return;
+                }
+                transportationService.findTransportationsBetweenCountries(pair.getOriginCountry(),
+                        pair.getDestinationCountry(),
+                        TransportationType.FLIGHT,
+                        day);
+                sets++;
+            }
+        }
+        log.info("Warmed up {} transportation sets of {} country pairs", sets, pairs.size());
+    }
+}
@@ -0,0 +1,9 @@
+package com.enes.ttcase.transportation;
+
+import org.jspecify.annotations.Nullable;
+
+public record TransportationChangedEvent(
+        @Nullable TransportationDto previous,
+        @Nullable TransportationDto current
+) {
+}
@@ -1,8 +1,15 @@
 package com.enes.ttcase.transportation;
 
+import com.enes.ttcase.common.CursorPage;
+import com.enes.ttcase.common.ImportFormat;
+import com.enes.ttcase.common.ImportResult;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,18 +18,25 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping(value = "/api/v1/transportations")
 class TransportationController {
 
     private final TransportationService transportationService;
+    private final TransportationImportService transportationImportService;
 
-    TransportationController(TransportationService transportationService) {
+    TransportationController(TransportationService transportationService,
+                             TransportationImportService transportationImportService) {
         this.transportationService = transportationService;
+        this.transportationImportService = transportationImportService;
     }
 
     @PostMapping
@@ -30,11 +44,22 @@ class TransportationController {
         return new ResponseEntity<>(transportationService.createTransportation(request), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ImportResult importTransportations(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        return transportationImportService.importTransportations(body, ImportFormat.of(contentType));
+    }
+
     @GetMapping
     public Page<TransportationDto> findAll(Pageable pageable) {
         return transportationService.getAllTransportations(pageable);
     }
 
+    @GetMapping("/scroll")
+    public CursorPage<TransportationDto> scrollTransportations(@RequestParam(required = false) @Nullable String cursor,
+                                                               @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return transportationService.scrollTransportations(cursor, size);
+    }
+
     @GetMapping("/{id}")
     public TransportationDto getTransportationById(@PathVariable long id) {
         return transportationService.findById(id);
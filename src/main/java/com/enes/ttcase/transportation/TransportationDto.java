@@ -1,8 +1,11 @@
 package com.enes.ttcase.transportation;
 
 import com.enes.ttcase.location.LocationDto;
+import org.jspecify.annotations.Nullable;
 
+import java.time.DayOfWeek;
 import java.time.Instant;
+import java.time.LocalTime;
 import java.util.Set;
 
 public record TransportationDto(
@@ -11,7 +14,41 @@ public record TransportationDto(
         LocationDto destination,
         TransportationType transportationType,
         Set<Integer> operatingDays,
+        @Nullable LocalTime departureTime,
+        @Nullable LocalTime arrivalTime,
         Instant createdAt,
         Instant updatedAt
 ) {
+
+    /**
+     * Normalizes {@code operatingDays} to an {@link OperatingDays} bitmask.
+     */
+    public TransportationDto {
+        operatingDays = OperatingDays.of(operatingDays);
+    }
+
+    public TransportationDto(long id,
+                             LocationDto origin,
+                             LocationDto destination,
+                             TransportationType transportationType,
+                             Set<Integer> operatingDays,
+                             Instant createdAt,
+                             Instant updatedAt) {
+        this(id, origin, destination, transportationType, operatingDays, null, null, createdAt, updatedAt);
+    }
+
+    /**
+     * @return {@code true} if the transportation leaves at a fixed time; unscheduled ones (e.g. taxis) run on demand
+     */
+    public boolean isScheduled() {
+        return departureTime != null && arrivalTime != null;
+    }
+
+    public int operatingDayMask() {
+        return ((OperatingDays) operatingDays).mask();
+    }
+
+    public boolean operatesOn(DayOfWeek day) {
+        return ((OperatingDays) operatingDays).contains(day);
+    }
 }
@@ -0,0 +1,201 @@
+package com.enes.ttcase.transportation;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.ImportFormat;
+import com.enes.ttcase.common.ImportReader;
+import com.enes.ttcase.common.ImportRecord;
+import com.enes.ttcase.common.ImportReport;
+import com.enes.ttcase.common.ImportResult;
+import com.enes.ttcase.common.ImportTarget;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.location.LocationService;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk transportation import. Location codes of a chunk are resolved with one multi-get, each chunk goes
+ * out as one JDBC batch in its own transaction, and caches are invalidated once when the upload is done.
+ * A chunk the database refuses is split until the failing rows are isolated.
+ */
+@Service
+class TransportationImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransportationImportService.class);
+
+    private static final String INSERT_TRANSPORTATION = """
+            INSERT INTO transportation (origin_id, destination_id, transportation_type, operating_days, departure_time, arrival_time)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final LocationService locationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    TransportationImportService(LocationService locationService,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                JsonMapper jsonMapper,
+                                Validator validator,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${import.chunk-size:1000}") int chunkSize,
+                                @Value("${import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.locationService = locationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportResult importTransportations(InputStream input, ImportFormat format) {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        try (ImportReader<TransportationSaveRequest> reader = ImportReader.open(input,
+                format,
+                TransportationSaveRequest.class,
+                TransportationImportService::fromCsv,
+                jsonMapper,
+                validator,
+                report)) {
+            for (List<ImportRecord<TransportationSaveRequest>> chunk = reader.nextChunk(chunkSize);
+                 !chunk.isEmpty();
+                 chunk = reader.nextChunk(chunkSize)) {
+                importChunk(chunk, report);
+            }
+        }
+
+        ImportResult result = report.finish();
+        log.info("Imported {} of {} transportations in {} ms ({} rows/s)",
+                result.imported(), result.received(), result.durationMillis(), Math.round(result.rowsPerSecond()));
+        if (result.imported() > 0) {
+            eventPublisher.publishEvent(new ImportCompletedEvent(ImportTarget.TRANSPORTATIONS, result.imported()));
+        }
+        return result;
+    }
+
+    private void importChunk(List<ImportRecord<TransportationSaveRequest>> chunk, ImportReport report) {
+        Set<String> locationCodes = new HashSet<>();
+        for (ImportRecord<TransportationSaveRequest> record : chunk) {
+            locationCodes.add(record.value().originCode());
+            locationCodes.add(record.value().destinationCode());
+        }
+        Map<String, LocationDto> locations = locationService.getByLocationCodes(locationCodes);
+
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (ImportRecord<TransportationSaveRequest> record : chunk) {
+            TransportationSaveRequest request = record.value();
+            LocationDto origin = locations.get(request.originCode());
+            LocationDto destination = locations.get(request.destinationCode());
+            if (request.originCode().equals(request.destinationCode())) {
+                report.reject(record.row(), "Origin code and Destination code cannot be the same");
+            } else if (origin == null || destination == null) {
+                report.reject(record.row(), "Location with code " + (origin == null ? request.originCode() : request.destinationCode()) + " not found");
+            } else {
+                try {
+                    rows.add(new Row(record.row(), origin.id(), destination.id(), request, OperatingDays.of(request.operatingDays())));
+                } catch (IllegalArgumentException e) {
+                    report.reject(record.row(), e.getMessage());
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        insertOrSplit(rows, report);
+    }
+
+    /**
+     * Inserts the rows in one transaction. When the database refuses the batch, each half is retried on its own,
+     * down to single rows, so only the offending rows are rejected and the rest of the chunk is still imported.
+     */
+    private void insertOrSplit(List<Row> rows, ImportReport report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(rows));
+            report.imported(rows.size());
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                report.reject(rows.getFirst().line(), e.getMostSpecificCause().getMessage());
+                return;
+            }
+            int middle = rows.size() / 2;
+            insertOrSplit(rows.subList(0, middle), report);
+            insertOrSplit(rows.subList(middle, rows.size()), report);
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        jdbcTemplate.batchUpdate(INSERT_TRANSPORTATION, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Row row = rows.get(i);
+                ps.setLong(1, row.originId());
+                ps.setLong(2, row.destinationId());
+                ps.setInt(3, row.request().transportationType().ordinal());
+                ps.setInt(4, row.operatingDays().mask());
+                ps.setObject(5, row.request().departureTime(), Types.TIME);
+                ps.setObject(6, row.request().arrivalTime(), Types.TIME);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private static TransportationSaveRequest fromCsv(Map<String, String> fields) {
+        String operatingDays = fields.get("operatingDays");
+        String transportationType = fields.get("transportationType");
+        String departureTime = fields.get("departureTime");
+        String arrivalTime = fields.get("arrivalTime");
+        return new TransportationSaveRequest(fields.get("originCode"),
+                fields.get("destinationCode"),
+                operatingDays == null ? null : Arrays.stream(operatingDays.split("[;|\\s]+"))
+                        .filter(day -> !day.isEmpty())
+                        .map(Integer::valueOf)
+                        .collect(Collectors.toSet()),
+                transportationType == null ? null : TransportationType.valueOf(transportationType.toUpperCase(Locale.ROOT)),
+                departureTime == null ? null : LocalTime.parse(departureTime),
+                arrivalTime == null ? null : LocalTime.parse(arrivalTime));
+    }
+
+    private record Row(
+            long line,
+            long originId,
+            long destinationId,
+            TransportationSaveRequest request,
+            OperatingDays operatingDays
+    ) {
+    }
+}
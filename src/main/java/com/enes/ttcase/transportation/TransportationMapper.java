@@ -1,5 +1,6 @@
 package com.enes.ttcase.transportation;
 
+import com.enes.ttcase.location.LocationDto;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
@@ -9,4 +10,30 @@ public interface TransportationMapper {
 
     Transportation toEntity(TransportationDto transportationDto);
 
+    default TransportationDto toDto(RouteCandidateRow row) {
+        LocationDto origin = new LocationDto(row.getOriginId(),
+                row.getOriginName(),
+                row.getOriginCountry(),
+                row.getOriginCity(),
+                row.getOriginCode(),
+                row.getOriginCreatedAt(),
+                row.getOriginUpdatedAt());
+        LocationDto destination = new LocationDto(row.getDestinationId(),
+                row.getDestinationName(),
+                row.getDestinationCountry(),
+                row.getDestinationCity(),
+                row.getDestinationCode(),
+                row.getDestinationCreatedAt(),
+                row.getDestinationUpdatedAt());
+        return new TransportationDto(row.getId(),
+                origin,
+                destination,
+                TransportationType.values()[row.getTransportationType()],
+                OperatingDays.fromMask(row.getOperatingDays()),
+                row.getDepartureTime(),
+                row.getArrivalTime(),
+                row.getCreatedAt(),
+                row.getUpdatedAt());
+    }
+
 }
@@ -1,21 +1,49 @@
 package com.enes.ttcase.transportation;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 interface TransportationRepository extends JpaRepository<Transportation, Long> {
 
+    @Query("""
+            SELECT t
+            FROM Transportation t
+            JOIN FETCH t.origin
+            JOIN FETCH t.destination
+            """)
+    List<Transportation> findAllWithLocations();
+
+    @Query("""
+            SELECT t
+            FROM Transportation t
+            JOIN FETCH t.origin
+            JOIN FETCH t.destination
+            WHERE t.id IN :ids
+            """)
+    List<Transportation> findAllWithLocationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT t
+            FROM Transportation t
+            JOIN FETCH t.origin
+            JOIN FETCH t.destination
+            WHERE t.id > :id
+            ORDER BY t.id
+            """)
+    List<Transportation> findPageAfter(@Param("id") long id, Limit limit);
+
     @Query("""
             SELECT t
             FROM Transportation t
             JOIN FETCH t.origin o
             JOIN FETCH t.destination d
-            JOIN FETCH t.operatingDays od
-            WHERE od = :operatingDay
+            WHERE bitand(t.operatingDayMask, :operatingDayBit) <> 0
             AND o.country = :originCountry
             AND d.country = :destinationCountry
             AND t.transportationType = :transportationType
@@ -23,20 +51,96 @@ interface TransportationRepository extends JpaRepository<Transportation, Long> {
     List<Transportation> findTransportationsBetweenCountries(@Param("originCountry") String originCountry,
                                                              @Param("destinationCountry") String destinationCountry,
                                                              @Param("transportationType") TransportationType transportationType,
-                                                             @Param("operatingDay") Integer operatingDay);
+                                                             @Param("operatingDayBit") Integer operatingDayBit);
+
+    /**
+     * Country pairs ordered by how many transportations of the type connect them, busiest first.
+     */
+    @Query("""
+            SELECT o.country AS originCountry, d.country AS destinationCountry
+            FROM Transportation t
+            JOIN t.origin o
+            JOIN t.destination d
+            WHERE t.transportationType = :transportationType
+            GROUP BY o.country, d.country
+            ORDER BY COUNT(t) DESC
+            """)
+    List<CountryPairRow> findBusiestCountryPairs(@Param("transportationType") TransportationType transportationType, Limit limit);
 
     @Query("""
             SELECT t
             FROM Transportation t
             JOIN FETCH t.origin o
             JOIN FETCH t.destination d
-            JOIN FETCH t.operatingDays od
-            WHERE od = :operatingDay
+            WHERE bitand(t.operatingDayMask, :operatingDayBit) <> 0
             AND o.locationCode IN (:originCode)
             AND d.locationCode IN (:destinationCodes)
             """)
     List<Transportation> findTransportationsBetweenLocationCodesAndOperatingDay(@Param("originCode") Set<String> originCodes,
                                                                                 @Param("destinationCodes") Set<String> destinationCodes,
-                                                                                @Param("operatingDay") Integer operatingDay);
+                                                                                @Param("operatingDayBit") Integer operatingDayBit);
+
+    /**
+     * Flights between the countries plus the first and last feeder legs of the given searches, in one round trip.
+     */
+    @Query(nativeQuery = true, value = """
+            WITH flights AS (
+                SELECT t.id, t.origin_id, t.destination_id
+                FROM transportation t
+                JOIN location o ON o.id = t.origin_id
+                JOIN location d ON d.id = t.destination_id
+                WHERE t.transportation_type = :flightType
+                AND (t.operating_days & :operatingDayBit) <> 0
+                AND o.country = :originCountry
+                AND d.country = :destinationCountry
+            ),
+            candidates AS (
+                SELECT f.id
+                FROM flights f
+                UNION
+                SELECT t.id
+                FROM transportation t
+                WHERE (t.operating_days & :operatingDayBit) <> 0
+                AND t.origin_id IN (:originIds)
+                AND t.destination_id IN (SELECT f.origin_id FROM flights f)
+                UNION
+                SELECT t.id
+                FROM transportation t
+                WHERE (t.operating_days & :operatingDayBit) <> 0
+                AND t.destination_id IN (:destinationIds)
+                AND t.origin_id IN (SELECT f.destination_id FROM flights f)
+            )
+            SELECT t.id                  AS id,
+                   t.transportation_type AS transportationType,
+                   t.operating_days      AS operatingDays,
+                   t.departure_time      AS departureTime,
+                   t.arrival_time        AS arrivalTime,
+                   t.created_at          AS createdAt,
+                   t.updated_at          AS updatedAt,
+                   o.id                  AS originId,
+                   o.name                AS originName,
+                   o.country             AS originCountry,
+                   o.city                AS originCity,
+                   o.location_code       AS originCode,
+                   o.created_at          AS originCreatedAt,
+                   o.updated_at          AS originUpdatedAt,
+                   d.id                  AS destinationId,
+                   d.name                AS destinationName,
+                   d.country             AS destinationCountry,
+                   d.city                AS destinationCity,
+                   d.location_code       AS destinationCode,
+                   d.created_at          AS destinationCreatedAt,
+                   d.updated_at          AS destinationUpdatedAt
+            FROM candidates c
+            JOIN transportation t ON t.id = c.id
+            JOIN location o ON o.id = t.origin_id
+            JOIN location d ON d.id = t.destination_id
+            """)
+    List<RouteCandidateRow> findRouteCandidates(@Param("originCountry") String originCountry,
+                                                @Param("destinationCountry") String destinationCountry,
+                                                @Param("originIds") Set<Long> originIds,
+                                                @Param("destinationIds") Set<Long> destinationIds,
+                                                @Param("flightType") Integer flightType,
+                                                @Param("operatingDayBit") Integer operatingDayBit);
 
 }
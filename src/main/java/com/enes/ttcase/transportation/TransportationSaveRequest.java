@@ -1,14 +1,31 @@
 package com.enes.ttcase.transportation;
 
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import org.jspecify.annotations.Nullable;
 
+import java.time.LocalTime;
 import java.util.Set;
 
 public record TransportationSaveRequest(
         @NotEmpty String originCode,
         @NotEmpty String destinationCode,
         @NotNull Set<Integer> operatingDays,
-        @NotNull TransportationType transportationType
+        @NotNull TransportationType transportationType,
+        @Nullable LocalTime departureTime,
+        @Nullable LocalTime arrivalTime
 ) {
+
+    public TransportationSaveRequest(String originCode,
+                                     String destinationCode,
+                                     Set<Integer> operatingDays,
+                                     TransportationType transportationType) {
+        this(originCode, destinationCode, operatingDays, transportationType, null, null);
+    }
+
+    @AssertTrue(message = "Departure and arrival times must be given together")
+    boolean isScheduleComplete() {
+        return (departureTime == null) == (arrivalTime == null);
+    }
 }
@@ -1,17 +1,24 @@
 package com.enes.ttcase.transportation;
 
+import com.enes.ttcase.common.CursorPage;
+import com.enes.ttcase.common.Cursors;
+import com.enes.ttcase.location.Location;
 import com.enes.ttcase.location.LocationService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.jspecify.annotations.Nullable;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -21,13 +28,19 @@ public class TransportationService {
     private final TransportationRepository repository;
     private final LocationService locationService;
     private final TransportationMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransportationCacheTags cacheTags;
 
     TransportationService(TransportationRepository repository,
                           LocationService locationService,
-                          TransportationMapper mapper) {
+                          TransportationMapper mapper,
+                          ApplicationEventPublisher eventPublisher,
+                          TransportationCacheTags cacheTags) {
         this.repository = repository;
         this.locationService = locationService;
         this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+        this.cacheTags = cacheTags;
     }
 
     public Page<TransportationDto> getAllTransportations(Pageable pageable) {
@@ -35,57 +48,122 @@ public class TransportationService {
                 .map(mapper::toDto);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<TransportationDto> scrollTransportations(@Nullable String cursor, int size) {
+        List<Transportation> rows = repository.findPageAfter(Cursors.decodeId(cursor), Limit.of(size + 1));
+        return CursorPage.of(rows, size, mapper::toDto, transportation -> Cursors.encode(transportation.getId()));
+    }
+
+    public List<TransportationDto> getAllTransportations() {
+        return repository.findAllWithLocations()
+                .stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Transportations with the given ids; ids of deleted transportations are absent from the result.
+     */
+    public List<TransportationDto> getTransportationsByIds(Collection<Long> ids) {
+        return repository.findAllWithLocationsByIdIn(ids)
+                .stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+
     public TransportationDto findById(Long id) {
         return mapper.toDto(repository.findById(id).orElse(null));
     }
 
     @Transactional
-    @CacheEvict(value = "transportations", allEntries = true)
     public TransportationDto createTransportation(TransportationSaveRequest request) {
         if (request.originCode().equals(request.destinationCode())) {
             throw new IllegalArgumentException("Origin code and Destination code cannot be the same");
         }
 
+        Map<String, Location> locations = locationService.getReferencesByLocationCodes(List.of(request.originCode(), request.destinationCode()));
         Transportation transportation = new Transportation();
-        transportation.setOrigin(locationService.getReferenceByLocationCode(request.originCode()));
-        transportation.setDestination(locationService.getReferenceByLocationCode(request.destinationCode()));
+        transportation.setOrigin(locations.get(request.originCode()));
+        transportation.setDestination(locations.get(request.destinationCode()));
         transportation.setOperatingDays(request.operatingDays());
         transportation.setTransportationType(request.transportationType());
-        return mapper.toDto(repository.save(transportation));
+        transportation.setDepartureTime(request.departureTime());
+        transportation.setArrivalTime(request.arrivalTime());
+        TransportationDto created = mapper.toDto(repository.save(transportation));
+        eventPublisher.publishEvent(new TransportationChangedEvent(null, created));
+        return created;
     }
 
     @Transactional
-    @CacheEvict(value = "transportations", allEntries = true)
     public @Nullable TransportationDto updateTransportation(long id, @Valid TransportationSaveRequest request) {
         Transportation transportation = repository.findById(id).orElseThrow(EntityNotFoundException::new);
-        transportation.setOrigin(locationService.getReferenceByLocationCode(request.originCode()));
-        transportation.setDestination(locationService.getReferenceByLocationCode(request.destinationCode()));
+        TransportationDto previous = mapper.toDto(transportation);
+        Map<String, Location> locations = locationService.getReferencesByLocationCodes(List.of(request.originCode(), request.destinationCode()));
+        transportation.setOrigin(locations.get(request.originCode()));
+        transportation.setDestination(locations.get(request.destinationCode()));
         transportation.setOperatingDays(request.operatingDays());
         transportation.setTransportationType(request.transportationType());
-        return mapper.toDto(repository.save(transportation));
+        transportation.setDepartureTime(request.departureTime());
+        transportation.setArrivalTime(request.arrivalTime());
+        TransportationDto updated = mapper.toDto(repository.save(transportation));
+        eventPublisher.publishEvent(new TransportationChangedEvent(previous, updated));
+        return updated;
     }
 
-    @CacheEvict(value = "transportations", allEntries = true)
+    @Transactional
     public void deleteTransportation(long id) {
+        TransportationDto deleted = repository.findById(id)
+                .map(mapper::toDto)
+                .orElse(null);
         repository.deleteById(id);
+        if (deleted != null) {
+            eventPublisher.publishEvent(new TransportationChangedEvent(deleted, null));
+        }
     }
 
-    @Cacheable(value = "transportations", key = "#originCountry + '_' + #destinationCountry + '_' + #transportationType + '_' + #operatingDay")
+    @Cacheable(value = "transportations", key = "T(com.enes.ttcase.transportation.TransportationCacheKeys).betweenCountries(#originCountry, #destinationCountry, #transportationType, #operatingDay)")
     public Set<TransportationDto> findTransportationsBetweenCountries(String originCountry,
                                                                       String destinationCountry,
                                                                       TransportationType transportationType,
                                                                       DayOfWeek operatingDay) {
-        return repository.findTransportationsBetweenCountries(originCountry, destinationCountry, transportationType, operatingDay.ordinal())
+        cacheTags.registerCountries(TransportationCacheKeys.betweenCountries(originCountry, destinationCountry, transportationType, operatingDay),
+                originCountry,
+                destinationCountry);
+        return repository.findTransportationsBetweenCountries(originCountry, destinationCountry, transportationType, OperatingDays.bit(operatingDay.ordinal()))
                 .stream()
                 .map(mapper::toDto)
                 .collect(Collectors.toSet());
     }
 
-    @Cacheable(value = "transportations", key = "#originCodes + '_' + #destinationCodes + '_' + #operatingDay")
+    @Cacheable(value = "transportations", key = "T(com.enes.ttcase.transportation.TransportationCacheKeys).betweenLocationCodes(#originCodes, #destinationCodes, #operatingDay)")
     public Set<TransportationDto> findTransportationsBetweenLocationCodesAndOperatingDay(Set<String> originCodes,
                                                                                          Set<String> destinationCodes,
                                                                                          DayOfWeek operatingDay) {
-        return repository.findTransportationsBetweenLocationCodesAndOperatingDay(originCodes, destinationCodes, operatingDay.ordinal())
+        cacheTags.register(TransportationCacheKeys.betweenLocationCodes(originCodes, destinationCodes, operatingDay),
+                originCodes,
+                destinationCodes,
+                operatingDay);
+        return repository.findTransportationsBetweenLocationCodesAndOperatingDay(originCodes, destinationCodes, OperatingDays.bit(operatingDay.ordinal()))
+                .stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Candidate edges of searches from {@code originIds} to {@code destinationIds}, read in a single statement
+     * and bypassing the cache.
+     */
+    public Set<TransportationDto> findRouteCandidates(String originCountry,
+                                                      String destinationCountry,
+                                                      Set<Long> originIds,
+                                                      Set<Long> destinationIds,
+                                                      DayOfWeek operatingDay) {
+        return repository.findRouteCandidates(originCountry,
+                        destinationCountry,
+                        originIds,
+                        destinationIds,
+                        TransportationType.FLIGHT.ordinal(),
+                        OperatingDays.bit(operatingDay.ordinal()))
                 .stream()
                 .map(mapper::toDto)
                 .collect(Collectors.toSet());
@@ -22,3 +22,7 @@ CREATE OR REPLACE TRIGGER location_trigger_set_updated_at
     ON location
     FOR EACH ROW
 EXECUTE FUNCTION set_updated_at();
+
+-- changeset enes:location-name-id-idx
+CREATE INDEX idx_location_name_id
+    ON location (name, id);
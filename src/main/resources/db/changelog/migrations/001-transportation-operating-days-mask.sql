@@ -0,0 +1,24 @@
+-- liquibase formatted sql
+
+-- changeset enes:transportation-operating-days-column
+ALTER TABLE transportation
+    ADD COLUMN operating_days SMALLINT NOT NULL DEFAULT 0;
+
+-- changeset enes:transportation-operating-days-backfill
+UPDATE transportation t
+SET operating_days = od.mask
+FROM (SELECT transportation_id, CAST(bit_or(1 << operating_day) AS SMALLINT) AS mask
+      FROM transportation_operating_day
+      GROUP BY transportation_id) od
+WHERE od.transportation_id = t.id;
+
+-- changeset enes:transportation-operating-days-check
+ALTER TABLE transportation
+    ADD CONSTRAINT chk_transportation_operating_days CHECK (operating_days BETWEEN 0 AND 127);
+
+-- changeset enes:transportation-route-idx
+CREATE INDEX idx_transportation_route
+    ON transportation (origin_id, destination_id) INCLUDE (transportation_type, operating_days);
+
+-- changeset enes:drop-transportation-operating-day-table
+DROP TABLE transportation_operating_day;
@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+
+-- changeset enes:transportation-schedule-columns
+ALTER TABLE transportation
+    ADD COLUMN departure_time TIME DEFAULT NULL,
+    ADD COLUMN arrival_time   TIME DEFAULT NULL;
+
+-- changeset enes:transportation-schedule-check
+ALTER TABLE transportation
+    ADD CONSTRAINT chk_transportation_schedule CHECK ((departure_time IS NULL) = (arrival_time IS NULL));
@@ -0,0 +1,49 @@
+-- liquibase formatted sql
+
+-- changeset enes:network-change-table
+CREATE TABLE network_change
+(
+    id         BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    entity     VARCHAR(32) NOT NULL,
+    operation  CHAR(1)     NOT NULL,
+    row_id     BIGINT      NOT NULL,
+    previous   JSONB                DEFAULT NULL,
+    source     VARCHAR(64)          DEFAULT NULL,
+    changed_at TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- changeset enes:network-change-changed-at-idx
+CREATE INDEX idx_network_change_changed_at
+    ON network_change (changed_at);
+
+-- changeset enes:notify-network-change-function
+CREATE OR REPLACE FUNCTION notify_network_change()
+    RETURNS TRIGGER AS
+'
+    BEGIN
+        IF TG_OP = ''INSERT'' THEN
+            INSERT INTO network_change (entity, operation, row_id, source)
+            VALUES (TG_TABLE_NAME, ''I'', NEW.id, nullif(current_setting(''application_name'', true), ''''));
+        ELSE
+            INSERT INTO network_change (entity, operation, row_id, previous, source)
+            VALUES (TG_TABLE_NAME, left(TG_OP, 1), OLD.id, to_jsonb(OLD),
+                    nullif(current_setting(''application_name'', true), ''''));
+        END IF;
+        PERFORM pg_notify(''network_change'', TG_TABLE_NAME);
+        RETURN NULL;
+    END;
+' LANGUAGE plpgsql;
+
+-- changeset enes:location-network-change-trigger
+CREATE OR REPLACE TRIGGER location_trigger_notify_network_change
+    AFTER INSERT OR UPDATE OR DELETE
+    ON location
+    FOR EACH ROW
+EXECUTE FUNCTION notify_network_change();
+
+-- changeset enes:transportation-network-change-trigger
+CREATE OR REPLACE TRIGGER transportation_trigger_notify_network_change
+    AFTER INSERT OR UPDATE OR DELETE
+    ON transportation
+    FOR EACH ROW
+EXECUTE FUNCTION notify_network_change();
@@ -0,0 +1,9 @@
+-- liquibase formatted sql
+
+-- changeset enes:network-change-transaction-column
+ALTER TABLE network_change
+    ADD COLUMN transaction_id XID8 NOT NULL DEFAULT pg_current_xact_id();
+
+-- changeset enes:network-change-transaction-idx
+CREATE INDEX idx_network_change_transaction_id
+    ON network_change (transaction_id);
@@ -0,0 +1,29 @@
+-- liquibase formatted sql
+
+-- changeset enes:notify-network-change-function-timestamptz
+CREATE OR REPLACE FUNCTION notify_network_change()
+    RETURNS TRIGGER AS
+'
+    BEGIN
+        IF TG_OP = ''INSERT'' THEN
+            INSERT INTO network_change (entity, operation, row_id, source)
+            VALUES (TG_TABLE_NAME, ''I'', NEW.id, nullif(current_setting(''application_name'', true), ''''));
+        ELSE
+            INSERT INTO network_change (entity, operation, row_id, previous, source)
+            VALUES (TG_TABLE_NAME, left(TG_OP, 1), OLD.id,
+                    to_jsonb(OLD) || jsonb_build_object(
+                            ''created_at'', OLD.created_at AT TIME ZONE current_setting(''TimeZone''),
+                            ''updated_at'', OLD.updated_at AT TIME ZONE current_setting(''TimeZone'')),
+                    nullif(current_setting(''application_name'', true), ''''));
+        END IF;
+        PERFORM pg_notify(''network_change'', TG_TABLE_NAME);
+        RETURN NULL;
+    END;
+' LANGUAGE plpgsql;
+
+-- changeset enes:network-change-previous-timestamptz
+UPDATE network_change
+SET previous = previous || jsonb_build_object(
+        'created_at', (previous ->> 'created_at')::TIMESTAMP AT TIME ZONE current_setting('TimeZone'),
+        'updated_at', (previous ->> 'updated_at')::TIMESTAMP AT TIME ZONE current_setting('TimeZone'))
+WHERE previous IS NOT NULL;
@@ -0,0 +1,163 @@
+package com.enes.ttcase.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoLevelCacheManagerTest {
+
+    private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+    private final List<TwoLevelCacheManager> instances = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TwoLevelCacheManager first;
+    private TwoLevelCacheManager second;
+
+    @BeforeEach
+    void setUp() {
+        first = newInstance(10);
+        second = newInstance(10);
+    }
+
+    @Test
+    void get_shouldServeRepeatedReadsFromLocalTier() {
+        // given
+        Cache cache = first.getCache("locations");
+        cache.put("IST", "Istanbul Airport");
+
+        // when
+        cache.get("IST");
+        cache.get("IST");
+        cache.get("LHR");
+
+        // then
+        TwoLevelCache twoLevelCache = (TwoLevelCache) cache;
+        assertThat(twoLevelCache.localStatistics().hits()).isEqualTo(2);
+        assertThat(twoLevelCache.localStatistics().misses()).isEqualTo(1);
+        assertThat(twoLevelCache.remoteStatistics().hits()).isZero();
+        assertThat(twoLevelCache.remoteStatistics().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldPopulateLocalTierFromRemoteTier() {
+        // given
+        first.getCache("locations").put("IST", "Istanbul Airport");
+        TwoLevelCache cache = (TwoLevelCache) second.getCache("locations");
+
+        // when
+        Cache.ValueWrapper fromRemote = cache.get("IST");
+        Cache.ValueWrapper fromLocal = cache.get("IST");
+
+        // then
+        assertThat(fromRemote.get()).isEqualTo("Istanbul Airport");
+        assertThat(fromLocal.get()).isEqualTo("Istanbul Airport");
+        assertThat(cache.remoteStatistics().hits()).isEqualTo(1);
+        assertThat(cache.localStatistics().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_shouldInvalidateLocalTierOfOtherInstances() {
+        // given
+        first.getCache("locations").put("IST", "Istanbul Airport");
+        second.getCache("locations").get("IST");
+
+        // when
+        first.getCache("locations").evict("IST");
+
+        // then
+        assertThat(second.getCache("locations").get("IST")).isNull();
+        assertThat(remoteCacheManager.getCache("locations").get("IST")).isNull();
+    }
+
+    @Test
+    void clear_shouldInvalidateLocalTierOfOtherInstances() {
+        // given
+        first.getCache("transportations").put("Turkey_England_FLIGHT_MONDAY", List.of("TK1"));
+        second.getCache("transportations").get("Turkey_England_FLIGHT_MONDAY");
+
+        // when
+        first.getCache("transportations").clear();
+
+        // then
+        assertThat(second.getCache("transportations").get("Turkey_England_FLIGHT_MONDAY")).isNull();
+    }
+
+    @Test
+    void put_shouldEvictLocalEntriesBeyondMaximumSize() {
+        // given
+        TwoLevelCache cache = (TwoLevelCache) newInstance(2).getCache("locations");
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            cache.put("code-" + i, "location-" + i);
+        }
+
+        // then
+        assertThat(cache.localSize()).isLessThanOrEqualTo(2);
+        assertThat(cache.get("code-0").get()).isEqualTo("location-0");
+    }
+
+    @Test
+    void getAll_shouldReadLocalTierFirstAndBackfillItFromRemoteTier() {
+        // given
+        first.getCache("locations").put("IST", "Istanbul Airport");
+        remoteCacheManager.getCache("locations").put("LHR", "London Heathrow Airport");
+        TwoLevelCache cache = (TwoLevelCache) first.getCache("locations");
+
+        // when
+        Map<String, Object> actual = cache.getAll(List.of("IST", "LHR", "WS"));
+
+        // then
+        assertThat(actual).containsOnly(
+                Map.entry("IST", "Istanbul Airport"),
+                Map.entry("LHR", "London Heathrow Airport"));
+        assertThat(cache.remoteStatistics().hits()).isEqualTo(1);
+        assertThat(cache.remoteStatistics().misses()).isEqualTo(1);
+        assertThat(cache.getAll(List.of("LHR"))).containsOnlyKeys("LHR");
+        assertThat(cache.remoteStatistics().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_shouldCountRemoteEvictionsAndTimeRemoteReads() {
+        // given
+        TwoLevelCacheManager instance = new TwoLevelCacheManager(remoteCacheManager,
+                message -> {
+                },
+                meterRegistry,
+                10,
+                Duration.ofMinutes(1));
+        Cache cache = instance.getCache("transportations");
+        cache.put("Turkey_England_FLIGHT_MONDAY", List.of("TK1"));
+
+        // when
+        cache.evict("Turkey_England_FLIGHT_MONDAY");
+        cache.get("Turkey_England_FLIGHT_MONDAY");
+        cache.clear();
+
+        // then
+        assertThat(((TwoLevelCache) cache).remoteStatistics().evictions()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.tier.evictions").tags("cache", "transportations", "tier", "remote")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.tier.reads").tags("cache", "transportations", "tier", "remote")
+                .timer().count()).isEqualTo(1);
+    }
+
+    private TwoLevelCacheManager newInstance(long localMaximumSize) {
+        TwoLevelCacheManager instance = new TwoLevelCacheManager(remoteCacheManager,
+                message -> instances.forEach(i -> i.onInvalidation(message)),
+                meterRegistry,
+                localMaximumSize,
+                Duration.ofMinutes(1));
+        instances.add(instance);
+        return instance;
+    }
+}
@@ -0,0 +1,124 @@
+package com.enes.ttcase.change;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.transportation.TransportationChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies real transportation changes from the log, outside any transaction as the listener does, against the
+ * database configured in application.yaml. Run with {@code -Dnetwork-changes.database-test=true} after
+ * {@code docker compose up -d postgres}.
+ */
+@DataJpaTest(includeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = {
+        "com\\.enes\\.ttcase\\.change\\.NetworkChange(Applier|Repository)",
+        "com\\.enes\\.ttcase\\.location\\.Location(Service|CacheService|MapperImpl)",
+        "com\\.enes\\.ttcase\\.transportation\\.Transportation(Service|CacheTags|MapperImpl)"}))
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@Import(NetworkChangeApplierDatabaseTest.Beans.class)
+@EnabledIfSystemProperty(named = "network-changes.database-test", matches = "true")
+class NetworkChangeApplierDatabaseTest {
+
+    @Autowired
+    private NetworkChangeApplier sut;
+
+    @Autowired
+    private NetworkChangeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @MockitoBean
+    private StringRedisTemplate redisTemplate;
+
+    private final List<Long> locationIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transportation WHERE origin_id = ANY(?)", (Object) locationIds.toArray(Long[]::new));
+        jdbcTemplate.update("DELETE FROM location WHERE id = ANY(?)", (Object) locationIds.toArray(Long[]::new));
+    }
+
+    @Test
+    void apply_whenTransportationInsertedAndUpdated_shouldPublishItWithItsLocationsWithoutRefreshing() {
+        // given
+        ChangePosition since = repository.position();
+        long origin = insertLocation("NCA1");
+        long destination = insertLocation("NCA2");
+        Long transportation = jdbcTemplate.queryForObject("""
+                INSERT INTO transportation (origin_id, destination_id, transportation_type, operating_days)
+                VALUES (?, ?, 0, 1)
+                RETURNING id
+                """, Long.class, origin, destination);
+        jdbcTemplate.update("UPDATE transportation SET operating_days = 3 WHERE id = ?", transportation);
+        List<NetworkChange> changes = repository.findCommittedBetween(since.snapshot(), repository.position().snapshot(), 0, 100);
+
+        // when
+        sut.apply(changes);
+
+        // then
+        assertThat(events.stream(ImportCompletedEvent.class)).isEmpty();
+        assertThat(events.stream(TransportationChangedEvent.class))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.previous()).isNull();
+                    assertThat(event.current().id()).isEqualTo(transportation);
+                    assertThat(event.current().origin().locationCode()).isEqualTo("NCA1");
+                    assertThat(event.current().destination().locationCode()).isEqualTo("NCA2");
+                    assertThat(event.current().operatingDays()).containsExactlyInAnyOrder(0, 1);
+                });
+    }
+
+    private long insertLocation(String code) {
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO location (name, country, city, location_code)
+                VALUES (?, 'Testland', 'Test City', ?)
+                RETURNING id
+                """, Long.class, "Network change " + code, code);
+        locationIds.add(id);
+        return id;
+    }
+
+    @TestConfiguration
+    static class Beans {
+
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
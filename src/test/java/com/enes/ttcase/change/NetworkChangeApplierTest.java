@@ -0,0 +1,178 @@
+package com.enes.ttcase.change;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.ImportTarget;
+import com.enes.ttcase.location.LocationChangedEvent;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.location.LocationService;
+import com.enes.ttcase.transportation.TransportationChangedEvent;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationService;
+import com.enes.ttcase.transportation.TransportationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NetworkChangeApplierTest {
+
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", null, null);
+
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private TransportationService transportationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private NetworkChangeApplier sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new NetworkChangeApplier(locationService, transportationService, JsonMapper.builder().build(),
+                eventPublisher, new SimpleMeterRegistry(), 2);
+    }
+
+    @Test
+    void apply_whenLocationUpdated_shouldPublishPreviousRowAndCurrentState() {
+        // given
+        LocationDto renamed = new LocationDto(2L, "Istanbul New Airport", "Turkey", "Istanbul", "ISL", null, null);
+        when(locationService.getById(2L)).thenReturn(renamed);
+        String previous = """
+                {"id": 2, "name": "Istanbul Airport", "country": "Turkey", "city": "Istanbul",
+                 "location_code": "IST", "created_at": "2025-01-01T10:00:00.5+03:00", "updated_at": null}
+                """;
+
+        // when
+        sut.apply(List.of(change(1, NetworkChange.Entity.LOCATION, NetworkChange.Operation.UPDATE, 2, previous)));
+
+        // then
+        LocationDto expectedPrevious = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST",
+                Instant.parse("2025-01-01T07:00:00.5Z"), null);
+        verify(eventPublisher).publishEvent(new LocationChangedEvent(expectedPrevious, renamed));
+    }
+
+    @Test
+    void apply_whenTransportationDeleted_shouldPublishPreviousRowWithItsLocations() {
+        // given
+        when(locationService.getById(2L)).thenReturn(istanbul);
+        when(locationService.getById(4L)).thenReturn(heathrow);
+        String previous = """
+                {"id": 7, "origin_id": 2, "destination_id": 4, "transportation_type": 0, "operating_days": 6,
+                 "departure_time": "09:30:00", "arrival_time": "12:45:00", "created_at": null, "updated_at": null}
+                """;
+
+        // when
+        sut.apply(List.of(change(1, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.DELETE, 7, previous)));
+
+        // then
+        TransportationDto expected = new TransportationDto(7L, istanbul, heathrow, TransportationType.FLIGHT,
+                Set.of(1, 2), LocalTime.of(9, 30), LocalTime.of(12, 45), null, null);
+        verify(eventPublisher).publishEvent(new TransportationChangedEvent(expected, null));
+        verify(transportationService, never()).getTransportationsByIds(any());
+    }
+
+    @Test
+    void apply_whenRowChangedSeveralTimes_shouldPublishFirstPreviousRowAndCurrentStateOnce() {
+        // given
+        when(locationService.getById(2L)).thenReturn(istanbul);
+        when(locationService.getById(4L)).thenReturn(heathrow);
+        TransportationDto current = new TransportationDto(7L, istanbul, heathrow, TransportationType.BUS, Set.of(3), null, null);
+        when(transportationService.getTransportationsByIds(List.of(7L))).thenReturn(List.of(current));
+        String first = """
+                {"id": 7, "origin_id": 2, "destination_id": 4, "transportation_type": 0, "operating_days": 1}
+                """;
+        String second = """
+                {"id": 7, "origin_id": 2, "destination_id": 4, "transportation_type": 0, "operating_days": 2}
+                """;
+
+        // when
+        sut.apply(List.of(
+                change(1, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.UPDATE, 7, first),
+                change(2, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.UPDATE, 7, second),
+                change(3, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.UPDATE, 7, second)));
+
+        // then
+        TransportationDto previous = new TransportationDto(7L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(0), null, null);
+        verify(eventPublisher).publishEvent(new TransportationChangedEvent(previous, current));
+        verify(transportationService).getTransportationsByIds(List.of(7L));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void apply_whenRowInsertedAndDeletedInOneBatch_shouldPublishNothing() {
+        // given
+        String inserted = """
+                {"id": 7, "origin_id": 2, "destination_id": 4, "transportation_type": 0, "operating_days": 1}
+                """;
+
+        // when
+        sut.apply(List.of(
+                change(1, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.INSERT, 7, null),
+                change(2, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.DELETE, 7, inserted)));
+
+        // then
+        verifyNoMoreInteractions(eventPublisher);
+        verifyNoMoreInteractions(transportationService);
+    }
+
+    @Test
+    void apply_whenBurstExceedsBulkThreshold_shouldRefreshOnceInsteadOfPublishingEveryChange() {
+        // given
+        List<NetworkChange> changes = List.of(
+                change(1, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.INSERT, 7, null),
+                change(2, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.INSERT, 8, null),
+                change(3, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.INSERT, 9, null));
+
+        // when
+        sut.apply(changes);
+
+        // then
+        verify(eventPublisher).publishEvent(new ImportCompletedEvent(ImportTarget.TRANSPORTATIONS, 3));
+        verifyNoMoreInteractions(eventPublisher);
+        verifyNoMoreInteractions(transportationService);
+    }
+
+    @Test
+    void apply_whenLocationOfDeletedTransportationIsGone_shouldRefreshTransportations() {
+        // given
+        when(locationService.getById(2L)).thenReturn(null);
+        String previous = """
+                {"id": 7, "origin_id": 2, "destination_id": 4, "transportation_type": 0, "operating_days": 6}
+                """;
+
+        // when
+        sut.apply(List.of(change(1, NetworkChange.Entity.TRANSPORTATION, NetworkChange.Operation.DELETE, 7, previous)));
+
+        // then
+        verify(eventPublisher).publishEvent(new ImportCompletedEvent(ImportTarget.TRANSPORTATIONS, 1));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    private static NetworkChange change(long sequence,
+                                        NetworkChange.Entity entity,
+                                        NetworkChange.Operation operation,
+                                        long rowId,
+                                        String previous) {
+        return new NetworkChange(sequence, entity, operation, rowId, previous, "other-node");
+    }
+}
@@ -0,0 +1,119 @@
+package com.enes.ttcase.change;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jdbc.test.autoconfigure.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks against the database configured in application.yaml that changes are read by commit, not by sequence.
+ * Run with {@code -Dnetwork-changes.database-test=true} after {@code docker compose up -d postgres}.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(NetworkChangeRepository.class)
+@EnabledIfSystemProperty(named = "network-changes.database-test", matches = "true")
+class NetworkChangeRepositoryDatabaseTest {
+
+    @Autowired
+    private NetworkChangeRepository sut;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> locationIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM location WHERE id = ANY(?)", (Object) locationIds.toArray(Long[]::new));
+    }
+
+    @Test
+    void findCommittedBetween_whenTransactionCommitsAfterALaterOne_shouldReadItOnceItCommits() throws SQLException {
+        // given
+        ChangePosition start = sut.position();
+        long early;
+        long late;
+        ChangePosition whileOpen;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            early = insertLocation(connection, "NCR1");
+            late = insertLocation("NCR2");
+            whileOpen = sut.position();
+            connection.commit();
+        }
+        ChangePosition afterCommit = sut.position();
+
+        // when
+        List<NetworkChange> first = sut.findCommittedBetween(start.snapshot(), whileOpen.snapshot(), 0, 100);
+        List<NetworkChange> second = sut.findCommittedBetween(whileOpen.snapshot(), afterCommit.snapshot(), 0, 100);
+
+        // then
+        assertThat(first).extracting(NetworkChange::rowId).containsExactly(late);
+        assertThat(second).extracting(NetworkChange::rowId).containsExactly(early);
+        assertThat(second.getFirst().sequence()).isLessThan(first.getFirst().sequence());
+    }
+
+    @Test
+    void findCommittedBetween_whenTransactionRolledBack_shouldNeverReadIt() throws SQLException {
+        // given
+        ChangePosition start = sut.position();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            insertLocation(connection, "NCR3");
+            connection.rollback();
+        }
+        locationIds.clear();
+
+        // when
+        List<NetworkChange> changes = sut.findCommittedBetween(start.snapshot(), sut.position().snapshot(), 0, 100);
+
+        // then
+        assertThat(changes).isEmpty();
+    }
+
+    private long insertLocation(Connection connection, String code) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO location (name, country, city, location_code)
+                VALUES (?, 'Testland', 'Test City', ?)
+                RETURNING id
+                """)) {
+            statement.setString(1, "Network change " + code);
+            statement.setString(2, code);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                long id = resultSet.getLong(1);
+                locationIds.add(id);
+                return id;
+            }
+        }
+    }
+
+    private long insertLocation(String code) {
+        try (Connection connection = dataSource.getConnection()) {
+            return insertLocation(connection, code);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
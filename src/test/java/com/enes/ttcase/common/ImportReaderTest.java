@@ -0,0 +1,88 @@
+package com.enes.ttcase.common;
+
+import com.enes.ttcase.location.LocationSaveRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportReaderTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void nextChunk_whenCsv_shouldParseQuotedFieldsAndRejectInvalidRows() {
+        // given
+        String body = """
+                name,country,city,locationCode
+                "Taksim Square, Beyoglu",Turkey,Istanbul,TKSQ
+                Istanbul Airport,Turkey,Istanbul,
+
+                "Sabiha ""SAW"" Gokcen",Turkey,Istanbul,SAW
+                Heathrow,England
+                """;
+        ImportReport report = new ImportReport(10);
+
+        // when
+        List<ImportRecord<LocationSaveRequest>> chunk;
+        try (ImportReader<LocationSaveRequest> sut = open(body, ImportFormat.CSV, report)) {
+            chunk = sut.nextChunk(10);
+            assertThat(sut.nextChunk(10)).isEmpty();
+        }
+
+        // then
+        assertThat(chunk).containsExactly(
+                new ImportRecord<>(2, new LocationSaveRequest("Taksim Square, Beyoglu", "Turkey", "Istanbul", "TKSQ")),
+                new ImportRecord<>(5, new LocationSaveRequest("Sabiha \"SAW\" Gokcen", "Turkey", "Istanbul", "SAW"))
+        );
+        ImportResult result = report.finish();
+        assertThat(result.received()).isEqualTo(4);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).containsExactly(
+                new ImportError(3, "locationCode must not be empty"),
+                new ImportError(6, "Malformed record: Expected 4 fields but found 2")
+        );
+    }
+
+    @Test
+    void nextChunk_whenNdjson_shouldSkipRejectedRowsUntilChunkIsFull() {
+        // given
+        String body = """
+                {"name":"Taksim Square","country":"Turkey","city":"Istanbul","locationCode":"TKSQ"}
+                {"name":
+                {"name":"Istanbul Airport","country":"Turkey","city":"Istanbul","locationCode":"IST"}
+                """;
+        ImportReport report = new ImportReport(10);
+
+        // when
+        List<ImportRecord<LocationSaveRequest>> first;
+        List<ImportRecord<LocationSaveRequest>> second;
+        try (ImportReader<LocationSaveRequest> sut = open(body, ImportFormat.NDJSON, report)) {
+            first = sut.nextChunk(1);
+            second = sut.nextChunk(1);
+        }
+
+        // then
+        assertThat(first).extracting(ImportRecord::row).containsExactly(1L);
+        assertThat(second).extracting(ImportRecord::row).containsExactly(3L);
+        assertThat(report.finish().errors()).extracting(ImportError::row).containsExactly(2L);
+    }
+
+    private ImportReader<LocationSaveRequest> open(String body, ImportFormat format, ImportReport report) {
+        InputStream input = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        return ImportReader.open(input, format, LocationSaveRequest.class, ImportReaderTest::fromCsv, jsonMapper, validator, report);
+    }
+
+    private static LocationSaveRequest fromCsv(Map<String, String> fields) {
+        return new LocationSaveRequest(fields.get("name"), fields.get("country"), fields.get("city"), fields.get("locationCode"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.enes.ttcase.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmupRunnerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> completed = new ArrayList<>();
+
+    @Test
+    void run_shouldContinueAfterFailedStep() throws Exception {
+        // given
+        WarmupRunner sut = new WarmupRunner(List.of(
+                task("locations-cache", () -> completed.add("locations-cache")),
+                task("transportations-cache", () -> {
+                    throw new IllegalStateException("Redis is down");
+                }),
+                task("route-graph", () -> completed.add("route-graph"))),
+                meterRegistry, true, Duration.ofSeconds(10));
+
+        // when
+        sut.run(new DefaultApplicationArguments());
+
+        // then
+        assertThat(completed).containsExactly("locations-cache", "route-graph");
+        assertThat(meterRegistry.get("startup.warmup").tags("step", "transportations-cache", "outcome", "failed").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void run_whenBudgetExceeded_shouldInterruptStepAndSkipTheRest() throws Exception {
+        // given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        WarmupRunner sut = new WarmupRunner(List.of(
+                task("route-graph", () -> {
+                    try {
+                        Thread.sleep(Duration.ofMinutes(1));
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                }),
+                task("route-index", () -> completed.add("route-index"))),
+                meterRegistry, true, Duration.ofMillis(100));
+
+        // when
+        long start = System.nanoTime();
+        sut.run(new DefaultApplicationArguments());
+
+        // then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(completed).isEmpty();
+        assertThat(meterRegistry.get("startup.warmup").tags("step", "route-graph", "outcome", "timed-out").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("startup.warmup").tags("step", "route-index", "outcome", "skipped").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void run_whenDisabled_shouldNotRunSteps() throws Exception {
+        // given
+        WarmupRunner sut = new WarmupRunner(List.of(task("route-graph", () -> completed.add("route-graph"))),
+                meterRegistry, false, Duration.ofSeconds(10));
+
+        // when
+        sut.run(new DefaultApplicationArguments());
+
+        // then
+        assertThat(completed).isEmpty();
+    }
+
+    private static WarmupTask task(String name, Runnable warmUp) {
+        return new WarmupTask() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void warmUp() {
+                warmUp.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.enes.ttcase.dataset;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NetworkGeneratorTest {
+
+    private final NetworkSpec spec = new NetworkSpec(42, 10, 30, 3, 20, 3);
+
+    @Test
+    void generate_shouldBeReproducibleForSeed() {
+        // when
+        GeneratedNetwork first = NetworkGenerator.generate(spec);
+        GeneratedNetwork second = NetworkGenerator.generate(spec);
+        GeneratedNetwork otherSeed = NetworkGenerator.generate(new NetworkSpec(43, 10, 30, 3, 20, 3));
+
+        // then
+        assertThat(second.locations()).isEqualTo(first.locations());
+        assertThat(second.transportations()).isEqualTo(first.transportations());
+        assertThat(otherSeed.transportations()).isNotEqualTo(first.transportations());
+    }
+
+    @Test
+    void generate_shouldFollowSpec() {
+        // when
+        GeneratedNetwork actual = NetworkGenerator.generate(spec);
+
+        // then
+        assertThat(actual.locations()).hasSize(300).extracting(LocationDto::locationCode).doesNotHaveDuplicates();
+        assertThat(actual.airports()).hasSize(30);
+        assertThat(actual.locations().stream().map(LocationDto::country).distinct()).hasSize(10);
+
+        Map<TransportationType, Long> types = actual.transportations().stream()
+                .collect(Collectors.groupingBy(TransportationDto::transportationType, Collectors.counting()));
+        assertThat(types).containsOnlyKeys(TransportationType.values());
+        assertThat(actual.transportations()).allSatisfy(transportation -> {
+            assertThat(transportation.operatingDays()).isNotEmpty();
+            assertThat(transportation.isScheduled()).isEqualTo(transportation.transportationType() != TransportationType.UBER);
+        });
+
+        LocationDto hub = actual.airports().getFirst();
+        assertThat(actual.transportations())
+                .filteredOn(t -> t.origin().equals(hub) && t.transportationType() == TransportationType.FLIGHT)
+                .filteredOn(t -> !t.destination().country().equals(hub.country()))
+                .hasSizeGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void spec_whenAirportsExceedLocations() {
+        // when / then
+        assertThatThrownBy(() -> new NetworkSpec(42, 10, 3, 3, 20, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.enes.ttcase.location;
+
+import com.enes.ttcase.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocationCacheServiceTest {
+
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", null, null);
+
+    @Mock
+    private LocationRepository repository;
+
+    @Mock
+    private LocationMapper mapper;
+
+    private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+
+    private LocationCacheService sut;
+
+    @BeforeEach
+    void setUp() {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(remoteCacheManager,
+                message -> {
+                },
+                new SimpleMeterRegistry(),
+                100,
+                Duration.ofMinutes(1));
+        sut = new LocationCacheService(repository, mapper, cacheManager);
+    }
+
+    @Test
+    void getLocationsByCodes_shouldQueryOnlyCacheMissesAndBackfillCache() {
+        // given
+        remoteCacheManager.getCache("locations").put("IST", istanbul);
+        Location heathrowEntity = mock(Location.class);
+        when(repository.findByLocationCodeIn(Set.of("LHR", "XXX"))).thenReturn(List.of(heathrowEntity));
+        when(mapper.toDto(heathrowEntity)).thenReturn(heathrow);
+
+        // when
+        Map<String, LocationDto> actual = sut.getLocationsByCodes(List.of("IST", "LHR", "XXX", "IST"));
+        Map<String, LocationDto> cached = sut.getLocationsByCodes(List.of("IST", "LHR"));
+
+        // then
+        assertThat(actual).containsOnly(Map.entry("IST", istanbul), Map.entry("LHR", heathrow));
+        assertThat(cached).containsOnly(Map.entry("IST", istanbul), Map.entry("LHR", heathrow));
+        assertThat(remoteCacheManager.getCache("locations").get("LHR").get()).isEqualTo(heathrow);
+        verify(repository).findByLocationCodeIn(Set.of("LHR", "XXX"));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void onLocationChanged_whenCodeRenamed_shouldEvictPreviousAndCurrentCodes() {
+        // given
+        LocationDto renamed = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "ISL", null, null);
+        remoteCacheManager.getCache("locations").put("IST", istanbul);
+        remoteCacheManager.getCache("locations").put("ISL", renamed);
+        remoteCacheManager.getCache("locations").put("LHR", heathrow);
+
+        // when
+        sut.onLocationChanged(new LocationChangedEvent(istanbul, renamed));
+
+        // then
+        assertThat(remoteCacheManager.getCache("locations").get("IST")).isNull();
+        assertThat(remoteCacheManager.getCache("locations").get("ISL")).isNull();
+        assertThat(remoteCacheManager.getCache("locations").get("LHR")).isNotNull();
+    }
+}
@@ -22,13 +22,19 @@ class LocationControllerTest {
     @Mock
     private LocationService locationService;
 
+    @Mock
+    private LocationImportService locationImportService;
+
+    @Mock
+    private LocationSearchService locationSearchService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private MockMvc mockMvc;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(new LocationController(locationService)).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new LocationController(locationService, locationImportService, locationSearchService)).build();
     }
 
     @Test
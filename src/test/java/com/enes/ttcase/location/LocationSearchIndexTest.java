@@ -0,0 +1,57 @@
+package com.enes.ttcase.location;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationSearchIndexTest {
+
+    private final LocationDto taksim = new LocationDto(1L, "Taksim Square", "Turkey", "Istanbul", "TKSQ", null, null);
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+    private final LocationDto sabiha = new LocationDto(3L, "Sabiha Gökçen Airport", "Turkey", "Istanbul", "SAW", null, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", null, null);
+    private final LocationDto wembley = new LocationDto(5L, "Wembley Stadium", "England", "London", "WS", null, null);
+
+    private final LocationSearchIndex sut = LocationSearchIndex.build(List.of(taksim, istanbul, sabiha, heathrow, wembley));
+
+    @Test
+    void search_shouldRankCodeThenNameThenCity() {
+        // when
+        List<LocationDto> actual = sut.search("ist", 10);
+
+        // then
+        assertThat(actual).containsExactly(istanbul, taksim, sabiha);
+    }
+
+    @Test
+    void search_shouldRequireEveryTokenAndFoldAccents() {
+        // when / then
+        assertThat(sut.search("gokcen air", 10)).containsExactly(sabiha);
+        assertThat(sut.search("london air", 10)).containsExactly(heathrow);
+        assertThat(sut.search("london", 1)).containsExactly(heathrow);
+        assertThat(sut.search("paris", 10)).isEmpty();
+        assertThat(sut.search(" - ", 10)).isEmpty();
+    }
+
+    @Test
+    void withLocation_shouldMatchFullRebuild() {
+        // given
+        LocationDto renamed = new LocationDto(4L, "Heathrow", "England", "London", "LHR", null, null);
+        LocationDto gatwick = new LocationDto(6L, "Gatwick Airport", "England", "London", "LGW", null, null);
+
+        // when
+        LocationSearchIndex actual = sut.withLocation(heathrow, renamed)
+                .withLocation(null, gatwick)
+                .withLocation(taksim, null);
+
+        // then
+        LocationSearchIndex rebuilt = LocationSearchIndex.build(List.of(istanbul, sabiha, renamed, wembley, gatwick));
+        for (String query : List.of("l", "london", "air", "heathrow", "ist", "t", "g")) {
+            assertThat(actual.search(query, 10)).containsExactlyElementsOf(rebuilt.search(query, 10));
+        }
+        assertThat(actual.locationCount()).isEqualTo(5);
+        assertThat(actual.termCount()).isEqualTo(rebuilt.termCount());
+    }
+}
@@ -0,0 +1,123 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the bidirectional finder against the depth-first one on random graphs and rules, including self-loops,
+ * parallel legs and searches from a location to itself.
+ */
+class BidirectionalRouteFinderTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-01T00:00:00Z");
+    private static final TransportationType[] TYPES = TransportationType.values();
+
+    private final RouteFinder expected = new DefaultRouteFinder();
+    private final RouteFinder sut = new BidirectionalRouteFinder();
+
+    static LongStream seeds() {
+        return LongStream.range(0, 300);
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void findRoutes_onRandomGraph_shouldMatchDepthFirstSearch(long seed) {
+        // given
+        RouteFindContext context = randomContext(new Random(seed));
+
+        // when
+        List<Route> actual = sut.findRoutes(context);
+
+        // then
+        assertThat(actual).doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(expected.findRoutes(context));
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void findRoutes_onRandomGraph_whenRanked_shouldKeepSameBestRoutes(long seed) {
+        // given
+        Random random = new Random(seed);
+        RouteFindContext context = randomContext(random);
+        RouteRanking ranking = RouteRanking.values()[random.nextInt(RouteRanking.values().length)];
+        Set<TransportationType> preferredTypes = EnumSet.noneOf(TransportationType.class);
+        for (TransportationType type : TYPES) {
+            if (random.nextBoolean()) {
+                preferredTypes.add(type);
+            }
+        }
+        int capacity = 1 + random.nextInt(5);
+        RankedRouteSink expectedSink = new RankedRouteSink(ranking, preferredTypes, capacity);
+        RankedRouteSink sink = new RankedRouteSink(ranking, preferredTypes, capacity);
+
+        // when
+        expected.findRoutes(context, expectedSink);
+        sut.findRoutes(context, sink);
+
+        // then
+        assertThat(sink.routes()).containsExactlyElementsOf(expectedSink.routes());
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void findRoutes_onRandomGraph_withRandomRules_shouldMatchDepthFirstSearch(long seed) {
+        // given
+        Random random = new Random(seed);
+        RouteFindContext context = randomContext(random).withRules(randomRules(random));
+
+        // when
+        List<Route> actual = sut.findRoutes(context);
+
+        // then
+        assertThat(actual).doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(expected.findRoutes(context));
+    }
+
+    static RouteFindContext randomContext(Random random) {
+        List<LocationDto> locations = new ArrayList<>();
+        int locationCount = 2 + random.nextInt(7);
+        for (int i = 0; i < locationCount; i++) {
+            locations.add(new LocationDto(i, "Location " + i, "Country " + random.nextInt(2), "City " + i, "L" + i,
+                    CREATED_AT, null));
+        }
+
+        Set<TransportationDto> transportations = new HashSet<>();
+        int transportationCount = random.nextInt(4 * locationCount);
+        for (int i = 0; i < transportationCount; i++) {
+            transportations.add(new TransportationDto(i, pick(locations, random), pick(locations, random),
+                    TYPES[random.nextInt(TYPES.length)], Set.of(1), CREATED_AT, null));
+        }
+        return new RouteFindContext(pick(locations, random), pick(locations, random), transportations);
+    }
+
+    static RouteRules randomRules(Random random) {
+        int maxLegs = 1 + random.nextInt(RouteRules.MAX_LEGS);
+        int maxFlights = random.nextInt(RouteRules.MAX_LEGS + 1);
+        Set<TransportationType> excludedBeforeFlight = EnumSet.noneOf(TransportationType.class);
+        for (TransportationType type : TYPES) {
+            if (type != TransportationType.FLIGHT && random.nextInt(3) == 0) {
+                excludedBeforeFlight.add(type);
+            }
+        }
+        return new RouteRules(maxLegs, random.nextInt(Math.min(maxLegs, maxFlights) + 1), maxFlights,
+                random.nextInt(RouteRules.MAX_LEGS + 1), random.nextInt(RouteRules.MAX_LEGS + 1), excludedBeforeFlight);
+    }
+
+    private static LocationDto pick(List<LocationDto> locations, Random random) {
+        return locations.get(random.nextInt(locations.size()));
+    }
+}
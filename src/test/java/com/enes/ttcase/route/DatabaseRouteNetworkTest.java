@@ -0,0 +1,107 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.location.LocationService;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationService;
+import com.enes.ttcase.transportation.TransportationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseRouteNetworkTest {
+
+    private final LocationDto taksim = new LocationDto(1L, "Taksim Square", "Turkey", "Istanbul", "TKSQ", null, null);
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+    private final LocationDto kadikoy = new LocationDto(6L, "Kadikoy Pier", "Turkey", "Istanbul", "KDK", null, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", null, null);
+    private final LocationDto wembley = new LocationDto(5L, "Wembley Stadium", "England", "London", "WS", null, null);
+
+    private final TransportationDto busToIstanbul = new TransportationDto(1L, taksim, istanbul, TransportationType.BUS, Set.of(1), null, null);
+    private final TransportationDto ferryToIstanbul = new TransportationDto(2L, kadikoy, istanbul, TransportationType.BUS, Set.of(1), null, null);
+    private final TransportationDto flightToHeathrow = new TransportationDto(3L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(1), null, null);
+    private final TransportationDto busToWembley = new TransportationDto(4L, heathrow, wembley, TransportationType.BUS, Set.of(1), null, null);
+
+    @Mock
+    private TransportationService transportationService;
+
+    @Mock
+    private LocationService locationService;
+
+    private final RouteSearchMetrics metrics = new RouteSearchMetrics(new SimpleMeterRegistry());
+
+    private DatabaseRouteNetwork sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new DatabaseRouteNetwork(transportationService, locationService, metrics, Executors.newVirtualThreadPerTaskExecutor(), false);
+    }
+
+    @Test
+    void loadContexts_shouldShareQueriesAndKeepCandidatesOfEachSearch() {
+        // given
+        DayOfWeek day = DayOfWeek.TUESDAY;
+        when(transportationService.findTransportationsBetweenCountries("Turkey", "England", TransportationType.FLIGHT, day))
+                .thenReturn(Set.of(flightToHeathrow));
+        when(transportationService.findTransportationsBetweenLocationCodesAndOperatingDay(Set.of("TKSQ", "KDK"), Set.of("IST"), day))
+                .thenReturn(Set.of(busToIstanbul, ferryToIstanbul));
+        when(transportationService.findTransportationsBetweenLocationCodesAndOperatingDay(Set.of("LHR"), Set.of("WS", "LHR"), day))
+                .thenReturn(Set.of(busToWembley));
+
+        // when
+        List<RouteFindContext> actual = sut.loadContexts(
+                List.of(new RouteEndpoints(taksim, wembley), new RouteEndpoints(kadikoy, heathrow)),
+                day);
+
+        // then
+        assertThat(actual).containsExactly(
+                new RouteFindContext(taksim, wembley, Set.of(flightToHeathrow, busToIstanbul, busToWembley)),
+                new RouteFindContext(kadikoy, heathrow, Set.of(flightToHeathrow, ferryToIstanbul)));
+    }
+
+    @Test
+    void loadContexts_whenSingleQuery_shouldSplitCandidatesPerSearch() {
+        // given
+        DatabaseRouteNetwork singleQuery = new DatabaseRouteNetwork(transportationService, locationService, metrics, Executors.newVirtualThreadPerTaskExecutor(), true);
+        DayOfWeek day = DayOfWeek.TUESDAY;
+        when(transportationService.findRouteCandidates("Turkey", "England", Set.of(1L, 6L), Set.of(5L, 4L), day))
+                .thenReturn(Set.of(flightToHeathrow, busToIstanbul, ferryToIstanbul, busToWembley));
+
+        // when
+        List<RouteFindContext> actual = singleQuery.loadContexts(
+                List.of(new RouteEndpoints(taksim, wembley), new RouteEndpoints(kadikoy, heathrow)),
+                day);
+
+        // then
+        assertThat(actual).containsExactly(
+                new RouteFindContext(taksim, wembley, Set.of(flightToHeathrow, busToIstanbul, busToWembley)),
+                new RouteFindContext(kadikoy, heathrow, Set.of(flightToHeathrow, ferryToIstanbul)));
+    }
+
+    @Test
+    void loadContext_whenLocationCodeIsUnknown_shouldThrowOriginalException() {
+        // given
+        when(locationService.getByLocationCodes(List.of("TKSQ", "XXX"))).thenReturn(Map.of("TKSQ", taksim));
+
+        // when / then
+        assertThatThrownBy(() -> sut.loadContext("TKSQ", "XXX", DayOfWeek.TUESDAY))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid origin or destination location code");
+        verifyNoInteractions(transportationService);
+    }
+}
@@ -3,20 +3,29 @@ package com.enes.ttcase.route;
 import com.enes.ttcase.location.LocationDto;
 import com.enes.ttcase.transportation.TransportationDto;
 import com.enes.ttcase.transportation.TransportationType;
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 class DefaultRouteFinderTest {
 
-    private DefaultRouteFinder sut = new DefaultRouteFinder();
+    static Stream<RouteFinder> finders() {
+        return Stream.of(new DefaultRouteFinder(), new IndexedRouteFinder(), new BidirectionalRouteFinder(),
+                new ScheduledRouteFinder(Duration.ZERO, Map.of()));
+    }
 
-    @Test
-    void findRoutes_whenNoTransportationFound() {
+    @ParameterizedTest
+    @MethodSource("finders")
+    void findRoutes_whenNoTransportationFound(RouteFinder sut) {
         // given
         RouteFindContext context = new RouteFindContext(
                 mock(LocationDto.class),
@@ -31,8 +40,9 @@ class DefaultRouteFinderTest {
         assertThat(actual).isEmpty();
     }
 
-    @Test
-    void findRoutes_whenValidRouteExists() {
+    @ParameterizedTest
+    @MethodSource("finders")
+    void findRoutes_whenValidRouteExists(RouteFinder sut) {
         // given
         LocationDto locA = mock(LocationDto.class);
         LocationDto locB = mock(LocationDto.class);
@@ -55,8 +65,9 @@ class DefaultRouteFinderTest {
         assertThat(actual.getFirst().steps()).containsExactly(flightAB, busBC);
     }
 
-    @Test
-    void findRoutes_whenNoFlightInRoute() {
+    @ParameterizedTest
+    @MethodSource("finders")
+    void findRoutes_whenNoFlightInRoute(RouteFinder sut) {
         // given
         LocationDto locA = mock(LocationDto.class);
         LocationDto locB = mock(LocationDto.class);
@@ -78,8 +89,9 @@ class DefaultRouteFinderTest {
         assertThat(actual).isEmpty();
     }
 
-    @Test
-    void findRoutes_whenMoreThanMaxSteps() {
+    @ParameterizedTest
+    @MethodSource("finders")
+    void findRoutes_whenMoreThanMaxSteps(RouteFinder sut) {
         // given
         LocationDto locA = mock(LocationDto.class);
         LocationDto locB = mock(LocationDto.class);
@@ -106,4 +118,165 @@ class DefaultRouteFinderTest {
         // then
         assertThat(actual).isEmpty();
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @MethodSource("finders")
+    void findRoutes_whenParallelTransportationsExist(RouteFinder sut) {
+        // given
+        LocationDto locA = mock(LocationDto.class);
+        LocationDto locB = mock(LocationDto.class);
+        LocationDto locC = mock(LocationDto.class);
+        LocationDto locD = mock(LocationDto.class);
+
+        TransportationDto busAB = new TransportationDto(0L, locA, locB, TransportationType.BUS, Set.of(1), null, null);
+        TransportationDto uberAB = new TransportationDto(1L, locA, locB, TransportationType.UBER, Set.of(1), null, null);
+        TransportationDto flightBC = new TransportationDto(2L, locB, locC, TransportationType.FLIGHT, Set.of(1), null, null);
+        TransportationDto busCD = new TransportationDto(3L, locC, locD, TransportationType.BUS, Set.of(1), null, null);
+        TransportationDto subwayCB = new TransportationDto(4L, locC, locB, TransportationType.SUBWAY, Set.of(1), null, null);
+        TransportationDto flightAD = new TransportationDto(5L, locA, locD, TransportationType.FLIGHT, Set.of(1), null, null);
+
+        RouteFindContext context = new RouteFindContext(
+                locA,
+                locD,
+                Set.of(busAB, uberAB, flightBC, busCD, subwayCB, flightAD)
+        );
+
+        // when
+        List<Route> actual = sut.findRoutes(context);
+
+        // then
+        assertThat(actual).containsExactlyInAnyOrder(
+                new Route(List.of(busAB, flightBC, busCD)),
+                new Route(List.of(uberAB, flightBC, busCD)),
+                new Route(List.of(flightAD))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("finders")
+    void findRoutes_whenSinkStops_shouldStopSearching(RouteFinder sut) {
+        // given
+        LocationDto locA = mock(LocationDto.class);
+        LocationDto locB = mock(LocationDto.class);
+        LocationDto locC = mock(LocationDto.class);
+
+        TransportationDto busAB = new TransportationDto(0L, locA, locB, TransportationType.BUS, Set.of(1), null, null);
+        TransportationDto uberAB = new TransportationDto(1L, locA, locB, TransportationType.UBER, Set.of(1), null, null);
+        TransportationDto subwayAB = new TransportationDto(2L, locA, locB, TransportationType.SUBWAY, Set.of(1), null, null);
+        TransportationDto flightBC = new TransportationDto(3L, locB, locC, TransportationType.FLIGHT, Set.of(1), null, null);
+
+        RouteFindContext context = new RouteFindContext(
+                locA,
+                locC,
+                Set.of(busAB, uberAB, subwayAB, flightBC)
+        );
+        List<Route> emitted = new ArrayList<>();
+
+        // when
+        sut.findRoutes(context, RouteSink.limit(emitted::add, 2));
+
+        // then
+        assertThat(emitted).hasSize(2);
+        assertThat(sut.findRoutes(context)).hasSize(3);
+    }
+
+    @ParameterizedTest
+    @MethodSource("finders")
+    void findRoutes_whenSinkStops_shouldStillReportStatistics(RouteFinder sut) {
+        // given
+        LocationDto locA = mock(LocationDto.class);
+        LocationDto locB = mock(LocationDto.class);
+        LocationDto locC = mock(LocationDto.class);
+
+        TransportationDto busAB = new TransportationDto(0L, locA, locB, TransportationType.BUS, Set.of(1), null, null);
+        TransportationDto uberAB = new TransportationDto(1L, locA, locB, TransportationType.UBER, Set.of(1), null, null);
+        TransportationDto flightBC = new TransportationDto(2L, locB, locC, TransportationType.FLIGHT, Set.of(1), null, null);
+
+        RouteFindContext context = new RouteFindContext(
+                locA,
+                locC,
+                Set.of(busAB, uberAB, flightBC)
+        );
+        List<RouteSearchStatistics> reported = new ArrayList<>();
+        RouteSink sink = new RouteSink() {
+            @Override
+            public boolean accept(Route route) {
+                return false;
+            }
+
+            @Override
+            public void completed(RouteSearchStatistics statistics) {
+                reported.add(statistics);
+            }
+        };
+
+        // when
+        sut.findRoutes(context, sink);
+
+        // then
+        assertThat(reported).singleElement().satisfies(statistics -> {
+            assertThat(statistics.graphNanos()).isNotNegative();
+            assertThat(statistics.searchNanos()).isNotNegative();
+            assertThat(statistics.expandedStates()).isPositive();
+        });
+    }
+
+    @ParameterizedTest
+    @MethodSource("finders")
+    void findRoutes_whenRanked_shouldKeepBestRoutesOnly(RouteFinder sut) {
+        // given
+        LocationDto locA = mock(LocationDto.class);
+        LocationDto locB = mock(LocationDto.class);
+        LocationDto locC = mock(LocationDto.class);
+        LocationDto locD = mock(LocationDto.class);
+
+        TransportationDto busAB = new TransportationDto(0L, locA, locB, TransportationType.BUS, Set.of(1), null, null);
+        TransportationDto flightBC = new TransportationDto(1L, locB, locC, TransportationType.FLIGHT, Set.of(1), null, null);
+        TransportationDto busCD = new TransportationDto(2L, locC, locD, TransportationType.BUS, Set.of(1), null, null);
+        TransportationDto flightAC = new TransportationDto(3L, locA, locC, TransportationType.FLIGHT, Set.of(1), null, null);
+        TransportationDto flightAD = new TransportationDto(4L, locA, locD, TransportationType.FLIGHT, Set.of(1), null, null);
+
+        RouteFindContext context = new RouteFindContext(
+                locA,
+                locD,
+                Set.of(busAB, flightBC, busCD, flightAC, flightAD)
+        );
+        RankedRouteSink sink = new RankedRouteSink(RouteRanking.FEWEST_NON_FLIGHT_LEGS, Set.of(), 2);
+
+        // when
+        sut.findRoutes(context, sink);
+
+        // then
+        assertThat(sink.routes()).containsExactly(
+                new Route(List.of(flightAD)),
+                new Route(List.of(flightAC, busCD)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("finders")
+    void findRoutes_whenRulesRestrictRoutes_shouldApplyThem(RouteFinder sut) {
+        // given
+        LocationDto locA = mock(LocationDto.class);
+        LocationDto locB = mock(LocationDto.class);
+        LocationDto locC = mock(LocationDto.class);
+        LocationDto locD = mock(LocationDto.class);
+
+        TransportationDto uberAB = new TransportationDto(0L, locA, locB, TransportationType.UBER, Set.of(1), null, null);
+        TransportationDto busAB = new TransportationDto(1L, locA, locB, TransportationType.BUS, Set.of(1), null, null);
+        TransportationDto flightBD = new TransportationDto(2L, locB, locD, TransportationType.FLIGHT, Set.of(1), null, null);
+        TransportationDto flightAC = new TransportationDto(3L, locA, locC, TransportationType.FLIGHT, Set.of(1), null, null);
+        TransportationDto flightCD = new TransportationDto(4L, locC, locD, TransportationType.FLIGHT, Set.of(1), null, null);
+
+        RouteFindContext context = new RouteFindContext(
+                locA,
+                locD,
+                Set.of(uberAB, busAB, flightBD, flightAC, flightCD)
+        ).withRules(new RouteRules(3, 1, 1, 3, 3, Set.of(TransportationType.UBER)));
+
+        // when
+        List<Route> actual = sut.findRoutes(context);
+
+        // then
+        assertThat(actual).containsExactly(new Route(List.of(busAB, flightBD)));
+    }
+}
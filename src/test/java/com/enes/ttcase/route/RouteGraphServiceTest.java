@@ -0,0 +1,126 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.change.ChangePosition;
+import com.enes.ttcase.change.ChangedRows;
+import com.enes.ttcase.change.NetworkChangeLog;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.location.LocationService;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationService;
+import com.enes.ttcase.transportation.TransportationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RouteGraphServiceTest {
+
+    private static final Instant CREATED = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant CHANGED = Instant.parse("2025-01-02T00:00:00Z");
+    private static final ChangePosition EXPORTED = new ChangePosition(40, "100:104:102");
+    private static final ChangePosition CHANGED_POSITION = new ChangePosition(45, "106:106:");
+
+    private final LocationDto taksim = new LocationDto(1L, "Taksim Square", "Turkey", "Istanbul", "TKSQ", CREATED, null);
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", CREATED, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", CREATED, null);
+    private final LocationDto wembley = new LocationDto(5L, "Wembley Stadium", "England", "London", "WS", CHANGED, null);
+
+    private final TransportationDto busToIstanbul = new TransportationDto(1L, taksim, istanbul, TransportationType.BUS, Set.of(1), CREATED, null);
+    private final TransportationDto flightToHeathrow = new TransportationDto(2L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(1), CREATED, null);
+    private final TransportationDto busToWembley = new TransportationDto(3L, heathrow, wembley, TransportationType.BUS, Set.of(1), CHANGED, null);
+
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private TransportationService transportationService;
+
+    @Mock
+    private NetworkChangeLog changeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void refresh_whenSnapshotExists_shouldReplayChangesItsPositionDidNotSee() throws Exception {
+        // given
+        Path path = directory.resolve("network.snapshot");
+        RouteGraphSnapshot.write(path, EXPORTED, List.of(taksim, istanbul, heathrow), List.of(busToIstanbul, flightToHeathrow));
+        TransportationDto flightOnWednesday = new TransportationDto(2L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(1, 2), CREATED, CHANGED);
+        when(changeLog.changedSince(EXPORTED)).thenReturn(Optional.of(new ChangedRows(Set.of(5L), Set.of(1L, 2L, 3L))));
+        when(changeLog.position()).thenReturn(CHANGED_POSITION);
+        when(locationService.getLocationsByIds(Set.of(5L))).thenReturn(List.of(wembley));
+        when(transportationService.getTransportationsByIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(flightOnWednesday, busToWembley));
+        RouteGraphService sut = newService(path);
+
+        // when
+        RouteGraph actual = sut.refresh();
+
+        // then
+        assertThat(actual.locations()).containsExactly(taksim, istanbul, heathrow, wembley);
+        assertThat(actual.transportations()).containsExactly(flightOnWednesday, busToWembley);
+        assertThat(RouteGraphSnapshot.read(path).position()).isEqualTo(CHANGED_POSITION);
+        verify(locationService, never()).getAllLocations();
+        verify(transportationService, never()).getAllTransportations();
+    }
+
+    @Test
+    void refresh_whenChangeLogNoLongerReachesSnapshot_shouldLoadDatabase() throws Exception {
+        // given
+        Path path = directory.resolve("network.snapshot");
+        RouteGraphSnapshot.write(path, EXPORTED, List.of(istanbul, heathrow), List.of());
+        when(changeLog.changedSince(EXPORTED)).thenReturn(Optional.empty());
+        when(changeLog.position()).thenReturn(CHANGED_POSITION);
+        when(locationService.getAllLocations()).thenReturn(List.of(istanbul, heathrow));
+        when(transportationService.getAllTransportations()).thenReturn(List.of(flightToHeathrow));
+        RouteGraphService sut = newService(path);
+
+        // when
+        RouteGraph actual = sut.refresh();
+
+        // then
+        assertThat(actual.transportations()).containsExactly(flightToHeathrow);
+        assertThat(RouteGraphSnapshot.read(path).position()).isEqualTo(CHANGED_POSITION);
+    }
+
+    @Test
+    void refresh_whenSnapshotIsMissing_shouldLoadDatabaseAndWriteSnapshot() throws Exception {
+        // given
+        Path path = directory.resolve("network.snapshot");
+        when(changeLog.position()).thenReturn(EXPORTED);
+        when(locationService.getAllLocations()).thenReturn(List.of(istanbul, heathrow));
+        when(transportationService.getAllTransportations()).thenReturn(List.of(flightToHeathrow));
+        RouteGraphService sut = newService(path);
+
+        // when
+        RouteGraph actual = sut.refresh();
+
+        // then
+        assertThat(actual.transportations()).containsExactly(flightToHeathrow);
+        assertThat(RouteGraphSnapshot.read(path).position()).isEqualTo(EXPORTED);
+        assertThat(RouteGraphSnapshot.read(path).transportations()).containsExactly(flightToHeathrow);
+    }
+
+    private RouteGraphService newService(Path path) {
+        return new RouteGraphService(locationService, transportationService, changeLog,
+                new RouteSearchMetrics(new SimpleMeterRegistry()), transactionManager, path.toString());
+    }
+}
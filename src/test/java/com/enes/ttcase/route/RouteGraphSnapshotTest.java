@@ -0,0 +1,93 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.change.ChangePosition;
+import com.enes.ttcase.dataset.GeneratedNetwork;
+import com.enes.ttcase.dataset.NetworkGenerator;
+import com.enes.ttcase.dataset.NetworkSpec;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteGraphSnapshotTest {
+
+    private static final ChangePosition POSITION = new ChangePosition(0, "1:1:");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_shouldReturnWrittenNetworkAndChangePosition() throws IOException {
+        // given
+        LocationDto istanbul = new LocationDto(2L, "İstanbul Havalimanı", "Turkey", "Istanbul", "IST",
+                Instant.parse("2025-01-01T10:00:00.123456Z"), null);
+        LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR",
+                Instant.parse("2025-01-01T10:00:00Z"), Instant.parse("2025-03-01T08:30:00Z"));
+        TransportationDto flight = new TransportationDto(3L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(0, 4),
+                LocalTime.of(9, 45), LocalTime.of(13, 5, 30), Instant.parse("2025-02-01T00:00:00Z"), null);
+        TransportationDto uber = new TransportationDto(7L, heathrow, istanbul, TransportationType.UBER, Set.of(6),
+                null, null, Instant.parse("2025-02-01T00:00:00Z"), Instant.parse("2025-02-02T00:00:00Z"));
+        ChangePosition position = new ChangePosition(42, "1200:1205:1201,1203");
+        Path path = directory.resolve("network.snapshot");
+
+        // when
+        RouteGraphSnapshot.write(path, position, List.of(istanbul, heathrow), List.of(flight, uber));
+        RouteGraphSnapshot.Contents actual = RouteGraphSnapshot.read(path);
+
+        // then
+        assertThat(actual.position()).isEqualTo(position);
+        assertThat(actual.locations()).containsExactly(istanbul, heathrow);
+        assertThat(actual.transportations()).containsExactly(flight, uber);
+        assertThat(directory).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    void read_shouldRoundTripGeneratedNetwork() throws IOException {
+        // given
+        GeneratedNetwork network = NetworkGenerator.generate(NetworkSpec.ofSize(7, 500, 20, 2));
+        Path path = directory.resolve("network.snapshot");
+
+        // when
+        RouteGraphSnapshot.write(path, POSITION, network.locations(), network.transportations());
+        RouteGraphSnapshot.Contents actual = RouteGraphSnapshot.read(path);
+
+        // then
+        assertThat(actual.locations()).containsExactlyElementsOf(network.locations());
+        assertThat(actual.transportations()).containsExactlyElementsOf(network.transportations());
+    }
+
+    @Test
+    void read_whenFileIsCorrupt_shouldThrow() throws IOException {
+        // given
+        LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+        Path path = directory.resolve("network.snapshot");
+        RouteGraphSnapshot.write(path, POSITION, List.of(istanbul), List.of());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 40);
+        }
+
+        // when / then
+        assertThatThrownBy(() -> RouteGraphSnapshot.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+        Files.writeString(path, "not a snapshot");
+        assertThatThrownBy(() -> RouteGraphSnapshot.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a route graph snapshot");
+    }
+}
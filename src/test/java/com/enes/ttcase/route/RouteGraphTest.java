@@ -0,0 +1,154 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteGraphTest {
+
+    private final LocationDto taksim = new LocationDto(1L, "Taksim Square", "Turkey", "Istanbul", "TKSQ", null, null);
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+    private final LocationDto sabiha = new LocationDto(3L, "Sabiha Gokcen Airport", "Turkey", "Istanbul", "SAW", null, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", null, null);
+    private final LocationDto wembley = new LocationDto(5L, "Wembley Stadium", "England", "London", "WS", null, null);
+
+    private final TransportationDto busToIstanbul = new TransportationDto(1L, taksim, istanbul, TransportationType.BUS, Set.of(1, 3), null, null);
+    private final TransportationDto flightToHeathrow = new TransportationDto(2L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(1, 3), null, null);
+    private final TransportationDto busToWembley = new TransportationDto(3L, heathrow, wembley, TransportationType.BUS, Set.of(1), null, null);
+    private final TransportationDto busToSabiha = new TransportationDto(4L, taksim, sabiha, TransportationType.BUS, Set.of(1, 3), null, null);
+
+    @Test
+    void findCandidateTransportations_shouldReturnFlightsAndFeedersOperatingOnDay() {
+        // given
+        RouteGraph sut = RouteGraph.build(1,
+                List.of(taksim, istanbul, sabiha, heathrow, wembley),
+                List.of(busToIstanbul, flightToHeathrow, busToWembley, busToSabiha));
+
+        // when
+        Set<TransportationDto> tuesday = sut.findCandidateTransportations(taksim, wembley, DayOfWeek.TUESDAY);
+        Set<TransportationDto> thursday = sut.findCandidateTransportations(taksim, wembley, DayOfWeek.THURSDAY);
+
+        // then
+        assertThat(tuesday).containsExactlyInAnyOrder(busToIstanbul, flightToHeathrow, busToWembley);
+        assertThat(thursday).containsExactlyInAnyOrder(busToIstanbul, flightToHeathrow);
+    }
+
+    @Test
+    void findCandidateTransportations_whenNoFlightBetweenCountries() {
+        // given
+        RouteGraph sut = RouteGraph.build(1,
+                List.of(taksim, istanbul, sabiha, heathrow, wembley),
+                List.of(busToIstanbul, busToWembley, busToSabiha));
+
+        // when
+        Set<TransportationDto> actual = sut.findCandidateTransportations(taksim, wembley, DayOfWeek.TUESDAY);
+
+        // then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void withTransportation_shouldReplacePreviousAndKeepOriginalGraph() {
+        // given
+        RouteGraph original = RouteGraph.build(1,
+                List.of(taksim, istanbul, sabiha, heathrow, wembley),
+                List.of(busToIstanbul, flightToHeathrow, busToWembley));
+        TransportationDto flightFromSabiha = new TransportationDto(2L, sabiha, heathrow, TransportationType.FLIGHT, Set.of(1), null, null);
+
+        // when
+        RouteGraph actual = original.withTransportation(flightToHeathrow, flightFromSabiha)
+                .withTransportation(null, busToSabiha);
+
+        // then
+        assertThat(actual.version()).isEqualTo(3);
+        assertThat(actual.findCandidateTransportations(taksim, wembley, DayOfWeek.TUESDAY))
+                .containsExactlyInAnyOrder(busToSabiha, flightFromSabiha, busToWembley);
+        assertThat(original.findCandidateTransportations(taksim, wembley, DayOfWeek.TUESDAY))
+                .containsExactlyInAnyOrder(busToIstanbul, flightToHeathrow, busToWembley);
+    }
+
+    @Test
+    void withLocation_shouldRebindTransportationEndpoints() {
+        // given
+        RouteGraph original = RouteGraph.build(1,
+                List.of(taksim, istanbul, heathrow, wembley),
+                List.of(busToIstanbul, flightToHeathrow, busToWembley));
+        LocationDto renamed = new LocationDto(4L, "Heathrow", "England", "London", "LHR", null, null);
+
+        // when
+        RouteGraph actual = original.withLocation(heathrow, renamed);
+
+        // then
+        assertThat(actual.findLocation("LHR")).isEqualTo(renamed);
+        assertThat(actual.findCandidateTransportations(taksim, wembley, DayOfWeek.TUESDAY))
+                .extracting(TransportationDto::destination)
+                .contains(renamed);
+    }
+
+    @Test
+    void withTransportation_shouldMatchFullRebuildAfterEveryKindOfChange() {
+        // given
+        List<LocationDto> locations = List.of(taksim, istanbul, sabiha, heathrow, wembley);
+        TransportationDto flightFromSabiha = new TransportationDto(5L, sabiha, heathrow, TransportationType.FLIGHT, Set.of(2, 3), null, null);
+        TransportationDto busToWembleyDaily = new TransportationDto(3L, heathrow, wembley, TransportationType.BUS, Set.of(0, 1, 2, 3, 4, 5, 6), null, null);
+        TransportationDto busBetween = new TransportationDto(2L, sabiha, istanbul, TransportationType.BUS, Set.of(2), null, null);
+        RouteGraph graph = RouteGraph.build(1, locations, List.of(busToIstanbul, flightToHeathrow, busToWembley, busToSabiha));
+
+        // when
+        graph = graph.withTransportation(null, flightFromSabiha);
+        assertMatchesRebuild(graph, locations, List.of(busToIstanbul, flightToHeathrow, busToWembley, busToSabiha, flightFromSabiha));
+        graph = graph.withTransportation(busToWembley, busToWembleyDaily);
+        assertMatchesRebuild(graph, locations, List.of(busToIstanbul, flightToHeathrow, busToWembleyDaily, busToSabiha, flightFromSabiha));
+        graph = graph.withTransportation(flightToHeathrow, null);
+        assertMatchesRebuild(graph, locations, List.of(busToIstanbul, busToWembleyDaily, busToSabiha, flightFromSabiha));
+        graph = graph.withTransportation(null, busBetween);
+
+        // then
+        assertMatchesRebuild(graph, locations, List.of(busToIstanbul, busBetween, busToWembleyDaily, busToSabiha, flightFromSabiha));
+        assertThat(graph.version()).isEqualTo(5);
+    }
+
+    @Test
+    void withLocation_whenCodeChanges_shouldFindLocationByNewCodeOnly() {
+        // given
+        RouteGraph original = RouteGraph.build(1,
+                List.of(taksim, istanbul, heathrow, wembley),
+                List.of(busToIstanbul, flightToHeathrow, busToWembley));
+        LocationDto recoded = new LocationDto(4L, "London Heathrow Airport", "England", "London", "EGLL", null, null);
+
+        // when
+        RouteGraph actual = original.withLocation(heathrow, recoded);
+
+        // then
+        assertThat(actual.findLocation("LHR")).isNull();
+        assertThat(actual.findLocation("EGLL")).isEqualTo(recoded);
+        assertThat(original.findLocation("LHR")).isEqualTo(heathrow);
+        assertThat(actual.findCandidateTransportations(taksim, wembley, DayOfWeek.TUESDAY))
+                .extracting(TransportationDto::id)
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    private static void assertMatchesRebuild(RouteGraph actual, List<LocationDto> locations, List<TransportationDto> transportations) {
+        RouteGraph expected = RouteGraph.build(actual.version(), locations, transportations);
+        assertThat(actual.transportations()).isEqualTo(expected.transportations());
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (LocationDto origin : locations) {
+                for (LocationDto destination : locations) {
+                    assertThat(actual.findCandidateTransportations(origin, destination, day))
+                            .isEqualTo(expected.findCandidateTransportations(origin, destination, day));
+                }
+                for (String country : expected.countries()) {
+                    assertThat(actual.findEndpoints(origin.country(), country, day))
+                            .isEqualTo(expected.findEndpoints(origin.country(), country, day));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationChangedEvent;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RouteIndexServiceTest {
+
+    private final LocationDto taksim = new LocationDto(1L, "Taksim Square", "Turkey", "Istanbul", "TKSQ", null, null);
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+    private final LocationDto sabiha = new LocationDto(3L, "Sabiha Gokcen Airport", "Turkey", "Istanbul", "SAW", null, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", null, null);
+    private final LocationDto wembley = new LocationDto(5L, "Wembley Stadium", "England", "London", "WS", null, null);
+    private final List<LocationDto> locations = List.of(taksim, istanbul, sabiha, heathrow, wembley);
+
+    private final TransportationDto subwayToIstanbul = new TransportationDto(1L, taksim, istanbul, TransportationType.SUBWAY, Set.of(1, 3), null, null);
+    private final TransportationDto uberToIstanbul = new TransportationDto(2L, taksim, istanbul, TransportationType.UBER, Set.of(1, 3), null, null);
+    private final TransportationDto flightToHeathrow = new TransportationDto(3L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(1, 3), null, null);
+    private final TransportationDto busToWembley = new TransportationDto(4L, heathrow, wembley, TransportationType.BUS, Set.of(1, 3), null, null);
+    private final TransportationDto busToSabiha = new TransportationDto(6L, taksim, sabiha, TransportationType.BUS, Set.of(1, 3), null, null);
+
+    @Mock
+    private RouteGraphService routeGraphService;
+
+    private RouteGraph graph;
+
+    private RouteIndexService sut;
+
+    @BeforeEach
+    void setUp() {
+        graph = RouteGraph.build(1, locations, List.of(subwayToIstanbul, uberToIstanbul, flightToHeathrow, busToWembley, busToSabiha));
+        lenient().when(routeGraphService.current()).thenAnswer(invocation -> graph);
+        sut = new RouteIndexService(routeGraphService, new DefaultRouteFinder(), RouteRules.DEFAULT);
+    }
+
+    @Test
+    void findRoutes_shouldReturnPrecomputedRoutes() {
+        // given
+        sut.rebuild();
+
+        // when
+        List<Route> actual = sut.findRoutes("TKSQ", "WS", DayOfWeek.TUESDAY);
+
+        // then
+        assertThat(actual).containsExactlyInAnyOrder(
+                new Route(List.of(subwayToIstanbul, flightToHeathrow, busToWembley)),
+                new Route(List.of(uberToIstanbul, flightToHeathrow, busToWembley))
+        );
+        assertThat(sut.findRoutes("TKSQ", "WS", DayOfWeek.MONDAY)).isEmpty();
+        assertThat(sut.statistics().entries()).isPositive();
+    }
+
+    @Test
+    void onTransportationChanged_shouldMatchFullRebuild() {
+        // given
+        sut.rebuild();
+        TransportationDto flightFromSabiha = new TransportationDto(7L, sabiha, heathrow, TransportationType.FLIGHT, Set.of(1), null, null);
+        TransportationDto subwayOnFriday = new TransportationDto(1L, taksim, istanbul, TransportationType.SUBWAY, Set.of(4), null, null);
+
+        // when
+        apply(null, flightFromSabiha);
+        apply(subwayToIstanbul, subwayOnFriday);
+        apply(busToWembley, null);
+
+        // then
+        RouteIndexService rebuilt = new RouteIndexService(routeGraphService, new DefaultRouteFinder(), RouteRules.DEFAULT);
+        rebuilt.rebuild();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (LocationDto origin : locations) {
+                for (LocationDto destination : locations) {
+                    assertThat(sut.findRoutes(origin.locationCode(), destination.locationCode(), day))
+                            .containsExactlyInAnyOrderElementsOf(rebuilt.findRoutes(origin.locationCode(), destination.locationCode(), day));
+                }
+            }
+        }
+        assertThat(sut.findRoutes("TKSQ", "LHR", DayOfWeek.TUESDAY)).containsExactlyInAnyOrder(
+                new Route(List.of(uberToIstanbul, flightToHeathrow)),
+                new Route(List.of(busToSabiha, flightFromSabiha))
+        );
+        assertThat(sut.statistics().entries()).isEqualTo(rebuilt.statistics().entries());
+        assertThat(sut.statistics().routes()).isEqualTo(rebuilt.statistics().routes());
+    }
+
+    @Test
+    void constructor_withTimeDependentFinder_shouldFailAtStartup() {
+        // given
+        RouteFinder scheduled = mock(RouteFinder.class);
+        when(scheduled.isTimeDependent()).thenReturn(true);
+
+        // when / then
+        assertThatThrownBy(() -> new RouteIndexService(routeGraphService, scheduled, RouteRules.DEFAULT))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void apply(TransportationDto previous, TransportationDto current) {
+        graph = graph.withTransportation(previous, current);
+        sut.onTransportationChanged(new TransportationChangedEvent(previous, current));
+    }
+}
@@ -0,0 +1,138 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteRulesTest {
+
+    private static final RouteRules ANY_PATH = new RouteRules(RouteRules.MAX_LEGS, 0, RouteRules.MAX_LEGS,
+            RouteRules.MAX_LEGS, RouteRules.MAX_LEGS, Set.of());
+
+    private final RouteFinder finder = new DefaultRouteFinder();
+
+    static LongStream seeds() {
+        return LongStream.range(0, 300);
+    }
+
+    @Test
+    void narrow_shouldOnlyTightenDeploymentRules() {
+        // given
+        RouteRules deployment = new RouteRules(3, 1, 2, 1, 1, Set.of(TransportationType.SUBWAY));
+        RouteRulesRequest request = new RouteRulesRequest(null, 0, 3, 0, null, Set.of(TransportationType.UBER));
+
+        // when
+        RouteRules actual = deployment.narrow(request);
+
+        // then
+        assertThat(actual).isEqualTo(new RouteRules(3, 1, 2, 0, 1, Set.of(TransportationType.SUBWAY, TransportationType.UBER)));
+    }
+
+    @Test
+    void narrow_whenRulesCannotBeSatisfied_shouldThrow() {
+        // given
+        RouteRulesRequest request = new RouteRulesRequest(1, 2, null, null, null, null);
+
+        // when / then
+        assertThatThrownBy(() -> RouteRules.DEFAULT.narrow(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Minimum flights exceed the flights or legs a route may take");
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void findRoutes_withRandomRules_shouldReturnExactlyThePathsTheRulesAllow(long seed) {
+        // given
+        Random random = new Random(seed);
+        RouteFindContext context = BidirectionalRouteFinderTest.randomContext(random);
+        RouteRules rules = BidirectionalRouteFinderTest.randomRules(random);
+
+        // when
+        List<Route> actual = finder.findRoutes(context.withRules(rules));
+
+        // then
+        List<Route> allowed = finder.findRoutes(context.withRules(ANY_PATH)).stream()
+                .filter(route -> satisfies(route, rules))
+                .toList();
+        assertThat(actual).containsExactlyInAnyOrderElementsOf(allowed);
+        assertThat(actual).allMatch(rules::allows);
+    }
+
+    @Test
+    void findRoutes_whenTooFewLegsRemainForFlight_shouldPruneBranch() {
+        // given
+        LocationDto a = location(1);
+        LocationDto b = location(2);
+        LocationDto c = location(3);
+        LocationDto d = location(4);
+        RouteFindContext context = new RouteFindContext(a, d, Set.of(
+                new TransportationDto(1L, a, b, TransportationType.BUS, Set.of(1), null, null),
+                new TransportationDto(2L, b, c, TransportationType.BUS, Set.of(1), null, null),
+                new TransportationDto(3L, c, d, TransportationType.FLIGHT, Set.of(1), null, null)));
+        List<RouteSearchStatistics> reported = new ArrayList<>();
+
+        // when
+        finder.findRoutes(context.withRules(new RouteRules(3, 1, 3, 1, 3, Set.of())), new RouteSink() {
+            @Override
+            public boolean accept(Route route) {
+                return true;
+            }
+
+            @Override
+            public void completed(RouteSearchStatistics statistics) {
+                reported.add(statistics);
+            }
+        });
+
+        // then
+        assertThat(reported).singleElement()
+                .extracting(RouteSearchStatistics::expandedStates)
+                .isEqualTo(2);
+    }
+
+    // Reference check written against the documented rules, independent of the compiled form.
+    private static boolean satisfies(Route route, RouteRules rules) {
+        List<TransportationDto> steps = route.steps();
+        List<TransportationDto> flights = steps.stream()
+                .filter(step -> step.transportationType() == TransportationType.FLIGHT)
+                .toList();
+        if (steps.size() > rules.maxLegs() || flights.size() < rules.minFlights() || flights.size() > rules.maxFlights()) {
+            return false;
+        }
+
+        int firstFlight = flights.isEmpty() ? steps.size() : steps.indexOf(flights.getFirst());
+        if (firstFlight > rules.maxLegsBeforeFlight()) {
+            return false;
+        }
+        for (TransportationDto step : steps.subList(0, firstFlight)) {
+            if (rules.excludedBeforeFlight().contains(step.transportationType())) {
+                return false;
+            }
+        }
+
+        int groundInARow = 0;
+        for (TransportationDto step : steps.subList(firstFlight, steps.size())) {
+            groundInARow = step.transportationType() == TransportationType.FLIGHT ? 0 : groundInARow + 1;
+            if (groundInARow > rules.maxLegsAfterFlight()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LocationDto location(long id) {
+        return new LocationDto(id, "Location " + id, "Country", "City", "L" + id, null, null);
+    }
+}
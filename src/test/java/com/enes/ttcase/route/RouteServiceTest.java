@@ -0,0 +1,210 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationChangedEvent;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RouteServiceTest {
+
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", null, null);
+    private final TransportationDto flightToHeathrow = new TransportationDto(3L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(1), null, null);
+
+    private final SearchRouteRequest request = new SearchRouteRequest("IST", "LHR", Instant.parse("2025-01-07T12:00:00Z"));
+
+    @Mock
+    private RouteNetwork routeNetwork;
+
+    private final RouteFinder routeFinder = new DefaultRouteFinder();
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RouteResultCache resultCache;
+
+    private RouteService sut;
+
+    @BeforeEach
+    void setUp() {
+        resultCache = new RouteResultCache(meterRegistry, 1024 * 1024, Duration.ofMinutes(5));
+        sut = new RouteService(routeNetwork, routeFinder, Optional.empty(), resultCache, jsonMapper,
+                new RouteSearchMetrics(meterRegistry), RouteRules.DEFAULT, executor);
+    }
+
+    @Test
+    void searchRoutesAsJson_shouldServeRepeatedSearchesFromResultCache() throws Exception {
+        // given
+        RouteFindContext context = new RouteFindContext(istanbul, heathrow, Set.of(flightToHeathrow));
+        when(routeNetwork.loadContext(eq("IST"), eq("LHR"), any(DayOfWeek.class))).thenReturn(context);
+
+        // when
+        byte[] first = sut.searchRoutesAsJson(request).body();
+        byte[] second = sut.searchRoutesAsJson(request).body();
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(first).isEqualTo(jsonMapper.writeValueAsBytes(List.of(new Route(List.of(flightToHeathrow)))));
+        verify(routeNetwork, times(1)).loadContext(eq("IST"), eq("LHR"), any(DayOfWeek.class));
+    }
+
+    @Test
+    void searchRoutesAsJson_shouldRecordPhasesAndSizesWithoutLocationCodes() throws Exception {
+        // given
+        RouteFindContext context = new RouteFindContext(istanbul, heathrow, Set.of(flightToHeathrow));
+        when(routeNetwork.loadContext(eq("IST"), eq("LHR"), any(DayOfWeek.class))).thenReturn(context);
+
+        // when
+        sut.searchRoutesAsJson(request);
+
+        // then
+        assertThat(meterRegistry.get("route.search.phase").tag("phase", "build-graph").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("route.search.phase").tag("phase", "search").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("route.search.phase").tag("phase", "serialize").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("route.search.candidates").tag("scope", "international").summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get("route.search.expanded.states").tag("finder", "default").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("route.search.routes").tag("ranking", "none").summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.getMeters())
+                .flatMap(meter -> meter.getId().getTags())
+                .noneMatch(tag -> tag.getValue().equals("IST") || tag.getValue().equals("LHR"));
+    }
+
+    @Test
+    void searchRoutesAsJson_whenNetworkChanged_shouldSearchAgain() throws Exception {
+        // given
+        RouteFindContext context = new RouteFindContext(istanbul, heathrow, Set.of(flightToHeathrow));
+        when(routeNetwork.loadContext(eq("IST"), eq("LHR"), any(DayOfWeek.class)))
+                .thenReturn(context, new RouteFindContext(istanbul, heathrow, Set.of()));
+        sut.searchRoutesAsJson(request);
+
+        // when
+        resultCache.onTransportationChanged(new TransportationChangedEvent(flightToHeathrow, null));
+        byte[] actual = sut.searchRoutesAsJson(request).body();
+
+        // then
+        assertThat(actual).isEqualTo(jsonMapper.writeValueAsBytes(List.of()));
+        verify(routeNetwork, times(2)).loadContext(eq("IST"), eq("LHR"), any(DayOfWeek.class));
+    }
+
+    @Test
+    void searchRoutes_batch_shouldLoadEachGroupOnceAndReportErrorsPerSearch() {
+        // given
+        LocationDto sabiha = new LocationDto(3L, "Sabiha Gokcen Airport", "Turkey", "Istanbul", "SAW", null, null);
+        TransportationDto flightFromSabiha = new TransportationDto(7L, sabiha, heathrow, TransportationType.FLIGHT, Set.of(1), null, null);
+        when(routeNetwork.findLocations(Set.of("IST", "SAW", "LHR", "XXX")))
+                .thenReturn(Map.of("IST", istanbul, "SAW", sabiha, "LHR", heathrow));
+        RouteFindContext fromIstanbul = new RouteFindContext(istanbul, heathrow, Set.of(flightToHeathrow, flightFromSabiha));
+        RouteFindContext fromSabiha = new RouteFindContext(sabiha, heathrow, Set.of(flightToHeathrow, flightFromSabiha));
+        when(routeNetwork.loadContexts(List.of(new RouteEndpoints(istanbul, heathrow), new RouteEndpoints(sabiha, heathrow)), DayOfWeek.TUESDAY))
+                .thenReturn(List.of(fromIstanbul, fromSabiha));
+
+        BatchSearchRouteRequest batch = new BatchSearchRouteRequest(List.of(
+                request,
+                new SearchRouteRequest("IST", "XXX", request.date()),
+                new SearchRouteRequest("SAW", "LHR", request.date()),
+                new SearchRouteRequest("LHR", "LHR", request.date())));
+
+        // when
+        List<RouteSearchResult> actual = sut.searchRoutes(batch);
+
+        // then
+        assertThat(actual).extracting(RouteSearchResult::routes).containsExactly(
+                List.of(new Route(List.of(flightToHeathrow))),
+                null,
+                List.of(new Route(List.of(flightFromSabiha))),
+                null);
+        assertThat(actual).extracting(RouteSearchResult::error).containsExactly(
+                null,
+                "Invalid origin or destination location code",
+                null,
+                "Origin code and Destination code are the same");
+        verify(routeNetwork, times(1)).loadContexts(any(), any());
+    }
+
+    @Test
+    void searchRoutePage_shouldReturnRankedPagesWithCursor() throws Exception {
+        // given
+        LocationDto taksim = new LocationDto(1L, "Taksim Square", "Turkey", "Istanbul", "TKSQ", null, null);
+        TransportationDto busToIstanbul = new TransportationDto(1L, taksim, istanbul, TransportationType.BUS, Set.of(1), null, null);
+        TransportationDto uberToIstanbul = new TransportationDto(2L, taksim, istanbul, TransportationType.UBER, Set.of(1), null, null);
+        TransportationDto directFlight = new TransportationDto(5L, taksim, heathrow, TransportationType.FLIGHT, Set.of(1), null, null);
+        RouteFindContext context = new RouteFindContext(taksim, heathrow, Set.of(busToIstanbul, uberToIstanbul, flightToHeathrow, directFlight));
+        when(routeNetwork.loadContext(eq("TKSQ"), eq("LHR"), any(DayOfWeek.class))).thenReturn(context);
+        SearchRouteRequest firstPage = new SearchRouteRequest("TKSQ", "LHR", request.date(), RouteRanking.FEWEST_LEGS, null, 2, null);
+
+        // when
+        RoutePage first = sut.searchRoutePage(firstPage);
+        RoutePage second = sut.searchRoutePage(new SearchRouteRequest("TKSQ", "LHR", request.date(), RouteRanking.FEWEST_LEGS, null, 2, first.nextCursor()));
+        RoutePage preferred = sut.searchRoutePage(new SearchRouteRequest("TKSQ", "LHR", request.date(), RouteRanking.PREFERRED_TYPES, Set.of(TransportationType.UBER, TransportationType.FLIGHT), 1, null));
+
+        // then
+        assertThat(first.routes()).containsExactly(
+                new Route(List.of(directFlight)),
+                new Route(List.of(busToIstanbul, flightToHeathrow)));
+        assertThat(first.nextCursor()).isNotNull();
+        assertThat(second.routes()).containsExactly(new Route(List.of(uberToIstanbul, flightToHeathrow)));
+        assertThat(second.nextCursor()).isNull();
+        assertThat(preferred.routes()).containsExactly(new Route(List.of(directFlight)));
+    }
+
+    @Test
+    void searchRoutes_withRequestRules_shouldNarrowDeploymentRules() throws Exception {
+        // given
+        LocationDto taksim = new LocationDto(1L, "Taksim Square", "Turkey", "Istanbul", "TKSQ", null, null);
+        TransportationDto busToIstanbul = new TransportationDto(1L, taksim, istanbul, TransportationType.BUS, Set.of(1), null, null);
+        TransportationDto uberToIstanbul = new TransportationDto(2L, taksim, istanbul, TransportationType.UBER, Set.of(1), null, null);
+        RouteFindContext context = new RouteFindContext(taksim, heathrow, Set.of(busToIstanbul, uberToIstanbul, flightToHeathrow));
+        when(routeNetwork.loadContext(eq("TKSQ"), eq("LHR"), any(DayOfWeek.class))).thenReturn(context);
+        RouteRulesRequest noUber = new RouteRulesRequest(null, null, null, null, null, Set.of(TransportationType.UBER));
+        RouteRulesRequest unsatisfiable = new RouteRulesRequest(1, 2, null, null, null, null);
+
+        // when
+        List<Route> actual = sut.searchRoutes(new SearchRouteRequest("TKSQ", "LHR", request.date(), null, null, null, null, noUber));
+
+        // then
+        assertThat(actual).containsExactly(new Route(List.of(busToIstanbul, flightToHeathrow)));
+        assertThatThrownBy(() -> sut.searchRoutes(new SearchRouteRequest("TKSQ", "LHR", request.date(), null, null, null, null, unsatisfiable)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchRoutesAsJson_whenOriginAndDestinationAreSame() {
+        // given
+        SearchRouteRequest sameCodes = new SearchRouteRequest("IST", "IST", Instant.now());
+
+        // when / then
+        assertThatThrownBy(() -> sut.searchRoutesAsJson(sameCodes))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(routeNetwork);
+    }
+}
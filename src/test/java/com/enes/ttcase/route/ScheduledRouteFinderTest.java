@@ -0,0 +1,143 @@
+package com.enes.ttcase.route;
+
+import com.enes.ttcase.dataset.GeneratedNetwork;
+import com.enes.ttcase.dataset.NetworkGenerator;
+import com.enes.ttcase.dataset.NetworkSpec;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.transportation.TransportationDto;
+import com.enes.ttcase.transportation.TransportationType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduledRouteFinderTest {
+
+    private final LocationDto taksim = new LocationDto(1L, "Taksim Square", "Turkey", "Istanbul", "TKSQ", null, null);
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", null, null);
+    private final LocationDto wembley = new LocationDto(5L, "Wembley Stadium", "England", "London", "WS", null, null);
+
+    private final ScheduledRouteFinder sut = new ScheduledRouteFinder(Duration.ofMinutes(30),
+            Map.of(TransportationType.UBER, Duration.ofMinutes(60)));
+
+    @Test
+    void findRoutes_shouldKeepMinimumTransferTime() {
+        // given
+        TransportationDto earlyBus = scheduled(1L, taksim, istanbul, TransportationType.BUS, "08:00", "09:30");
+        TransportationDto lateBus = scheduled(2L, taksim, istanbul, TransportationType.BUS, "09:00", "09:45");
+        TransportationDto flight = scheduled(3L, istanbul, heathrow, TransportationType.FLIGHT, "10:00", "12:00");
+        Set<TransportationDto> transportations = Set.of(earlyBus, lateBus, flight);
+
+        // when
+        List<Route> fromSeven = sut.findRoutes(new RouteFindContext(taksim, heathrow, transportations, LocalTime.of(7, 0)));
+        List<Route> fromHalfEight = sut.findRoutes(new RouteFindContext(taksim, heathrow, transportations, LocalTime.of(8, 30)));
+
+        // then
+        assertThat(fromSeven).containsExactly(new Route(List.of(earlyBus, flight)));
+        assertThat(fromHalfEight).isEmpty();
+    }
+
+    @Test
+    void findRoutes_shouldGiveOnDemandLegsTheirDurationAndTransferTime() {
+        // given
+        TransportationDto uber = new TransportationDto(1L, taksim, istanbul, TransportationType.UBER, Set.of(0), null, null);
+        TransportationDto flight = scheduled(2L, istanbul, heathrow, TransportationType.FLIGHT, "10:00", "12:00");
+        TransportationDto lateUber = new TransportationDto(3L, heathrow, wembley, TransportationType.UBER, Set.of(0), null, null);
+        Set<TransportationDto> transportations = Set.of(uber, flight, lateUber);
+
+        // when
+        List<Route> fromHalfEight = sut.findRoutes(new RouteFindContext(taksim, wembley, transportations, LocalTime.of(8, 30)));
+        List<Route> fromNine = sut.findRoutes(new RouteFindContext(taksim, wembley, transportations, LocalTime.of(9, 0)));
+
+        // then
+        assertThat(fromHalfEight).containsExactly(new Route(List.of(uber, flight, lateUber)));
+        assertThat(fromNine).isEmpty();
+    }
+
+    @Test
+    void findRoutes_shouldEmitEarliestArrivalFirstAndDropDominatedRoutes() {
+        // given
+        TransportationDto slowFlight = scheduled(1L, istanbul, heathrow, TransportationType.FLIGHT, "08:00", "13:00");
+        TransportationDto fastFlight = scheduled(2L, istanbul, heathrow, TransportationType.FLIGHT, "09:00", "12:00");
+        TransportationDto bus = scheduled(3L, heathrow, wembley, TransportationType.BUS, "13:30", "14:30");
+        TransportationDto uber = new TransportationDto(4L, heathrow, wembley, TransportationType.UBER, Set.of(0), null, null);
+        TransportationDto directFlight = scheduled(5L, istanbul, wembley, TransportationType.FLIGHT, "10:00", "15:00");
+        RouteFindContext context = new RouteFindContext(istanbul, wembley,
+                Set.of(slowFlight, fastFlight, bus, uber, directFlight), LocalTime.of(6, 0));
+
+        // when
+        List<Route> actual = sut.findRoutes(context);
+
+        // then
+        assertThat(actual).containsExactly(
+                new Route(List.of(fastFlight, uber)),
+                new Route(List.of(directFlight)));
+    }
+
+    @Test
+    void findRoutes_whenOnDemandLegsTie_shouldKeepBoth() {
+        // given
+        TransportationDto flight = scheduled(1L, istanbul, heathrow, TransportationType.FLIGHT, "09:00", "12:00");
+        TransportationDto uber = new TransportationDto(2L, heathrow, wembley, TransportationType.UBER, Set.of(0), null, null);
+        TransportationDto otherUber = new TransportationDto(3L, heathrow, wembley, TransportationType.UBER, Set.of(0), null, null);
+        RouteFindContext context = new RouteFindContext(istanbul, wembley, Set.of(flight, uber, otherUber), LocalTime.of(6, 0));
+
+        // when
+        List<Route> actual = sut.findRoutes(context);
+
+        // then
+        assertThat(actual).containsExactlyInAnyOrder(new Route(List.of(flight, uber)), new Route(List.of(flight, otherUber)));
+    }
+
+    @Test
+    void findRoutes_whenOvernightLeg_shouldOnlyContinueOnDemand() {
+        // given
+        TransportationDto redEye = scheduled(1L, istanbul, heathrow, TransportationType.FLIGHT, "23:00", "02:00");
+        TransportationDto bus = scheduled(2L, heathrow, wembley, TransportationType.BUS, "03:00", "04:00");
+        TransportationDto uber = new TransportationDto(3L, heathrow, wembley, TransportationType.UBER, Set.of(0), null, null);
+        RouteFindContext context = new RouteFindContext(istanbul, wembley, Set.of(redEye, bus, uber), LocalTime.of(20, 0));
+
+        // when
+        List<Route> actual = sut.findRoutes(context);
+
+        // then
+        assertThat(actual).containsExactly(new Route(List.of(redEye, uber)));
+    }
+
+    @Test
+    void findRoutes_onGeneratedNetwork_shouldOnlyReturnRoutesTheDepthFirstSearchFinds() {
+        // given
+        GeneratedNetwork network = NetworkGenerator.generate(new NetworkSpec(42, 8, 25, 5, 12, 2));
+        RouteGraph graph = RouteGraph.build(1, network.locations(), network.transportations());
+        RouteFinder dfs = new DefaultRouteFinder();
+        Random random = new Random(42);
+        int found = 0;
+
+        for (int search = 0; search < 200; search++) {
+            LocationDto[] pair = network.searchPair(random);
+            Set<TransportationDto> candidates = graph.findCandidateTransportations(pair[0], pair[1], DayOfWeek.MONDAY);
+            RouteFindContext context = new RouteFindContext(pair[0], pair[1], candidates, LocalTime.of(random.nextInt(12), 0));
+
+            // when
+            List<Route> actual = sut.findRoutes(context);
+
+            // then
+            assertThat(actual).doesNotHaveDuplicates().isSubsetOf(dfs.findRoutes(context));
+            found += actual.size();
+        }
+        assertThat(found).isPositive();
+    }
+
+    private static TransportationDto scheduled(long id, LocationDto origin, LocationDto destination, TransportationType type,
+                                               String departure, String arrival) {
+        return new TransportationDto(id, origin, destination, type, Set.of(0), LocalTime.parse(departure), LocalTime.parse(arrival), null, null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.enes.ttcase.transportation;
+
+import com.enes.ttcase.config.CacheConfig;
+import com.enes.ttcase.location.LocationDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OperatingDaysTest {
+
+    @Test
+    void of_shouldRoundTripThroughMask() {
+        // given
+        OperatingDays days = OperatingDays.of(List.of(6, 0, 3, 3));
+
+        // when
+        OperatingDays actual = OperatingDays.fromMask(days.mask());
+
+        // then
+        assertThat(days.mask()).isEqualTo(0b1001001);
+        assertThat(actual).containsExactly(0, 3, 6);
+        assertThat(actual).isEqualTo(Set.of(0, 3, 6)).hasSameHashCodeAs(Set.of(0, 3, 6));
+        assertThat(actual.contains(DayOfWeek.THURSDAY)).isTrue();
+        assertThat(actual.contains(DayOfWeek.TUESDAY)).isFalse();
+    }
+
+    @Test
+    void of_whenDayOutOfRange() {
+        // given
+        List<Integer> days = List.of(1, 7);
+
+        // when / then
+        assertThatThrownBy(() -> OperatingDays.of(days))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Operating days must be between 0 and 6");
+        assertThatThrownBy(() -> OperatingDays.fromMask(128)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cacheValueSerializer_shouldRoundTripTransportation() {
+        // given
+        RedisSerializer<Object> serializer = CacheConfig.cacheValueSerializer();
+        LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", Instant.EPOCH, null);
+        LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", Instant.EPOCH, null);
+        TransportationDto flight = new TransportationDto(3L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(1, 3),
+                LocalTime.of(10, 0), LocalTime.of(14, 0), Instant.EPOCH, null);
+
+        // when
+        Object actual = serializer.deserialize(serializer.serialize(flight));
+
+        // then
+        assertThat(actual).isEqualTo(flight);
+    }
+}
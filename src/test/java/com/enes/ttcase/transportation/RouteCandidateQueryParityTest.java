@@ -0,0 +1,90 @@
+package com.enes.ttcase.transportation;
+
+import com.enes.ttcase.location.Location;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the single projection query returns the same candidates as the three-query path, for every pair of
+ * locations in different countries and every day, against the database configured in application.yaml.
+ * Run with {@code -Droute.candidates.parity=true} after {@code docker compose up -d postgres}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "route.candidates.parity", matches = "true")
+class RouteCandidateQueryParityTest {
+
+    @Autowired
+    private TransportationRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final TransportationMapper mapper = Mappers.getMapper(TransportationMapper.class);
+
+    @Test
+    void findRouteCandidates_shouldMatchThreeQueryPath() {
+        List<Location> locations = entityManager.createQuery("SELECT l FROM Location l", Location.class).getResultList();
+        List<Location[]> searches = new ArrayList<>();
+        for (Location origin : locations) {
+            for (Location destination : locations) {
+                if (!origin.getCountry().equals(destination.getCountry())) {
+                    searches.add(new Location[]{origin, destination});
+                }
+            }
+        }
+
+        for (Location[] search : searches) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                assertThat(ids(singleQuery(search[0], search[1], day))).isEqualTo(ids(threeQueries(search[0], search[1], day)));
+            }
+        }
+    }
+
+    private Set<TransportationDto> threeQueries(Location origin, Location destination, DayOfWeek day) {
+        int operatingDayBit = OperatingDays.bit(day.ordinal());
+        Set<TransportationDto> flights = toDtos(repository.findTransportationsBetweenCountries(origin.getCountry(),
+                destination.getCountry(), TransportationType.FLIGHT, operatingDayBit));
+        Set<String> originAirports = flights.stream().map(t -> t.origin().locationCode()).collect(Collectors.toSet());
+        Set<String> destinationAirports = flights.stream().map(t -> t.destination().locationCode()).collect(Collectors.toSet());
+
+        Set<TransportationDto> candidates = new HashSet<>(flights);
+        candidates.addAll(toDtos(repository.findTransportationsBetweenLocationCodesAndOperatingDay(
+                Set.of(origin.getLocationCode()), originAirports, operatingDayBit)));
+        candidates.addAll(toDtos(repository.findTransportationsBetweenLocationCodesAndOperatingDay(
+                destinationAirports, Set.of(destination.getLocationCode()), operatingDayBit)));
+        return candidates;
+    }
+
+    private Set<TransportationDto> singleQuery(Location origin, Location destination, DayOfWeek day) {
+        return repository.findRouteCandidates(origin.getCountry(), destination.getCountry(),
+                        Set.of(origin.getId()), Set.of(destination.getId()),
+                        TransportationType.FLIGHT.ordinal(), OperatingDays.bit(day.ordinal()))
+                .stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<TransportationDto> toDtos(List<Transportation> transportations) {
+        return transportations.stream().map(mapper::toDto).collect(Collectors.toSet());
+    }
+
+    private static Set<Long> ids(Set<TransportationDto> transportations) {
+        return transportations.stream().map(TransportationDto::id).collect(Collectors.toSet());
+    }
+
+}
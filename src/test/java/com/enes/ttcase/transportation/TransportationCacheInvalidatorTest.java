@@ -0,0 +1,109 @@
+package com.enes.ttcase.transportation;
+
+import com.enes.ttcase.location.LocationChangedEvent;
+import com.enes.ttcase.location.LocationDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.DayOfWeek;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransportationCacheInvalidatorTest {
+
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+    private final LocationDto sabiha = new LocationDto(3L, "Sabiha Gokcen Airport", "Turkey", "Istanbul", "SAW", null, null);
+    private final LocationDto heathrow = new LocationDto(4L, "London Heathrow Airport", "England", "London", "LHR", null, null);
+
+    @Mock
+    private TransportationCacheTags cacheTags;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("transportations");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Cache cache;
+
+    private TransportationCacheInvalidator sut;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache("transportations");
+        lenient().when(cacheTags.findKeys(anyString(), anyString(), any())).thenReturn(Set.of());
+        sut = new TransportationCacheInvalidator(cacheManager, cacheTags, meterRegistry);
+    }
+
+    @Test
+    void onTransportationChanged_shouldEvictOnlyKeysOfPreviousAndCurrentValues() {
+        // given
+        String previousFlights = TransportationCacheKeys.betweenCountries("Turkey", "England", TransportationType.FLIGHT, DayOfWeek.TUESDAY);
+        String currentFlights = TransportationCacheKeys.betweenCountries("Turkey", "England", TransportationType.FLIGHT, DayOfWeek.WEDNESDAY);
+        String otherFlights = TransportationCacheKeys.betweenCountries("England", "Turkey", TransportationType.FLIGHT, DayOfWeek.TUESDAY);
+        String feeders = TransportationCacheKeys.betweenLocationCodes(Set.of("SAW", "TKSQ"), Set.of("LHR"), DayOfWeek.WEDNESDAY);
+        String otherFeeders = TransportationCacheKeys.betweenLocationCodes(Set.of("TKSQ"), Set.of("IST"), DayOfWeek.WEDNESDAY);
+        for (String key : Set.of(previousFlights, currentFlights, otherFlights, feeders, otherFeeders)) {
+            cache.put(key, Set.of());
+        }
+        when(cacheTags.findKeys("SAW", "LHR", DayOfWeek.WEDNESDAY)).thenReturn(Set.of(feeders));
+
+        TransportationDto previous = new TransportationDto(1L, istanbul, heathrow, TransportationType.FLIGHT, Set.of(1), null, null);
+        TransportationDto current = new TransportationDto(1L, sabiha, heathrow, TransportationType.FLIGHT, Set.of(2), null, null);
+
+        // when
+        sut.onTransportationChanged(new TransportationChangedEvent(previous, current));
+
+        // then
+        assertThat(cache.get(previousFlights)).isNull();
+        assertThat(cache.get(currentFlights)).isNull();
+        assertThat(cache.get(feeders)).isNull();
+        assertThat(cache.get(otherFlights)).isNotNull();
+        assertThat(cache.get(otherFeeders)).isNotNull();
+        assertThat(meterRegistry.get("cache.transportations.evicted.keys").tag("operation", "update").summary().totalAmount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void onLocationChanged_shouldEvictKeysTaggedWithPreviousAndCurrentLocation() {
+        // given
+        String flights = TransportationCacheKeys.betweenCountries("Turkey", "England", TransportationType.FLIGHT, DayOfWeek.TUESDAY);
+        String feeders = TransportationCacheKeys.betweenLocationCodes(Set.of("ISL"), Set.of("LHR"), DayOfWeek.WEDNESDAY);
+        String otherFeeders = TransportationCacheKeys.betweenLocationCodes(Set.of("SAW"), Set.of("LHR"), DayOfWeek.WEDNESDAY);
+        for (String key : Set.of(flights, feeders, otherFeeders)) {
+            cache.put(key, Set.of());
+        }
+        when(cacheTags.findKeysByLocation("IST", "Turkey")).thenReturn(Set.of(flights));
+        when(cacheTags.findKeysByLocation("ISL", "Turkey")).thenReturn(Set.of(flights, feeders));
+
+        LocationDto renamed = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "ISL", null, null);
+
+        // when
+        sut.onLocationChanged(new LocationChangedEvent(istanbul, renamed));
+
+        // then
+        assertThat(cache.get(flights)).isNull();
+        assertThat(cache.get(feeders)).isNull();
+        assertThat(cache.get(otherFeeders)).isNotNull();
+        assertThat(meterRegistry.get("cache.transportations.evicted.keys").tags("entity", "location", "operation", "update").summary().totalAmount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void betweenLocationCodes_shouldNotDependOnIterationOrder() {
+        // when
+        String actual = TransportationCacheKeys.betweenLocationCodes(Set.of("SAW", "IST", "TKSQ"), Set.of("WS", "LHR"), DayOfWeek.MONDAY);
+
+        // then
+        assertThat(actual).isEqualTo("IST,SAW,TKSQ_LHR,WS_MONDAY");
+    }
+}
@@ -0,0 +1,144 @@
+package com.enes.ttcase.transportation;
+
+import com.enes.ttcase.common.ImportCompletedEvent;
+import com.enes.ttcase.common.ImportError;
+import com.enes.ttcase.common.ImportFormat;
+import com.enes.ttcase.common.ImportResult;
+import com.enes.ttcase.common.ImportTarget;
+import com.enes.ttcase.location.LocationDto;
+import com.enes.ttcase.location.LocationService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.startsWith;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransportationImportServiceTest {
+
+    private final LocationDto taksim = new LocationDto(1L, "Taksim Square", "Turkey", "Istanbul", "TKSQ", null, null);
+    private final LocationDto istanbul = new LocationDto(2L, "Istanbul Airport", "Turkey", "Istanbul", "IST", null, null);
+
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TransportationImportService sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new TransportationImportService(locationService,
+                jdbcTemplate,
+                transactionManager,
+                JsonMapper.builder().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                eventPublisher,
+                100,
+                100);
+    }
+
+    @Test
+    void importTransportations_shouldBatchValidRowsAndRejectOthers() throws Exception {
+        // given
+        String body = """
+                originCode,destinationCode,transportationType,operatingDays
+                TKSQ,IST,bus,1;3
+                TKSQ,XXX,BUS,1
+                IST,IST,BUS,1
+                TKSQ,IST,BUS,9
+                """;
+        when(locationService.getByLocationCodes(any()))
+                .thenReturn(Map.of("TKSQ", taksim, "IST", istanbul));
+
+        // when
+        ImportResult actual = sut.importTransportations(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        // then
+        assertThat(actual.received()).isEqualTo(4);
+        assertThat(actual.imported()).isEqualTo(1);
+        assertThat(actual.errors()).containsExactly(
+                new ImportError(3, "Location with code XXX not found"),
+                new ImportError(4, "Origin code and Destination code cannot be the same"),
+                new ImportError(5, "Operating days must be between 0 and 6")
+        );
+
+        ArgumentCaptor<BatchPreparedStatementSetter> transportations = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO transportation "), transportations.capture());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        assertThat(transportations.getValue().getBatchSize()).isEqualTo(1);
+        transportations.getValue().setValues(statement, 0);
+        verify(statement).setLong(1, 1L);
+        verify(statement).setLong(2, 2L);
+        verify(statement).setInt(3, TransportationType.BUS.ordinal());
+        verify(statement).setInt(4, 0b1010);
+        verify(eventPublisher).publishEvent(new ImportCompletedEvent(ImportTarget.TRANSPORTATIONS, 1));
+    }
+
+    @Test
+    void importTransportations_whenBatchFails_shouldRejectOnlyTheOffendingRow() throws Exception {
+        // given
+        String body = """
+                originCode,destinationCode,transportationType,operatingDays
+                TKSQ,IST,BUS,1
+                TKSQ,IST,BUS,6
+                TKSQ,IST,BUS,2
+                TKSQ,IST,BUS,3
+                """;
+        when(locationService.getByLocationCodes(any()))
+                .thenReturn(Map.of("TKSQ", taksim, "IST", istanbul));
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO transportation "), any(BatchPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    List<Integer> values = new ArrayList<>();
+                    PreparedStatement statement = mock(PreparedStatement.class);
+                    doAnswer(call -> values.add(call.getArgument(1))).when(statement).setInt(anyInt(), anyInt());
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        setter.setValues(statement, i);
+                    }
+                    if (values.contains(OperatingDays.bit(6))) {
+                        throw new DataIntegrityViolationException("rejected by constraint");
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+
+        // when
+        ImportResult actual = sut.importTransportations(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        // then
+        assertThat(actual.imported()).isEqualTo(3);
+        assertThat(actual.errors()).containsExactly(new ImportError(3, "rejected by constraint"));
+        verify(eventPublisher).publishEvent(new ImportCompletedEvent(ImportTarget.TRANSPORTATIONS, 3));
+    }
+}
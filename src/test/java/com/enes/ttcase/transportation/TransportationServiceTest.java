@@ -1,5 +1,7 @@
 package com.enes.ttcase.transportation;
 
+import com.enes.ttcase.common.CursorPage;
+import com.enes.ttcase.common.Cursors;
 import com.enes.ttcase.location.Location;
 import com.enes.ttcase.location.LocationService;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,14 +9,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.assertArg;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -32,11 +38,17 @@ class TransportationServiceTest {
     @Mock
     private TransportationMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransportationCacheTags cacheTags;
+
     private TransportationService sut;
 
     @BeforeEach
     void setUp() {
-        sut = new TransportationService(repository, locationService, mapper);
+        sut = new TransportationService(repository, locationService, mapper, eventPublisher, cacheTags);
     }
 
     @Test
@@ -58,6 +70,38 @@ class TransportationServiceTest {
         assertThat(actual.getContent().getFirst()).isEqualTo(transportationDto);
     }
 
+    @Test
+    void scrollTransportations_ShouldSeekPastCursorAndReturnNextCursor() {
+        // given
+        Transportation first = new Transportation();
+        first.setId(11L);
+        Transportation second = new Transportation();
+        second.setId(12L);
+        Transportation extra = new Transportation();
+        extra.setId(13L);
+        TransportationDto firstDto = mock(TransportationDto.class);
+        TransportationDto secondDto = mock(TransportationDto.class);
+
+        when(repository.findPageAfter(10L, Limit.of(3))).thenReturn(List.of(first, second, extra));
+        when(mapper.toDto(first)).thenReturn(firstDto);
+        when(mapper.toDto(second)).thenReturn(secondDto);
+
+        // when
+        CursorPage<TransportationDto> actual = sut.scrollTransportations(Cursors.encode(10L), 2);
+
+        // then
+        assertThat(actual.content()).containsExactly(firstDto, secondDto);
+        assertThat(Cursors.decodeId(actual.nextCursor())).isEqualTo(12L);
+    }
+
+    @Test
+    void scrollTransportations_ShouldRejectInvalidCursor() {
+        // when / then
+        assertThatThrownBy(() -> sut.scrollTransportations("not-a-cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
     @Test
     void findById_ShouldReturnTransportationDto_WhenTransportationExists() {
         // given
@@ -109,8 +153,8 @@ class TransportationServiceTest {
         Transportation transportation = mock(Transportation.class);
         TransportationDto transportationDto = mock(TransportationDto.class);
 
-        when(locationService.getReferenceByLocationCode(originCode)).thenReturn(mock(Location.class));
-        when(locationService.getReferenceByLocationCode(destinationCode)).thenReturn(mock(Location.class));
+        when(locationService.getReferencesByLocationCodes(List.of(originCode, destinationCode)))
+                .thenReturn(Map.of(originCode, mock(Location.class), destinationCode, mock(Location.class)));
         when(repository.save(assertArg(args -> {
             assertThat(args.getOrigin()).isNotNull();
             assertThat(args.getDestination()).isNotNull();
@@ -149,7 +193,7 @@ class TransportationServiceTest {
         Transportation transportation = mock(Transportation.class);
         TransportationDto transportationDto = mock(TransportationDto.class);
 
-        when(repository.findTransportationsBetweenCountries(originCountry, destinationCountry, transportationType, operatingDay.ordinal()))
+        when(repository.findTransportationsBetweenCountries(originCountry, destinationCountry, transportationType, OperatingDays.bit(operatingDay.ordinal())))
                 .thenReturn(List.of(transportation));
         when(mapper.toDto(transportation)).thenReturn(transportationDto);
 
@@ -170,7 +214,7 @@ class TransportationServiceTest {
         Transportation transportation = mock(Transportation.class);
         TransportationDto transportationDto = mock(TransportationDto.class);
 
-        when(repository.findTransportationsBetweenLocationCodesAndOperatingDay(originCodes, destinationCodes, operatingDay.ordinal()))
+        when(repository.findTransportationsBetweenLocationCodesAndOperatingDay(originCodes, destinationCodes, OperatingDays.bit(operatingDay.ordinal())))
                 .thenReturn(List.of(transportation));
         when(mapper.toDto(transportation)).thenReturn(transportationDto);
 